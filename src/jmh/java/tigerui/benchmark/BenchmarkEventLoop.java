@@ -0,0 +1,92 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import tigerui.EventLoop;
+import tigerui.HeadlessEventLoop;
+
+/**
+ * Helper for running benchmarked code on an {@link EventLoop}. Properties and
+ * event streams must be created and used on the thread of their event loop,
+ * while JMH calls benchmark methods from its own worker threads, so each
+ * benchmark invocation hands a batch of {@link #BATCH_SIZE} operations to the
+ * event loop and waits for it to complete. Benchmarks should declare the batch
+ * size with {@code @OperationsPerInvocation} so the cost of the hand-off is
+ * amortized in the reported score.
+ * <p>
+ * The benchmarks run on a {@link HeadlessEventLoop}, so neither Swing nor
+ * JavaFx is initialized.
+ */
+enum BenchmarkEventLoop {
+    ; // no instances, helper class
+    
+    /**
+     * The number of operations each benchmark invocation performs on the event loop.
+     */
+    static final int BATCH_SIZE = 1000;
+    
+    private static final HeadlessEventLoop EVENT_LOOP = HeadlessEventLoop.create("benchmark-event-loop");
+    
+    /**
+     * Runs the provided runnable on the event loop and waits for it to complete.
+     * 
+     * @param runnable
+     *            some runnable to run on the event loop.
+     */
+    static void run(Runnable runnable) {
+        CountDownLatch latch = new CountDownLatch(1);
+        Throwable[] error = new Throwable[1];
+        
+        EVENT_LOOP.invokeLater(() -> {
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                error[0] = throwable;
+            } finally {
+                latch.countDown();
+            }
+        });
+        
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the event loop", e);
+        }
+        
+        if (error[0] != null)
+            throw new IllegalStateException("Benchmark code failed on the event loop", error[0]);
+    }
+    
+    /**
+     * Calls the provided supplier on the event loop and returns its result.
+     * 
+     * @param supplier
+     *            some supplier to call on the event loop.
+     * @return the value produced by the supplier.
+     * @param <T>
+     *            the type of value supplied
+     */
+    static <T> T call(Supplier<T> supplier) {
+        Object[] result = new Object[1];
+        run(() -> result[0] = supplier.get());
+        
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+}
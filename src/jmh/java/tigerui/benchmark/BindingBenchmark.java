@@ -0,0 +1,121 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.benchmark;
+
+import static tigerui.benchmark.BenchmarkEventLoop.BATCH_SIZE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tigerui.property.Property;
+
+/**
+ * Measures the propagation of property changes through chains of
+ * {@link Property#bind} bindings and rings of {@link Property#synchronize}
+ * bindings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class BindingBenchmark {
+    
+    // alternate between two cached boxes so that boxing does not show up in the allocation rate
+    private static final Integer[] VALUES = { 0, 1 };
+    
+    @Param({ "2", "8", "32" })
+    public int length;
+    
+    private final List<Property<Integer>> properties = new ArrayList<>();
+    private Property<Integer> boundHead;
+    private Property<Integer> synchronizedHead;
+    private int sink;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkEventLoop.run(() -> {
+            boundHead = createProperty();
+            Property<Integer> previous = boundHead;
+            for (int i = 1; i < length; i++) {
+                Property<Integer> next = createProperty();
+                next.bind(previous);
+                previous = next;
+            }
+            previous.onChanged(value -> sink += value);
+            
+            synchronizedHead = createProperty();
+            previous = synchronizedHead;
+            for (int i = 1; i < length; i++) {
+                Property<Integer> next = createProperty();
+                next.synchronize(previous);
+                previous = next;
+            }
+            
+            // close the ring, the reentrancy protection stops the propagation
+            synchronizedHead.synchronize(previous);
+            previous.onChanged(value -> sink += value);
+        });
+    }
+    
+    private Property<Integer> createProperty() {
+        Property<Integer> property = Property.create(VALUES[0]);
+        properties.add(property);
+        return property;
+    }
+    
+    @TearDown
+    public void tearDown() {
+        BenchmarkEventLoop.run(() -> properties.forEach(Property::dispose));
+        properties.clear();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int bindChain() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 1; i <= BATCH_SIZE; i++)
+                boundHead.setValue(VALUES[i & 1]);
+        });
+        
+        return sink;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int synchronizeRing() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 1; i <= BATCH_SIZE; i++)
+                synchronizedHead.setValue(VALUES[i & 1]);
+        });
+        
+        return sink;
+    }
+}
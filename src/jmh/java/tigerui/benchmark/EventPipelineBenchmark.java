@@ -0,0 +1,91 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.benchmark;
+
+import static tigerui.benchmark.BenchmarkEventLoop.BATCH_SIZE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tigerui.event.EventStream;
+import tigerui.event.EventSubject;
+
+/**
+ * Measures {@link EventSubject#publish(Object)} through a chain of
+ * {@link EventStream#map}, {@link EventStream#filter} and
+ * {@link EventStream#scan} operators. Each stage of the chain applies all three
+ * operators.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class EventPipelineBenchmark {
+    
+    // alternate between two cached boxes so that boxing does not show up in the allocation rate
+    private static final Integer[] EVENTS = { 0, 1 };
+    
+    @Param({ "1", "4", "16" })
+    public int stages;
+    
+    private EventSubject<Integer> subject;
+    private int sink;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkEventLoop.run(() -> {
+            subject = EventSubject.create();
+            
+            EventStream<Integer> stream = subject;
+            for (int i = 0; i < stages; i++) {
+                stream = stream.map(event -> event ^ 1)
+                               .filter(event -> event >= 0)
+                               .scan((event, last) -> event, EVENTS[0]);
+            }
+            
+            stream.onEvent(event -> sink += event);
+        });
+    }
+    
+    @TearDown
+    public void tearDown() {
+        BenchmarkEventLoop.run(subject::dispose);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int publish() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++)
+                subject.publish(EVENTS[i & 1]);
+        });
+        
+        return sink;
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.benchmark;
+
+import static tigerui.benchmark.BenchmarkEventLoop.BATCH_SIZE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tigerui.property.Property;
+import tigerui.property.PropertyStream;
+
+/**
+ * Measures the propagation of property changes through
+ * {@link PropertyStream#combine} and {@link PropertyStream#switchMap}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyOperatorBenchmark {
+    
+    // alternate between two cached boxes so that boxing does not show up in the allocation rate
+    private static final Integer[] VALUES = { 0, 1 };
+    
+    private Property<Integer> combineInput1;
+    private Property<Integer> combineInput2;
+    
+    private Property<Boolean> switchSelector;
+    private Property<Integer> switchSource1;
+    private Property<Integer> switchSource2;
+    
+    private int sink;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkEventLoop.run(() -> {
+            combineInput1 = Property.create(VALUES[0]);
+            combineInput2 = Property.create(VALUES[0]);
+            PropertyStream.combine(combineInput1, combineInput2, (value1, value2) -> value1 + value2)
+                          .onChanged(value -> sink += value);
+            
+            switchSelector = Property.create(true);
+            switchSource1 = Property.create(VALUES[0]);
+            switchSource2 = Property.create(VALUES[1]);
+            switchSelector.switchMap(useFirst -> useFirst ? switchSource1 : switchSource2)
+                          .onChanged(value -> sink += value);
+        });
+    }
+    
+    @TearDown
+    public void tearDown() {
+        BenchmarkEventLoop.run(() -> {
+            combineInput1.dispose();
+            combineInput2.dispose();
+            switchSelector.dispose();
+            switchSource1.dispose();
+            switchSource2.dispose();
+        });
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int combine() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 1; i <= BATCH_SIZE; i++)
+                combineInput1.setValue(VALUES[i & 1]);
+        });
+        
+        return sink;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int switchMapSwitch() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++)
+                switchSelector.setValue(!switchSelector.get());
+        });
+        
+        return sink;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int switchMapSourceChanged() {
+        BenchmarkEventLoop.run(() -> {
+            Property<Integer> activeSource = switchSelector.get() ? switchSource1 : switchSource2;
+            
+            for (int i = 0; i < BATCH_SIZE; i++)
+                activeSource.setValue(VALUES[activeSource.get() ^ 1]);
+        });
+        
+        return sink;
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.benchmark;
+
+import static tigerui.benchmark.BenchmarkEventLoop.BATCH_SIZE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tigerui.property.Property;
+
+/**
+ * Measures {@link Property#setValue(Object)} with a varying number of subscribers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertySetValueBenchmark {
+    
+    // alternate between two cached boxes so that boxing does not show up in the allocation rate
+    private static final Integer[] VALUES = { 0, 1 };
+    
+    @Param({ "0", "1", "10", "100" })
+    public int subscribers;
+    
+    private Property<Integer> property;
+    private int sink;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkEventLoop.run(() -> {
+            property = Property.create(VALUES[0]);
+            
+            for (int i = 0; i < subscribers; i++)
+                property.onChanged(value -> sink += value);
+        });
+    }
+    
+    @TearDown
+    public void tearDown() {
+        BenchmarkEventLoop.run(property::dispose);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int setValue() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 1; i <= BATCH_SIZE; i++)
+                property.setValue(VALUES[i & 1]);
+        });
+        
+        return sink;
+    }
+}
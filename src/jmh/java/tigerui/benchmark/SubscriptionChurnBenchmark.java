@@ -0,0 +1,120 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.benchmark;
+
+import static tigerui.benchmark.BenchmarkEventLoop.BATCH_SIZE;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tigerui.event.EventStream;
+import tigerui.event.EventSubject;
+import tigerui.property.Property;
+import tigerui.property.PropertyStream;
+
+/**
+ * Measures the cost of subscribing to and then disposing subscriptions, both
+ * directly on a source and through an operator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SubscriptionChurnBenchmark {
+    
+    private Property<Integer> property;
+    private PropertyStream<Integer> mappedProperty;
+    private EventSubject<Integer> subject;
+    private EventStream<Integer> mappedSubject;
+    
+    private int sink;
+    private final Consumer<Integer> consumer = value -> sink += value;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkEventLoop.run(() -> {
+            property = Property.create(0);
+            mappedProperty = property.map(value -> value + 1);
+            subject = EventSubject.create();
+            mappedSubject = subject.map(value -> value + 1);
+        });
+    }
+    
+    @TearDown
+    public void tearDown() {
+        BenchmarkEventLoop.run(() -> {
+            property.dispose();
+            subject.dispose();
+        });
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int propertySubscribeDispose() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++)
+                property.onChanged(consumer).dispose();
+        });
+        
+        return sink;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int mappedPropertySubscribeDispose() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++)
+                mappedProperty.onChanged(consumer).dispose();
+        });
+        
+        return sink;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int eventSubscribeDispose() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++)
+                subject.onEvent(consumer).dispose();
+        });
+        
+        return sink;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int mappedEventSubscribeDispose() {
+        BenchmarkEventLoop.run(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++)
+                mappedSubject.onEvent(consumer).dispose();
+        });
+        
+        return sink;
+    }
+}
@@ -13,6 +13,13 @@
  */
 package tigerui;
 
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import tigerui.metrics.DispatchMetrics;
+
 /**
  * Helper class for Callbacks 
  */
@@ -25,18 +32,7 @@ public enum Callbacks {
      * @return a {@link Runnable} that is guaranteed not to throw any exceptions.
      */
     public static Runnable createSafeCallback(Runnable runnable) {
-        return () -> {
-            try {
-                runnable.run();
-            } catch (Throwable throwable) {
-                // TODO: clearly not the right solution, perhaps we need to have
-                // the exception relayed to some contextual handler. Some
-                // component that is
-                // capable of displaying an error dialog if need be.
-                System.err.println("An exception was caught during a callback");
-                throwable.printStackTrace();
-            }
-        };
+        return () -> runSafeCallback(runnable);
     } 
 
     /**
@@ -44,6 +40,111 @@ public enum Callbacks {
      * @param runnable some {@link Runnable} to execute safely.
      */
     public static void runSafeCallback(Runnable runnable) {
-        createSafeCallback(runnable).run();
+        long start = DispatchMetrics.startCallback();
+        
+        try {
+            runnable.run();
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+        
+        DispatchMetrics.endCallback(runnable, start);
+    }
+    
+    /**
+     * Calls the provided consumer with the provided value, catching and
+     * logging any exception that is thrown. Unlike
+     * {@link #runSafeCallback(Runnable)} this does not require a new runnable
+     * to be created to capture the value.
+     * 
+     * @param consumer
+     *            some {@link Consumer} to call safely.
+     * @param value
+     *            the value to provide to the consumer.
+     * @param <T>
+     *            the type of the value consumed
+     */
+    public static <T> void runSafeCallback(Consumer<T> consumer, T value) {
+        long start = DispatchMetrics.startCallback();
+        
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+        
+        DispatchMetrics.endCallback(consumer, start);
+    }
+    
+    /**
+     * Calls the provided consumer with the provided int, catching and logging
+     * any exception that is thrown, without boxing the value.
+     * 
+     * @param consumer
+     *            some {@link IntConsumer} to call safely.
+     * @param value
+     *            the value to provide to the consumer.
+     */
+    public static void runSafeIntCallback(IntConsumer consumer, int value) {
+        long start = DispatchMetrics.startCallback();
+        
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+        
+        DispatchMetrics.endCallback(consumer, start);
+    }
+    
+    /**
+     * Calls the provided consumer with the provided long, catching and
+     * logging any exception that is thrown, without boxing the value.
+     * 
+     * @param consumer
+     *            some {@link LongConsumer} to call safely.
+     * @param value
+     *            the value to provide to the consumer.
+     */
+    public static void runSafeLongCallback(LongConsumer consumer, long value) {
+        long start = DispatchMetrics.startCallback();
+        
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+        
+        DispatchMetrics.endCallback(consumer, start);
+    }
+    
+    /**
+     * Calls the provided consumer with the provided double, catching and
+     * logging any exception that is thrown, without boxing the value.
+     * 
+     * @param consumer
+     *            some {@link DoubleConsumer} to call safely.
+     * @param value
+     *            the value to provide to the consumer.
+     */
+    public static void runSafeDoubleCallback(DoubleConsumer consumer, double value) {
+        long start = DispatchMetrics.startCallback();
+        
+        try {
+            consumer.accept(value);
+        } catch (Throwable throwable) {
+            handleCallbackException(throwable);
+        }
+        
+        DispatchMetrics.endCallback(consumer, start);
+    }
+    
+    private static void handleCallbackException(Throwable throwable) {
+        // TODO: clearly not the right solution, perhaps we need to have
+        // the exception relayed to some contextual handler. Some
+        // component that is
+        // capable of displaying an error dialog if need be.
+        System.err.println("An exception was caught during a callback");
+        throwable.printStackTrace();
     }
 }
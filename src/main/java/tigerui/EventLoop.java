@@ -21,6 +21,8 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import tigerui.disposables.Disposable;
+import tigerui.metrics.DispatchMetrics;
+import tigerui.metrics.StallDetector;
 
 /**
  * A event loop captures a thread and provides a mechanism to assert that the
@@ -56,7 +58,9 @@ public interface EventLoop {
     boolean isInEventLoop();
     
     /**
-     * Invokes the provided runnable now.
+     * Invokes the provided runnable now. The time it takes to run is reported
+     * to the installed {@link DispatchMetrics}, and it is monitored by the
+     * running {@link StallDetector} if any.
      * 
      * @param runnable
      *            some runnable to run.
@@ -66,11 +70,20 @@ public interface EventLoop {
      */
     default void invokeNow(Runnable runnable) {
         checkInEventLoop();
-        /*
-         * TODO: consider tracking how long it takes to run the runnable and
-         * logging a message if it take too long.
-         */
-        runnable.run();
+        
+        if (!DispatchMetrics.current().isEnabled() && !StallDetector.isEnabled()) {
+            runnable.run();
+            return;
+        }
+        
+        long start = DispatchMetrics.startCallback();
+        Disposable callback = StallDetector.enter(runnable);
+        try {
+            runnable.run();
+        } finally {
+            callback.dispose();
+            DispatchMetrics.endCallback(runnable, start);
+        }
     }
 
     /**
@@ -124,6 +137,19 @@ public interface EventLoop {
      */
     Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit);
     
+    /**
+     * Gets the current time of the clock this event loop uses to schedule
+     * runnables, see {@link #schedule(Runnable, long, TimeUnit)}. The time is
+     * only meaningful when compared to other times read from this event loop.
+     * 
+     * @param timeUnit
+     *            the time unit to return the time in
+     * @return the current time of this event loop's clock.
+     */
+    default long now(TimeUnit timeUnit) {
+        return timeUnit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+    
     /**
      * Gets the name of the event loop thread
      * 
@@ -132,7 +158,40 @@ public interface EventLoop {
      */
     String getThreadName();
 
+    /**
+     * Registers the provided event loop for the current thread, so that
+     * {@link #createEventLoop()} resolves to it when called from this thread.
+     * This is how event loops that are not backed by a UI toolkit, such as the
+     * {@link HeadlessEventLoop}, are plugged in.
+     * 
+     * @param eventLoop
+     *            some event loop, whose thread is the current thread.
+     * @return a {@link Disposable} that removes the registration when disposed
+     *         from the current thread.
+     * @throws IllegalArgumentException
+     *             if the current thread is not the thread of the event loop.
+     * @throws IllegalStateException
+     *             if an event loop is already registered for the current
+     *             thread.
+     */
+    static Disposable register(EventLoop eventLoop) {
+        return EventLoopRegistry.register(eventLoop);
+    }
+
+    /**
+     * Resolves the event loop of the current thread. Registered event loops
+     * are resolved first, so that the UI toolkits are not initialized on
+     * threads that don't need them.
+     * 
+     * @return the event loop of the current thread.
+     * @throws IllegalStateException
+     *             if the current thread does not back an event loop.
+     */
     static EventLoop createEventLoop() {
+        EventLoop registeredEventLoop = EventLoopRegistry.getEventLoop();
+        if (registeredEventLoop != null)
+            return registeredEventLoop;
+        
         if (isEventDispatchThread())
             return SWING_EVENT_LOOP;
 
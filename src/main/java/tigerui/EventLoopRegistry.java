@@ -0,0 +1,51 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static tigerui.Preconditions.checkArgument;
+import static tigerui.Preconditions.checkState;
+
+import tigerui.disposables.Disposable;
+
+/**
+ * Keeps track of the event loops that have been registered for a thread, see
+ * {@link EventLoop#register(EventLoop)}.
+ */
+enum EventLoopRegistry {
+    ; // no instances, helper class
+    
+    private static final ThreadLocal<EventLoop> registeredEventLoop = new ThreadLocal<>();
+    
+    /**
+     * @return the event loop registered for the current thread, or null if
+     *         there is none.
+     */
+    static EventLoop getEventLoop() {
+        return registeredEventLoop.get();
+    }
+    
+    static Disposable register(EventLoop eventLoop) {
+        checkArgument(eventLoop.isInEventLoop(), 
+                      "An event loop can only be registered from it's own thread, not: " + Thread.currentThread());
+        checkState(registeredEventLoop.get() == null, 
+                   "An event loop is already registered for thread: " + Thread.currentThread());
+        
+        registeredEventLoop.set(eventLoop);
+        
+        return () -> {
+            if (registeredEventLoop.get() == eventLoop)
+                registeredEventLoop.remove();
+        };
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+/**
+ * Represents a function that accepts four arguments and produces a result.
+ * 
+ * @param <T1>
+ *            the type of the first argument
+ * @param <T2>
+ *            the type of the second argument
+ * @param <T3>
+ *            the type of the third argument
+ * @param <T4>
+ *            the type of the fourth argument
+ * @param <R>
+ *            the type of the result
+ */
+@FunctionalInterface
+public interface Function4<T1, T2, T3, T4, R> {
+    /**
+     * Applies this function to the provided arguments.
+     * 
+     * @param t1
+     *            the first argument
+     * @param t2
+     *            the second argument
+     * @param t3
+     *            the third argument
+     * @param t4
+     *            the fourth argument
+     * @return the result of the function
+     */
+    R apply(T1 t1, T2 t2, T3 t3, T4 t4);
+}
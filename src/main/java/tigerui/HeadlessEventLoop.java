@@ -0,0 +1,182 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Callbacks.runSafeCallback;
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import tigerui.TimerWheel.Timeout;
+import tigerui.dispatcher.Dispatchers;
+import tigerui.disposables.Disposable;
+import tigerui.metrics.DispatchMetrics;
+import tigerui.metrics.StallDetector;
+
+/**
+ * An event loop that is backed by a dedicated thread, rather than the thread of
+ * a UI toolkit. This makes it possible to run view models and their properties
+ * without initializing Swing or JavaFx, for instance on a server or in a
+ * benchmark.
+ * <p>
+ * Runnables can be submitted from any thread, they are queued on a lock free
+ * multi-producer single-consumer queue and run in the order they were
+ * submitted. Scheduled runnables are kept in a timer wheel with a resolution of
+ * one millisecond.
+ * <p>
+ * The event loop registers itself for it's thread, see
+ * {@link EventLoop#register(EventLoop)}, so properties and event streams
+ * created from a runnable running on this event loop are bound to it.
+ */
+public final class HeadlessEventLoop implements EventLoop, Disposable {
+    
+    private static final long TICK_DURATION_MILLIS = 1;
+    private static final int WHEEL_SIZE = 512;
+    
+    // the number of runnables to run before checking the timers
+    private static final int MAX_RUNNABLES_PER_TIMER_CHECK = 1024;
+    
+    private final Thread thread;
+    private final MpscRunQueue runQueue;
+    private final TimerWheel timerWheel;
+    
+    private volatile boolean isWaiting;
+    private volatile boolean isDisposed;
+    
+    private HeadlessEventLoop(String threadName) {
+        this.thread = new Thread(this::run, requireNonNull(threadName));
+        this.thread.setDaemon(true);
+        this.runQueue = new MpscRunQueue();
+        this.timerWheel = new TimerWheel(System.nanoTime(), TICK_DURATION_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE, 
+                                        this::isInEventLoop);
+    }
+    
+    /**
+     * Creates and starts a new headless event loop.
+     * 
+     * @param threadName
+     *            the name of the thread that will back the event loop.
+     * @return a new {@link HeadlessEventLoop}, that should be disposed once
+     *         it is no longer needed.
+     */
+    public static HeadlessEventLoop create(String threadName) {
+        HeadlessEventLoop eventLoop = new HeadlessEventLoop(threadName);
+        eventLoop.thread.start();
+        return eventLoop;
+    }
+    
+    @Override
+    public boolean isInEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    @Override
+    public Disposable invokeLater(Runnable runnable) {
+        DispatchMetrics metrics = DispatchMetrics.current();
+        if (metrics.isEnabled())
+            metrics.onInvokeLater(this);
+        
+        Disposable disposable = runQueue.offer(StallDetector.monitor(requireNonNull(runnable)));
+        
+        if (isWaiting)
+            LockSupport.unpark(thread);
+        
+        return disposable;
+    }
+
+    @Override
+    public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+        checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
+        
+        DispatchMetrics metrics = DispatchMetrics.current();
+        if (metrics.isEnabled())
+            metrics.onSchedule(this, timeUnit.toNanos(time));
+        
+        runnable = StallDetector.monitor(requireNonNull(runnable));
+        long deadline = System.nanoTime() + timeUnit.toNanos(time);
+        
+        if (isInEventLoop()) {
+            runnable = Dispatchers.getInstance().wrapRunnableWithCurrentDispatchState(runnable);
+            return timerWheel.schedule(runnable, deadline);
+        }
+        
+        // the timer wheel can only be accessed from the event loop
+        Timeout timeout = new Timeout(runnable, deadline);
+        invokeLater(() -> timerWheel.add(timeout));
+        
+        return timeout;
+    }
+
+    @Override
+    public String getThreadName() {
+        return thread.getName();
+    }
+    
+    /**
+     * Stops this event loop. Any runnables that are queued or scheduled will not
+     * be run and the thread of the event loop terminates.
+     */
+    @Override
+    public void dispose() {
+        isDisposed = true;
+        LockSupport.unpark(thread);
+    }
+    
+    /**
+     * @return true if this event loop has been disposed, false otherwise.
+     */
+    public boolean isDisposed() {
+        return isDisposed;
+    }
+    
+    private void run() {
+        EventLoop.register(this);
+        
+        while (!isDisposed) {
+            runQueuedRunnables();
+            timerWheel.advanceTo(System.nanoTime());
+            waitForRunnables();
+        }
+    }
+
+    private void runQueuedRunnables() {
+        for (int count = 0; count < MAX_RUNNABLES_PER_TIMER_CHECK && !isDisposed; count++) {
+            Runnable runnable = runQueue.poll();
+            
+            if (runnable == null)
+                return;
+            
+            runSafeCallback(runnable);
+        }
+    }
+    
+    private void waitForRunnables() {
+        isWaiting = true;
+        
+        // re-check after publishing that we are waiting, so that a runnable
+        // that was offered concurrently is not missed
+        if (runQueue.isEmpty() && !isDisposed) {
+            long nextTickTime = timerWheel.nextTickTime();
+            
+            if (nextTickTime == Long.MAX_VALUE)
+                LockSupport.park(this);
+            else
+                LockSupport.parkNanos(this, nextTickTime - System.nanoTime());
+        }
+        
+        isWaiting = false;
+    }
+}
@@ -13,22 +13,23 @@
  */
 package tigerui;
 
-import static tigerui.Preconditions.checkArgument;
-
 import java.util.concurrent.TimeUnit;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.util.Duration;
-import tigerui.dispatcher.Dispatchers;
 import tigerui.disposables.Disposable;
 import tigerui.disposables.DisposableRunnable;
+import tigerui.metrics.DispatchMetrics;
+import tigerui.metrics.StallDetector;
 
 /**
  * A event loop that can be used for JavaFx applications.
  */
 public class JavaFxEventLoop implements EventLoop {
+    
+    private final TimerWheelScheduler scheduler = new TimerWheelScheduler(this, this::armTimer);
+    private PauseTransition timer;
 
     @Override
     public String getThreadName() {
@@ -37,17 +38,19 @@ public class JavaFxEventLoop implements EventLoop {
 
     @Override
     public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
-        checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
-        
-        runnable = Dispatchers.getInstance().wrapRunnableWithCurrentDispatchState(runnable);
-        
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
-        
-        Timeline timeLine = new Timeline(new KeyFrame(Duration.millis(timeUnit.toMillis(time)), 
-                                                      event -> disposableRunnable.run()));
-        timeLine.play();
+        return scheduler.schedule(runnable, time, timeUnit);
+    }
+    
+    private void armTimer(long delayNanos) {
+        // the toolkit must be initialized before creating an animation, so create it on first use
+        if (timer == null) {
+            timer = new PauseTransition();
+            timer.setOnFinished(event -> scheduler.onTimer());
+        }
         
-        return disposableRunnable;
+        timer.stop();
+        timer.setDuration(Duration.millis(delayNanos / 1_000_000.0));
+        timer.playFromStart();
     }
 
     @Override
@@ -58,10 +61,17 @@ public class JavaFxEventLoop implements EventLoop {
     @Override
     public Disposable invokeLater(Runnable runnable) {
         
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
+        DisposableRunnable disposableRunnable = new DisposableRunnable(StallDetector.monitor(DispatchMetrics.measure(runnable)));
+        reportInvokeLater();
         
         Platform.runLater(disposableRunnable);
         
         return disposableRunnable;
     }
+    
+    private void reportInvokeLater() {
+        DispatchMetrics metrics = DispatchMetrics.current();
+        if (metrics.isEnabled())
+            metrics.onInvokeLater(this);
+    }
 }
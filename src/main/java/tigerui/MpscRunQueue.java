@@ -0,0 +1,119 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import tigerui.disposables.Disposable;
+
+/**
+ * A lock free, unbounded, multi-producer single-consumer queue of runnables.
+ * Any thread can offer a runnable, but only a single thread, the consumer, may
+ * poll. Offering a runnable allocates a single node, which is also the
+ * {@link Disposable} used to cancel the runnable.
+ * <p>
+ * This is an implementation of Dmitry Vyukov's intrusive MPSC node based queue.
+ */
+final class MpscRunQueue {
+    
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT_UPDATER = 
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+    
+    private final AtomicReference<Node> tail;
+    
+    // only accessed by the consumer
+    private Node head;
+    
+    MpscRunQueue() {
+        Node stub = new Node(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+    
+    /**
+     * Adds the provided runnable to the end of this queue. Can be called from
+     * any thread.
+     * 
+     * @param runnable
+     *            some runnable to add to the queue
+     * @return a {@link Disposable} that can be used to cancel the runnable,
+     *         should it not have already been run.
+     */
+    Disposable offer(Runnable runnable) {
+        Node node = new Node(runnable);
+        Node previous = tail.getAndSet(node);
+        NEXT_UPDATER.lazySet(previous, node);
+        return node;
+    }
+    
+    /**
+     * Removes the runnable at the head of this queue. Must only be called by
+     * the consumer.
+     * 
+     * @return the runnable at the head of the queue, or null if the queue is
+     *         empty. Running a runnable that was cancelled does nothing.
+     */
+    Runnable poll() {
+        Node next = head.next;
+        
+        if (next == null) {
+            if (head == tail.get())
+                return null;
+            
+            // a producer has swapped the tail, but not yet linked it
+            do {
+                next = head.next;
+            } while (next == null);
+        }
+        
+        head = next;
+        return next;
+    }
+    
+    /**
+     * Checks if the queue is empty. Must only be called by the consumer.
+     * 
+     * @return true if there are no runnables in the queue, false otherwise.
+     */
+    boolean isEmpty() {
+        return head == tail.get();
+    }
+    
+    private static final class Node implements Runnable, Disposable {
+        private Runnable runnable;
+        private volatile boolean isDisposed;
+        volatile Node next;
+        
+        Node(Runnable runnable) {
+            this.runnable = runnable;
+        }
+        
+        @Override
+        public void run() {
+            Runnable toRun = runnable;
+            
+            // the node becomes the stub of the queue, don't retain the runnable
+            runnable = null;
+            
+            if (toRun != null && !isDisposed)
+                toRun.run();
+        }
+        
+        @Override
+        public void dispose() {
+            isDisposed = true;
+        }
+    }
+}
@@ -13,32 +13,48 @@
  */
 package tigerui;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 import tigerui.subscription.Subscription;
 
 /**
  * Base class for all subscribers. Provides a mechanism to dispose a
  * subscription and notify on disposed.
+ * <p>
+ * A subscriber is created for every subscription, and most have one or two
+ * actions to run when disposed, so the first two actions are stored in
+ * fields and further actions in an array that is only allocated when needed.
  */
 public class Subscriber implements Subscription {
 
-    private final List<Runnable> onDisposedActions;
+    private static final int INLINE_ACTION_COUNT = 2;
+    
+    private Runnable firstAction;
+    private Runnable secondAction;
+    private Runnable[] moreActions;
+    private int actionCount = 0;
     private boolean isDisposed = false;
 
-    public Subscriber() {
-        onDisposedActions = new ArrayList<>();
-    }
-
     @Override
     public void dispose() {
         if(isDisposed)
             return;
         
         isDisposed = true;
-        onDisposedActions.stream().forEach(Callbacks::runSafeCallback);
-        onDisposedActions.clear();
+        
+        if (actionCount > 0)
+            Callbacks.runSafeCallback(firstAction);
+        
+        if (actionCount > 1)
+            Callbacks.runSafeCallback(secondAction);
+        
+        for (int i = 0; i < actionCount - INLINE_ACTION_COUNT; i++)
+            Callbacks.runSafeCallback(moreActions[i]);
+        
+        firstAction = null;
+        secondAction = null;
+        moreActions = null;
+        actionCount = 0;
     }
 
     @Override
@@ -58,6 +74,26 @@ public class Subscriber implements Subscription {
         if(isDisposed)
             return;
         
-        onDisposedActions.add(onDisposedAction);
+        if (actionCount == 0) {
+            firstAction = onDisposedAction;
+        } else if (actionCount == 1) {
+            secondAction = onDisposedAction;
+        } else {
+            addMoreAction(onDisposedAction);
+        }
+        
+        actionCount++;
+    }
+    
+    private void addMoreAction(Runnable onDisposedAction) {
+        int index = actionCount - INLINE_ACTION_COUNT;
+        
+        if (moreActions == null) {
+            moreActions = new Runnable[INLINE_ACTION_COUNT];
+        } else if (index == moreActions.length) {
+            moreActions = Arrays.copyOf(moreActions, moreActions.length * 2);
+        }
+        
+        moreActions[index] = onDisposedAction;
     }
-}
\ No newline at end of file
+}
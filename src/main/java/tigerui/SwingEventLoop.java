@@ -13,35 +13,46 @@
  */
 package tigerui;
 
-import static tigerui.Preconditions.checkArgument;
-
 import java.util.concurrent.TimeUnit;
 
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
-import tigerui.dispatcher.Dispatchers;
 import tigerui.disposables.Disposable;
 import tigerui.disposables.DisposableRunnable;
+import tigerui.metrics.DispatchMetrics;
+import tigerui.metrics.StallDetector;
 
 /**
  * A event loop that should be used for Swing/AWT applications.
  */
 public final class SwingEventLoop implements EventLoop {
+    
+    private final Timer timer;
+    private final TimerWheelScheduler scheduler;
+    
+    public SwingEventLoop() {
+        scheduler = new TimerWheelScheduler(this, this::armTimer);
+        timer = new Timer(0, event -> scheduler.onTimer());
+        timer.setRepeats(false);
+        
+        /*
+         * The timer is re-armed from its own callback, a coalescing timer
+         * drops an event that fires before the callback returns, which would
+         * leave the timer wheel without a timer.
+         */
+        timer.setCoalesce(false);
+    }
 
     @Override
     public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
-        checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
-        
-        runnable = Dispatchers.getInstance().wrapRunnableWithCurrentDispatchState(runnable);
-        
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
-        
-        Timer timer = new Timer((int)timeUnit.toMillis(time), event -> disposableRunnable.run());
-        timer.setRepeats(false);
-        timer.start();
-        
-        return disposableRunnable;
+        return scheduler.schedule(runnable, time, timeUnit);
+    }
+    
+    private void armTimer(long delayNanos) {
+        // round up, firing early would only re-arm the timer
+        timer.setInitialDelay((int) TimeUnit.NANOSECONDS.toMillis(delayNanos + 999_999));
+        timer.restart();
     }
 
     @Override
@@ -52,7 +63,8 @@ public final class SwingEventLoop implements EventLoop {
     @Override
     public Disposable invokeLater(Runnable runnable) {
         
-        DisposableRunnable disposableRunnable = new DisposableRunnable(runnable);
+        DisposableRunnable disposableRunnable = new DisposableRunnable(StallDetector.monitor(DispatchMetrics.measure(runnable)));
+        reportInvokeLater();
         
         SwingUtilities.invokeLater(disposableRunnable);
         
@@ -62,4 +74,10 @@ public final class SwingEventLoop implements EventLoop {
     public String getThreadName() {
         return "Event Dispatch";
     }
+    
+    private void reportInvokeLater() {
+        DispatchMetrics metrics = DispatchMetrics.current();
+        if (metrics.isEnabled())
+            metrics.onInvokeLater(this);
+    }
 }
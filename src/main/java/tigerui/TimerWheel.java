@@ -0,0 +1,294 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Callbacks.runSafeCallback;
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import tigerui.disposables.Disposable;
+
+/**
+ * A hashed timer wheel, used to schedule runnables to run at some time in the
+ * future. Scheduling and cancelling a timeout are constant time operations,
+ * which makes the wheel well suited to the many short lived timeouts created
+ * by operators such as debounce.
+ * <p>
+ * The wheel does not have a clock of its own, time is provided by calling
+ * {@link #advanceTo(long)}, which runs every timeout whose deadline has been
+ * reached. Timeouts are only run at tick granularity, so a timeout may run up
+ * to one tick late, but never early.
+ * <p>
+ * Each bucket is a doubly linked list, so a timeout that is cancelled from the
+ * thread that owns the wheel is removed right away, rather than lingering in
+ * the wheel until its deadline.
+ * <p>
+ * NOTE: A timer wheel is not thread safe, it must only be used from the thread
+ * of the event loop that owns it. Only {@link Timeout#dispose()} may be called
+ * from any thread, a timeout cancelled from another thread is removed when its
+ * bucket is next expired.
+ */
+final class TimerWheel {
+    
+    private final long startTime;
+    private final long tickDuration;
+    private final Timeout[] bucketHeads;
+    private final Timeout[] bucketTails;
+    private final int mask;
+    private final BooleanSupplier isOwnerThread;
+    
+    // the next tick to expire
+    private long currentTick;
+    private int size;
+    
+    /**
+     * Creates a new timer wheel, owned by the current thread.
+     * 
+     * @param startTime
+     *            the time, in nanoseconds, at which the wheel starts.
+     * @param tickDuration
+     *            the duration of a tick of the wheel
+     * @param timeUnit
+     *            the time unit of the tick duration
+     * @param wheelSize
+     *            the number of buckets of the wheel, must be a power of two.
+     */
+    TimerWheel(long startTime, long tickDuration, TimeUnit timeUnit, int wheelSize) {
+        this(startTime, tickDuration, timeUnit, wheelSize, isCurrentThread(Thread.currentThread()));
+    }
+    
+    /**
+     * Creates a new timer wheel.
+     * 
+     * @param startTime
+     *            the time, in nanoseconds, at which the wheel starts.
+     * @param tickDuration
+     *            the duration of a tick of the wheel
+     * @param timeUnit
+     *            the time unit of the tick duration
+     * @param wheelSize
+     *            the number of buckets of the wheel, must be a power of two.
+     *            Timeouts further in the future than the size of the wheel
+     *            are revisited once per revolution of the wheel.
+     * @param isOwnerThread
+     *            checks whether the current thread is the thread that owns
+     *            the wheel.
+     */
+    TimerWheel(long startTime, long tickDuration, TimeUnit timeUnit, int wheelSize, BooleanSupplier isOwnerThread) {
+        checkArgument(tickDuration > 0, "The tick duration must be positive [" + tickDuration + "]");
+        checkArgument(wheelSize > 0 && Integer.bitCount(wheelSize) == 1, 
+                      "The wheel size must be a power of two [" + wheelSize + "]");
+        
+        this.startTime = startTime;
+        this.tickDuration = timeUnit.toNanos(tickDuration);
+        this.bucketHeads = new Timeout[wheelSize];
+        this.bucketTails = new Timeout[wheelSize];
+        this.mask = wheelSize - 1;
+        this.isOwnerThread = requireNonNull(isOwnerThread);
+    }
+    
+    /**
+     * Schedules the provided task to run once the provided deadline has been
+     * reached.
+     * 
+     * @param task
+     *            some task to run
+     * @param deadline
+     *            the time, in nanoseconds, at which the task should run.
+     * @return a {@link Timeout} that can be used to cancel the task.
+     */
+    Timeout schedule(Runnable task, long deadline) {
+        Timeout timeout = new Timeout(task, deadline);
+        add(timeout);
+        return timeout;
+    }
+    
+    /**
+     * Adds a timeout, that was created ahead of time, to this wheel. Does
+     * nothing if the timeout has already been cancelled.
+     * 
+     * @param timeout
+     *            some timeout to add to the wheel.
+     */
+    void add(Timeout timeout) {
+        if (timeout.isCancelled)
+            return;
+        
+        long deadlineTick = -Math.floorDiv(startTime - timeout.deadline, tickDuration);
+        
+        // a deadline in the past is run on the next tick
+        timeout.tick = Math.max(deadlineTick, currentTick);
+        
+        append(timeout);
+        size++;
+    }
+    
+    /**
+     * Advances the wheel to the provided time, running all the timeouts whose
+     * deadline has been reached.
+     * 
+     * @param now
+     *            the current time, in nanoseconds.
+     */
+    void advanceTo(long now) {
+        long lastTick = Math.floorDiv(now - startTime, tickDuration);
+        
+        while (size > 0 && currentTick <= lastTick)
+            expire(currentTick++);
+        
+        currentTick = Math.max(currentTick, lastTick + 1);
+    }
+    
+    /**
+     * Gets the time of the next tick that has a timeout scheduled in it.
+     * 
+     * @return the time, in nanoseconds, of the next tick that has a timeout
+     *         scheduled in it, or {@link Long#MAX_VALUE} if the wheel is
+     *         empty.
+     */
+    long nextTickTime() {
+        if (size == 0)
+            return Long.MAX_VALUE;
+        
+        long tick = currentTick;
+        
+        while (bucketHeads[bucketIndex(tick)] == null)
+            tick++;
+        
+        return startTime + tick * tickDuration;
+    }
+    
+    /**
+     * @return true if there are no timeouts scheduled, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    private void expire(long tick) {
+        int bucket = bucketIndex(tick);
+        
+        // the timeouts that are due in a later revolution of the wheel
+        Timeout notDue = null;
+        
+        Timeout timeout;
+        while ((timeout = bucketHeads[bucket]) != null) {
+            remove(timeout);
+            
+            if (timeout.isCancelled)
+                continue;
+            
+            if (timeout.tick <= tick) {
+                runSafeCallback(timeout.task);
+            } else {
+                timeout.next = notDue;
+                notDue = timeout;
+            }
+        }
+        
+        while (notDue != null) {
+            Timeout next = notDue.next;
+            notDue.next = null;
+            add(notDue);
+            notDue = next;
+        }
+    }
+    
+    private void append(Timeout timeout) {
+        int bucket = bucketIndex(timeout.tick);
+        
+        timeout.prev = bucketTails[bucket];
+        
+        if (bucketTails[bucket] == null)
+            bucketHeads[bucket] = timeout;
+        else
+            bucketTails[bucket].next = timeout;
+        
+        bucketTails[bucket] = timeout;
+        timeout.wheel = this;
+    }
+    
+    private void remove(Timeout timeout) {
+        int bucket = bucketIndex(timeout.tick);
+        
+        if (timeout.prev == null)
+            bucketHeads[bucket] = timeout.next;
+        else
+            timeout.prev.next = timeout.next;
+        
+        if (timeout.next == null)
+            bucketTails[bucket] = timeout.prev;
+        else
+            timeout.next.prev = timeout.prev;
+        
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.wheel = null;
+        size--;
+    }
+    
+    private static BooleanSupplier isCurrentThread(Thread thread) {
+        return () -> Thread.currentThread() == thread;
+    }
+    
+    private int bucketIndex(long tick) {
+        return (int) (tick & mask);
+    }
+    
+    /**
+     * A task scheduled in a {@link TimerWheel}.
+     */
+    static final class Timeout implements Disposable {
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean isCancelled;
+        private long tick;
+        private Timeout prev;
+        private Timeout next;
+        
+        // the wheel this timeout is in, null if it is not in a wheel
+        private TimerWheel wheel;
+        
+        /**
+         * Creates a timeout that is not yet part of a wheel, see
+         * {@link TimerWheel#add(Timeout)}.
+         * 
+         * @param task
+         *            some task to run
+         * @param deadline
+         *            the time, in nanoseconds, at which the task should run.
+         */
+        Timeout(Runnable task, long deadline) {
+            this.task = requireNonNull(task);
+            this.deadline = deadline;
+        }
+        
+        /**
+         * Cancels this timeout, can be called from any thread. When called
+         * from the thread that owns the wheel, the timeout is also removed
+         * from the wheel.
+         */
+        @Override
+        public void dispose() {
+            isCancelled = true;
+            
+            TimerWheel currentWheel = wheel;
+            if (currentWheel != null && currentWheel.isOwnerThread.getAsBoolean())
+                currentWheel.remove(this);
+        }
+    }
+}
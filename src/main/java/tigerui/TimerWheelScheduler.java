@@ -0,0 +1,133 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import tigerui.TimerWheel.Timeout;
+import tigerui.dispatcher.Dispatchers;
+import tigerui.disposables.Disposable;
+import tigerui.metrics.DispatchMetrics;
+import tigerui.metrics.StallDetector;
+
+/**
+ * Implements {@link EventLoop#schedule(Runnable, long, TimeUnit)} for the event
+ * loops of the UI toolkits, on top of a {@link TimerWheel}. Rather than
+ * creating a toolkit timer per scheduled runnable, a single toolkit timer is
+ * armed for the next tick of the wheel that has a runnable scheduled in it.
+ * Scheduling and cancelling a runnable are therefore constant time and do not
+ * allocate any toolkit objects. Time is read from the clock of the event loop,
+ * see {@link EventLoop#now(TimeUnit)}.
+ */
+final class TimerWheelScheduler {
+    
+    private static final long TICK_DURATION_MILLIS = 1;
+    private static final int WHEEL_SIZE = 512;
+    
+    private final EventLoop eventLoop;
+    private final LongConsumer armTimer;
+    private final TimerWheel timerWheel;
+    
+    private boolean isArmed = false;
+    private long armedTickTime;
+    
+    /**
+     * @param eventLoop
+     *            the event loop whose runnables are scheduled
+     * @param armTimer
+     *            arms the toolkit timer to call {@link #onTimer()} once the
+     *            provided delay, in nanoseconds, has elapsed. This replaces any
+     *            delay the timer was armed with. It is only ever called from the
+     *            event loop.
+     */
+    TimerWheelScheduler(EventLoop eventLoop, LongConsumer armTimer) {
+        this.eventLoop = requireNonNull(eventLoop);
+        this.armTimer = requireNonNull(armTimer);
+        this.timerWheel = new TimerWheel(now(), TICK_DURATION_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE,
+                                         eventLoop::isInEventLoop);
+    }
+    
+    /**
+     * See {@link EventLoop#schedule(Runnable, long, TimeUnit)}.
+     * 
+     * @param runnable
+     *            some runnable to execute
+     * @param time
+     *            some delay from now.
+     * @param timeUnit
+     *            the time unit of the delay
+     * @return a {@link Disposable} that can be used to cancel the scheduled
+     *         runnable.
+     */
+    Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+        checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
+        
+        DispatchMetrics metrics = DispatchMetrics.current();
+        if (metrics.isEnabled())
+            metrics.onSchedule(eventLoop, timeUnit.toNanos(time));
+        
+        runnable = StallDetector.monitor(requireNonNull(runnable));
+        long deadline = now() + timeUnit.toNanos(time);
+        
+        if (eventLoop.isInEventLoop()) {
+            runnable = Dispatchers.getInstance().wrapRunnableWithCurrentDispatchState(runnable);
+            
+            Timeout timeout = timerWheel.schedule(runnable, deadline);
+            armForNextTick();
+            
+            return timeout;
+        }
+        
+        // the timer wheel can only be accessed from the event loop
+        Timeout timeout = new Timeout(runnable, deadline);
+        eventLoop.invokeLater(() -> {
+            timerWheel.add(timeout);
+            armForNextTick();
+        });
+        
+        return timeout;
+    }
+    
+    /**
+     * Called by the toolkit timer, on the event loop, once the delay it was
+     * armed with has elapsed.
+     */
+    void onTimer() {
+        isArmed = false;
+        timerWheel.advanceTo(now());
+        armForNextTick();
+    }
+    
+    private void armForNextTick() {
+        if (timerWheel.isEmpty())
+            return;
+        
+        long nextTickTime = timerWheel.nextTickTime();
+        
+        if (isArmed && armedTickTime <= nextTickTime)
+            return;
+        
+        isArmed = true;
+        armedTickTime = nextTickTime;
+        armTimer.accept(Math.max(0, nextTickTime - now()));
+    }
+    
+    private long now() {
+        return eventLoop.now(TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Callbacks.runSafeCallback;
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import tigerui.dispatcher.Dispatchers;
+import tigerui.disposables.Disposable;
+import tigerui.metrics.DispatchMetrics;
+import tigerui.metrics.StallDetector;
+
+/**
+ * An event loop whose clock only moves when it is advanced, using
+ * {@link #advanceBy(long, TimeUnit)} or {@link #advanceTo(long, TimeUnit)}.
+ * Advancing the clock runs every runnable that is due, in the order of the
+ * time they are due, and in the order they were submitted for runnables that
+ * are due at the same time. This makes it possible to test or replay time
+ * based pipelines, for instance those using debounce, deterministically and
+ * without waiting in wall clock time.
+ * <p>
+ * The event loop is backed by the thread that created it, and registers itself
+ * for that thread, see {@link EventLoop#register(EventLoop)}. It should be
+ * disposed once it is no longer needed, which removes the registration.
+ * Runnables can be submitted from any thread, but they only run when the
+ * creating thread advances the clock.
+ */
+public final class VirtualTimeEventLoop implements EventLoop, Disposable {
+    
+    private final Thread thread;
+    private final Disposable registration;
+    
+    // guarded by this
+    private final PriorityQueue<VirtualTask> tasks;
+    private long sequence;
+    private long now;
+    
+    private VirtualTimeEventLoop() {
+        this.thread = Thread.currentThread();
+        this.tasks = new PriorityQueue<>();
+        this.registration = EventLoop.register(this);
+    }
+    
+    /**
+     * Creates a virtual time event loop for the current thread, with it's clock
+     * at zero.
+     * 
+     * @return a new {@link VirtualTimeEventLoop}
+     * @throws IllegalStateException
+     *             if an event loop is already registered for the current
+     *             thread.
+     */
+    public static VirtualTimeEventLoop create() {
+        return new VirtualTimeEventLoop();
+    }
+
+    @Override
+    public boolean isInEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    @Override
+    public Disposable invokeLater(Runnable runnable) {
+        DispatchMetrics metrics = DispatchMetrics.current();
+        if (metrics.isEnabled())
+            metrics.onInvokeLater(this);
+        
+        return enqueue(StallDetector.monitor(requireNonNull(runnable)), 0);
+    }
+
+    @Override
+    public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+        checkArgument(time >= 0, "Cannot schedule a runnable with a negative time [" + time + "]");
+        
+        DispatchMetrics metrics = DispatchMetrics.current();
+        if (metrics.isEnabled())
+            metrics.onSchedule(this, timeUnit.toNanos(time));
+        
+        if (isInEventLoop())
+            runnable = Dispatchers.getInstance().wrapRunnableWithCurrentDispatchState(runnable);
+        
+        return enqueue(StallDetector.monitor(requireNonNull(runnable)), timeUnit.toNanos(time));
+    }
+
+    @Override
+    public String getThreadName() {
+        return thread.getName();
+    }
+    
+    /**
+     * Gets the current time of this event loop's clock.
+     * 
+     * @param timeUnit
+     *            the time unit to return the time in
+     * @return the time elapsed on the clock since this event loop was created.
+     */
+    @Override
+    public synchronized long now(TimeUnit timeUnit) {
+        return timeUnit.convert(now, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Moves the clock forward by the provided amount of time, running all the
+     * runnables that become due, including those scheduled by the runnables
+     * that are run. An amount of zero runs the runnables that are already due.
+     * 
+     * @param time
+     *            the amount of time to move the clock forward by
+     * @param timeUnit
+     *            the time unit of the amount of time
+     * @throws IllegalStateException
+     *             if not called from the thread that created this event loop.
+     */
+    public void advanceBy(long time, TimeUnit timeUnit) {
+        checkArgument(time >= 0, "Cannot advance the clock by a negative time [" + time + "]");
+        
+        long target;
+        synchronized (this) {
+            target = now + timeUnit.toNanos(time);
+        }
+        
+        advanceToNanos(target);
+    }
+    
+    /**
+     * Moves the clock forward to the provided time, running all the runnables
+     * that become due, including those scheduled by the runnables that are
+     * run.
+     * 
+     * @param time
+     *            the time, since this event loop was created, to move the clock
+     *            to
+     * @param timeUnit
+     *            the time unit of the time
+     * @throws IllegalArgumentException
+     *             if the provided time is before the current time of the clock.
+     * @throws IllegalStateException
+     *             if not called from the thread that created this event loop.
+     */
+    public void advanceTo(long time, TimeUnit timeUnit) {
+        advanceToNanos(timeUnit.toNanos(time));
+    }
+    
+    /**
+     * Removes the registration of this event loop and discards all the
+     * runnables that have not yet been run.
+     * 
+     * @throws IllegalStateException
+     *             if not called from the thread that created this event loop.
+     */
+    @Override
+    public void dispose() {
+        checkInEventLoop();
+        registration.dispose();
+        
+        synchronized (this) {
+            tasks.clear();
+        }
+    }
+    
+    private void advanceToNanos(long target) {
+        checkInEventLoop();
+        
+        synchronized (this) {
+            checkArgument(target >= now, "Cannot move the clock back in time from [" + now + "ns] to [" + target + "ns]");
+        }
+        
+        VirtualTask task;
+        while ((task = pollDueTask(target)) != null)
+            task.run();
+        
+        synchronized (this) {
+            now = target;
+        }
+    }
+    
+    private synchronized VirtualTask pollDueTask(long target) {
+        VirtualTask task = tasks.peek();
+        
+        if (task == null || task.time > target)
+            return null;
+        
+        now = task.time;
+        return tasks.poll();
+    }
+    
+    private synchronized VirtualTask enqueue(Runnable runnable, long delay) {
+        VirtualTask task = new VirtualTask(runnable, now + delay, sequence++);
+        tasks.add(task);
+        return task;
+    }
+    
+    private static final class VirtualTask implements Runnable, Disposable, Comparable<VirtualTask> {
+        private final Runnable runnable;
+        private final long time;
+        private final long sequence;
+        private volatile boolean isDisposed;
+        
+        VirtualTask(Runnable runnable, long time, long sequence) {
+            this.runnable = runnable;
+            this.time = time;
+            this.sequence = sequence;
+        }
+        
+        @Override
+        public void run() {
+            if (!isDisposed)
+                runSafeCallback(runnable);
+        }
+        
+        @Override
+        public void dispose() {
+            isDisposed = true;
+        }
+
+        @Override
+        public int compareTo(VirtualTask other) {
+            int timeComparison = Long.compare(time, other.time);
+            return timeComparison != 0 ? timeComparison : Long.compare(sequence, other.sequence);
+        }
+    }
+}
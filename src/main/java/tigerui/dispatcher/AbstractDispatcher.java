@@ -15,41 +15,78 @@ package tigerui.dispatcher;
 
 import static java.util.Objects.requireNonNull;
 import static tigerui.Callbacks.runSafeCallback;
-import static tigerui.Preconditions.checkState;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
 import tigerui.Observer;
 import tigerui.Subscriber;
 import tigerui.disposables.Disposable;
+import tigerui.metrics.DispatchMetrics;
+import tigerui.metrics.StallDetector;
+import tigerui.metrics.SubscriptionLeakDetector;
 
+/**
+ * Base class for dispatchers.
+ * <p>
+ * The subscribers are held in a copy-on-write array, so that a dispatch can
+ * iterate over a stable snapshot of the subscribers without copying them.
+ * Dispatches that occur while this dispatcher is paused are stored in a
+ * reusable {@link DispatchQueue}. Together this ensures that dispatching a
+ * value does not allocate.
+ * <p>
+ * Dispatches are reported to the installed {@link DispatchMetrics}, the clock
+ * is only read when the metrics are enabled. While a {@link StallDetector} is
+ * running, the dispatch to each subscriber is monitored for stalls, and while a
+ * {@link SubscriptionLeakDetector} is running, subscribers are reported to it
+ * as they are added and removed.
+ * 
+ * @param <V>
+ *            the type of values this dispatcher dispatches
+ * @param <S>
+ *            the type of subscribers this dispatcher dispatches to
+ * @param <O>
+ *            the type of observers that can subscribe to this dispatcher
+ */
 public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>, O extends Observer<V>> implements Dispatcher<V, S, O> {
 
-    private final List<S> subscribers;
+    private static final Object[] NO_SUBSCRIBERS = new Object[0];
+    
     private final List<Disposable> disposables;
-    private final Function<S, Consumer<V>> dispatchFunction;
-    private final Function<S, Runnable> disposeFunction;
+    private final Comparator<? super S> subscriberComparator;
     private final Type type;
-    private final List<Runnable> pausedDisptaches;
+    private final DispatchQueue<V> pausedDispatches;
+    private final Dispatchers dispatchers;
 
+    private Object[] subscribers = NO_SUBSCRIBERS;
     private boolean isDispatching = false;
     private boolean isDisposed = false;
     private int pauseCount = 0;
     private boolean dispatchingToBinding = false;
     
-    protected AbstractDispatcher(List<S> subscribers, 
-                                 Function<S, Consumer<V>> dispatchFunction, 
-                                 Function<S, Runnable> disposeFunction,
-                                 Type type) {
-        this.subscribers = requireNonNull(subscribers);
+    // the number of queued dispatches to all subscribers
+    private int queuedBroadcastCount = 0;
+    
+    // when set only the last queued dispatch to all subscribers is dispatched on resume
+    private boolean coalesceQueuedBroadcasts = false;
+    
+    /**
+     * @param subscriberComparator
+     *            a comparator that defines the order in which subscribers are
+     *            dispatched to. Subscribers that compare equal are dispatched
+     *            to in the order they subscribed.
+     * @param type
+     *            the type of this dispatcher
+     */
+    protected AbstractDispatcher(Comparator<? super S> subscriberComparator, Type type) {
         this.disposables = new ArrayList<>();
-        this.dispatchFunction = requireNonNull(dispatchFunction);
-        this.disposeFunction = requireNonNull(disposeFunction);
+        this.subscriberComparator = requireNonNull(subscriberComparator);
         this.type = requireNonNull(type);
-        this.pausedDisptaches = new ArrayList<>();
+        this.pausedDispatches = new DispatchQueue<>();
+        this.dispatchers = Dispatchers.getInstance();
     }
     
     @Override
@@ -59,8 +96,13 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
         
         isDisposed = true;
         
-        new ArrayList<>(subscribers).stream().map(disposeFunction).forEach(Runnable::run);
-        subscribers.clear();
+        Object[] subscribersToDispose = subscribers;
+        subscribers = NO_SUBSCRIBERS;
+        
+        for (Object subscriber : subscribersToDispose)
+            disposeSubscriber(asSubscriber(subscriber));
+        
+        SubscriptionLeakDetector.onDisposed(this);
         
         disposables.forEach(disposable -> runSafeCallback(disposable::dispose));
         disposables.clear();
@@ -78,24 +120,11 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
 
     @Override
     public void dispatch(V newValue) {
-        checkState(!isDisposed, "Dispatcher has been disposed, cannot dispatch: " + newValue);
-        dispatchOrQueue(createDisptachValueRunnable(newValue));
-    }
-
-    private Runnable createDisptachValueRunnable(V newValue) {
-        return () -> {
-            boolean isEventDispatcher = getType() == Dispatcher.Type.EVENT;
-            
-            if (isEventDispatcher)
-                Dispatchers.getInstance().pausePropertyDispatchers();
-            
-            new ArrayList<>(subscribers).stream()
-                                        .map(dispatchFunction)
-                                        .forEach(consumer -> consumer.accept(newValue));
-            
-            if(isEventDispatcher)
-                Dispatchers.getInstance().resumePropertyDispatchers();
-        };
+        // not using checkState, to avoid building the message for every dispatch
+        if (isDisposed)
+            throw new IllegalStateException("Dispatcher has been disposed, cannot dispatch: " + newValue);
+        
+        dispatchOrQueue(null, newValue);
     }
 
     @Override
@@ -112,7 +141,11 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
      *            the new dispatching state to set for this dispatcher
      */
     void setDispatching( boolean isDispatching ) {
+        if (this.isDispatching == isDispatching)
+            return;
+        
         this.isDispatching = isDispatching;
+        dispatchers.onDispatchingChanged(this, isDispatching);
     }
     
     @Override
@@ -122,7 +155,7 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
     
     @Override
     public int getSubscriberCount() {
-        return subscribers.size();
+        return subscribers.length;
     }
     
     @Override
@@ -130,26 +163,137 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
         return type;
     }
     
+    /**
+     * Dispatches some value to the provided subscriber.
+     * 
+     * @param subscriber
+     *            some subscriber of this dispatcher
+     * @param value
+     *            the value to dispatch
+     */
+    protected abstract void dispatchToSubscriber(S subscriber, V value);
+    
+    /**
+     * Notifies the provided subscriber that this dispatcher has been disposed.
+     * 
+     * @param subscriber
+     *            some subscriber of this dispatcher
+     */
+    protected abstract void disposeSubscriber(S subscriber);
+    
+    /**
+     * Adds a subscriber to this dispatcher. The subscriber is inserted after
+     * all the subscribers that do not compare greater than it, as per the
+     * comparator this dispatcher was created with.
+     * 
+     * @param subscriber
+     *            some subscriber to add
+     */
+    protected final void addSubscriber(S subscriber) {
+        Object[] current = subscribers;
+        
+        int index = current.length;
+        while (index > 0 && subscriberComparator.compare(asSubscriber(current[index - 1]), subscriber) > 0)
+            index--;
+        
+        Object[] updated = new Object[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        updated[index] = subscriber;
+        System.arraycopy(current, index, updated, index + 1, current.length - index);
+        
+        subscribers = updated;
+        SubscriptionLeakDetector.onSubscribed(this, subscriber);
+    }
+    
+    /**
+     * Removes a subscriber from this dispatcher. Dispatches in progress are
+     * not affected, since they iterate over the subscribers that were present
+     * when they started.
+     * 
+     * @param subscriber
+     *            some subscriber to remove
+     */
+    protected final void removeSubscriber(S subscriber) {
+        Object[] current = subscribers;
+        
+        int index = -1;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscriber) {
+                index = i;
+                break;
+            }
+        }
+        
+        if (index < 0)
+            return;
+        
+        if (current.length == 1) {
+            subscribers = NO_SUBSCRIBERS;
+        } else {
+            Object[] updated = Arrays.copyOf(current, current.length - 1);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            
+            subscribers = updated;
+        }
+        
+        SubscriptionLeakDetector.onUnsubscribed(this, subscriber);
+    }
+    
 	/**
-	 * If this Dispatcher is currently paused the runnable will be queued and
-	 * executed once resumed, otherwise it will be executed immediately.
+	 * If this Dispatcher is currently paused the dispatch will be queued and
+	 * executed once resumed, otherwise it will be executed immediately. A
+	 * property dispatcher that is asked to dispatch while an event is being
+	 * dispatched is paused until the event dispatch completes.
 	 * 
-	 * <p>Before being executed the runnable will be wrapped in order to toggle on
-	 * then off the isDispatching flag.
+	 * <p>While the target is running the isDispatching flag will be toggled on
+	 * and then restored once it has completed.
 	 * 
-	 * @param disptchRunnable
-	 *            some dispatch runnable to execute either now or (if paused)
-	 *            later.
+	 * @param target
+	 *            the target to dispatch the value to, or null to dispatch the
+	 *            value to all subscribers. The target should be created once
+	 *            and reused, not created per dispatch.
+	 * @param value
+	 *            the value to dispatch either now or (if paused) later.
 	 */
-    protected void dispatchOrQueue(Runnable disptchRunnable) {
-        Runnable wrappedRunnable = wrapRunnableWithIsDispatching(disptchRunnable);
-        if (isPaused()) {
-            pausedDisptaches.add(wrappedRunnable);
+    protected final void dispatchOrQueue(Consumer<? super V> target, V value) {
+        if (isPaused() || dispatchers.pauseIfDispatchingEvent(this)) {
+            pausedDispatches.add(target, value);
+            
+            if (target == null)
+                queuedBroadcastCount++;
+            
+            DispatchMetrics metrics = DispatchMetrics.current();
+            if (metrics.isEnabled())
+                metrics.onDispatchQueued(this, pausedDispatches.size());
         } else {
-            wrappedRunnable.run();
+            dispatchNow(target, value);
         }
     }
     
+    /**
+     * Creates a dispatch target that will call back the provided observer
+     * callback, flagging whether this dispatcher is dispatching to a binding
+     * for the duration of the callback.
+     * 
+     * @param observer
+     *            some observer
+     * @param callback
+     *            the observer callback to wrap
+     * @return a new dispatch target that can be used with
+     *         {@link #dispatchOrQueue(Consumer, Object)}
+     */
+    protected final Consumer<V> createBindingAwareTarget(Observer<V> observer, Consumer<V> callback) {
+        return value -> {
+            boolean wasDispatchingToBinding = dispatchingToBinding;
+            setDispatchingToBinding(observer.isBinding());
+            try {
+                callback.accept(value);
+            } finally {
+                setDispatchingToBinding(wasDispatchingToBinding);
+            }
+        };
+    }
+    
     boolean isPaused() {
         return pauseCount > 0;
     }
@@ -157,19 +301,46 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
     void pause() {
         pauseCount++;
     }
+    
+    /**
+     * Pauses this dispatcher, such that when it is resumed only the last value
+     * queued for all subscribers is dispatched, since it supersedes any value
+     * queued before it. Dispatches queued for a single subscriber are always
+     * dispatched.
+     */
+    void pauseAndCoalesce() {
+        pause();
+        coalesceQueuedBroadcasts = true;
+    }
 
     void resume() {
         pauseCount--;
         
-        if (isPaused())
-            return;
+        while (!isPaused() && !pausedDispatches.isEmpty()) {
+            Consumer<? super V> target = pausedDispatches.peekTarget();
+            V value = pausedDispatches.peekValue();
+            pausedDispatches.removeFirst();
+            
+            if (target == null) {
+                queuedBroadcastCount--;
+                
+                if (coalesceQueuedBroadcasts && queuedBroadcastCount > 0)
+                    continue;
+            }
+            
+            dispatchNow(target, value);
+        }
         
-        pausedDisptaches.forEach(Runnable::run);
-        pausedDisptaches.clear();
+        if (!isPaused())
+            coalesceQueuedBroadcasts = false;
     }
     
     void setDispatchingToBinding(boolean dispatchingToBinding) {
+        if (this.dispatchingToBinding == dispatchingToBinding)
+            return;
+        
         this.dispatchingToBinding = dispatchingToBinding;
+        dispatchers.onDispatchingToBindingChanged(dispatchingToBinding);
     }
     
     boolean isDispatchingToBinding() {
@@ -177,22 +348,76 @@ public abstract class AbstractDispatcher<V, S extends Subscriber & Observer<V>,
     }
 
     /**
-     * Ensures that when the runnable is running that the dispatch flag is
-     * turned on and then off when execution is finished.
-     * 
-     * @param runnable
-     *            some runnable to wrap
-     * @return a new runnable that ensures to toggle on/off the dispatch flag
-     *         before and after execution.
+     * Ensures that when the target is running that the dispatch flag is
+     * turned on and then restored when execution is finished. The outermost
+     * property dispatch also propagates the change to the derived nodes that
+     * were scheduled by it, before the dispatch flag is restored.
      */
-    private Runnable wrapRunnableWithIsDispatching(Runnable runnable) {
-        return () -> {            
-            isDispatching = true;
+    private void dispatchNow(Consumer<? super V> target, V value) {
+        boolean wasDispatching = isDispatching;
+        boolean isPropagationRoot = type == Type.PROPERTY && dispatchers.startPropagation();
+        setDispatching(true);
+        try {
+            if (target == null) {
+                dispatchToSubscribers(value);
+            } else {
+                target.accept(value);
+            }
+            
+            if (isPropagationRoot)
+                dispatchers.propagate();
+        } finally {
+            if (isPropagationRoot)
+                dispatchers.endPropagation();
+            
+            setDispatching(wasDispatching);
+        }
+    }
+    
+    private void dispatchToSubscribers(V value) {
+        boolean isEventDispatcher = type == Type.EVENT;
+        int pauseScope = isEventDispatcher ? dispatchers.pausePropertyDispatchers() : 0;
+        
+        try {
+            Object[] subscribersToDispatchTo = subscribers;
+            DispatchMetrics metrics = DispatchMetrics.current();
+            
+            if (metrics.isEnabled() || StallDetector.isEnabled()) {
+                dispatchToSubscribersInstrumented(subscribersToDispatchTo, value, metrics);
+            } else {
+                for (int i = 0; i < subscribersToDispatchTo.length; i++)
+                    dispatchToSubscriber(asSubscriber(subscribersToDispatchTo[i]), value);
+            }
+        } finally {
+            if (isEventDispatcher)
+                dispatchers.resumePropertyDispatchers(pauseScope);
+        }
+    }
+    
+    private void dispatchToSubscribersInstrumented(Object[] subscribersToDispatchTo, V value, DispatchMetrics metrics) {
+        boolean isMeasured = metrics.isEnabled();
+        
+        if (isMeasured)
+            metrics.onDispatch(this, subscribersToDispatchTo.length);
+        
+        for (int i = 0; i < subscribersToDispatchTo.length; i++) {
+            S subscriber = asSubscriber(subscribersToDispatchTo[i]);
+            long start = isMeasured ? System.nanoTime() : 0;
+            Disposable callback = StallDetector.enter(subscriber);
+            
             try {
-                runnable.run();
-            } finally {            
-                isDispatching = false;
+                dispatchToSubscriber(subscriber, value);
+            } finally {
+                callback.dispose();
             }
-        };
+            
+            if (isMeasured)
+                metrics.onObserverDispatched(this, subscriber, System.nanoTime() - start);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private S asSubscriber(Object subscriber) {
+        return (S) subscriber;
     }
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.dispatcher;
+
+import java.util.function.Consumer;
+
+/**
+ * A FIFO queue of paused dispatches. Each entry holds some value and the
+ * target the value should be dispatched to once the owning dispatcher is
+ * resumed. A <code>null</code> target denotes a dispatch to all the
+ * subscribers of the owning dispatcher.
+ * <p>
+ * The queue is backed by a pair of arrays that are only allocated the first
+ * time a dispatch is queued and that are reused afterwards, so queueing a
+ * dispatch does not allocate once the queue has grown to it's working size.
+ * 
+ * @param <V>
+ *            the type of the values queued.
+ */
+final class DispatchQueue<V> {
+    
+    private static final int INITIAL_CAPACITY = 4;
+    
+    private Object[] values;
+    private Consumer<?>[] targets;
+    private int head = 0;
+    private int size = 0;
+    
+    /**
+     * Adds a dispatch to the end of this queue.
+     * 
+     * @param target
+     *            the target of the dispatch, or null to dispatch to all
+     *            subscribers.
+     * @param value
+     *            the value to dispatch.
+     */
+    void add(Consumer<? super V> target, V value) {
+        if (values == null) {
+            values = new Object[INITIAL_CAPACITY];
+            targets = new Consumer<?>[INITIAL_CAPACITY];
+        } else if (size == values.length) {
+            grow();
+        }
+        
+        int tail = (head + size) & (values.length - 1);
+        values[tail] = value;
+        targets[tail] = target;
+        size++;
+    }
+    
+    /**
+     * @return true if there are no queued dispatches, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * @return the number of queued dispatches.
+     */
+    int size() {
+        return size;
+    }
+    
+    /**
+     * @return the target of the dispatch at the head of this queue.
+     */
+    @SuppressWarnings("unchecked")
+    Consumer<? super V> peekTarget() {
+        return (Consumer<? super V>) targets[head];
+    }
+    
+    /**
+     * @return the value of the dispatch at the head of this queue.
+     */
+    @SuppressWarnings("unchecked")
+    V peekValue() {
+        return (V) values[head];
+    }
+    
+    /**
+     * Removes the dispatch at the head of this queue.
+     */
+    void removeFirst() {
+        values[head] = null;
+        targets[head] = null;
+        head = (head + 1) & (values.length - 1);
+        size--;
+    }
+    
+    private void grow() {
+        int capacity = values.length;
+        Object[] newValues = new Object[capacity * 2];
+        Consumer<?>[] newTargets = new Consumer<?>[capacity * 2];
+        
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) & (capacity - 1);
+            newValues[i] = values[index];
+            newTargets[i] = targets[index];
+        }
+        
+        values = newValues;
+        targets = newTargets;
+        head = 0;
+    }
+}
@@ -13,35 +13,102 @@
  */
 package tigerui.dispatcher;
 
+import static tigerui.Callbacks.runSafeCallback;
 import static tigerui.Preconditions.checkState;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import tigerui.EventLoop;
-import tigerui.Observer;
-import tigerui.Subscriber;
 import tigerui.annotations.RequiresTest;
 import tigerui.dispatcher.Dispatcher.Type;
 
+/**
+ * Tracks the dispatch state of the dispatchers created on an event loop. Each
+ * event loop runs on its own thread, so the dispatch state is kept per thread,
+ * which allows property graphs to live on several event loops at the same
+ * time.
+ */
 @RequiresTest
 public class Dispatchers {
-    private static final Dispatchers instance = new Dispatchers();
-
-    private final Map<AbstractDispatcher<?, ?, ?>, Void> dispatchers = new WeakHashMap<>();
+    private static final ThreadLocal<Dispatchers> instance = ThreadLocal.withInitial(Dispatchers::new);
 
-    private PropertyDispatcherFactory propertyDispatcherFactory = PropertyDispatcher::create;
-    private EventDispatcherFactory eventDispatcherFactory = EventDispatcher::create;
+    private static volatile PropertyDispatcherFactory propertyDispatcherFactory = PropertyDispatcher::create;
+    private static volatile EventDispatcherFactory eventDispatcherFactory = EventDispatcher::create;
+    
+    /**
+     * The dispatchers that are currently dispatching. This is maintained by the
+     * dispatchers themselves whenever their dispatching state changes, so that
+     * querying the global dispatch state does not require scanning every
+     * dispatcher that has ever been created.
+     */
+    private final Set<AbstractDispatcher<?, ?, ?>> dispatchingDispatchers = 
+            Collections.newSetFromMap(new IdentityHashMap<>());
+    
+    /**
+     * The number of dispatchers that are currently dispatching to a binding.
+     */
+    private int bindingDispatchCount = 0;
+    
+    /**
+     * The number of event dispatches currently in progress, nested event
+     * dispatches increment this count.
+     */
+    private int eventDispatchDepth = 0;
+    
+    /**
+     * The number of transactions currently in progress, see
+     * {@link #runInTransaction(Runnable)}.
+     */
+    private int transactionDepth = 0;
+    
+    /**
+     * The property dispatchers that have been paused because they were
+     * dispatched to during the current event dispatch. These will be resumed
+     * once the outermost event dispatch completes.
+     */
+    private final List<AbstractDispatcher<?, ?, ?>> pausedPropertyDispatchers = new ArrayList<>();
+    
+    /**
+     * True while a property change is being propagated, see
+     * {@link PropagationNode}.
+     */
+    private boolean isPropagating = false;
     
+    /**
+     * The nodes scheduled during the current propagation, ordered by rank and
+     * then by the order they were scheduled in.
+     */
+    private final PriorityQueue<PropagationNode> scheduledNodes = new PriorityQueue<>(PropagationNode::compare);
+    
+    private long scheduleSequence = 0;
+    
+    /**
+     * Incremented whenever the shape of the property dependency graph
+     * changes, which makes the ranks cached by the {@link PropagationNode}s
+     * stale.
+     */
+    private int rankEpoch = 0;
     
     private Dispatchers() {
-    } // Singleton
+    } // One per thread
 
+    /**
+     * Gets the dispatchers of the current thread.
+     * 
+     * @return the {@link Dispatchers} that track the dispatch state of the
+     *         current thread.
+     */
     public static Dispatchers getInstance() {
-        return instance;
+        return instance.get();
     }
     
 	/**
@@ -68,21 +135,24 @@ public class Dispatchers {
 	 *         calls to restore this state.
 	 */
     public Runnable wrapRunnableWithCurrentDispatchState(Runnable runnableToWrap) {
+        
+        // nothing to re-establish
+        if (dispatchingDispatchers.isEmpty())
+            return runnableToWrap;
 
-        Map<AbstractDispatcher<?, ?, ?>, Void> dispatchingDispatchers = new WeakHashMap<>();
+        Map<AbstractDispatcher<?, ?, ?>, Void> capturedDispatchers = new WeakHashMap<>();
 
-        dispatchers.keySet().stream().filter(Dispatcher::isDispatching)
-                .forEach(dispatcher -> dispatchingDispatchers.put(dispatcher, null));
+        dispatchingDispatchers.forEach(dispatcher -> capturedDispatchers.put(dispatcher, null));
 
         return () -> {
             // capture the current state of the dispatchers since it could
             // have changed since warp was called
-            List<Runnable> dispatchStateRestoreList = dispatchingDispatchers.keySet().stream()
+            List<Runnable> dispatchStateRestoreList = capturedDispatchers.keySet().stream()
                     .map(Dispatchers::createStateRestorer).collect(Collectors.toList());
 
             // toggle all the dispatchers to true that where captured when
             // wrapping the runnable
-            dispatchingDispatchers.keySet().forEach(dispatcher -> dispatcher.setDispatching(true));
+            capturedDispatchers.keySet().forEach(dispatcher -> dispatcher.setDispatching(true));
 
             // perform the dispatch
             runnableToWrap.run();
@@ -99,7 +169,7 @@ public class Dispatchers {
 	 * @return true if any dispatcher is currently dispatching, false otherwise.
 	 */
     public boolean isDispatching() {
-        return dispatchers.keySet().stream().filter(Dispatcher::isDispatching).findAny().isPresent();
+        return ! dispatchingDispatchers.isEmpty();
     }
 
 	/**
@@ -110,37 +180,224 @@ public class Dispatchers {
 	 *         dispatching a binding.
 	 */
     public boolean isDispatchingBinding() {
-        return dispatchers.keySet().stream().filter(AbstractDispatcher::isDispatchingToBinding).findAny().isPresent();
+        return bindingDispatchCount > 0;
+    }
+    
+    /**
+     * Called by a dispatcher whenever it's dispatching state changes.
+     * 
+     * @param dispatcher
+     *            the dispatcher whose dispatching state changed
+     * @param isDispatching
+     *            the new dispatching state of the dispatcher
+     */
+    void onDispatchingChanged(AbstractDispatcher<?, ?, ?> dispatcher, boolean isDispatching) {
+        if (isDispatching)
+            dispatchingDispatchers.add(dispatcher);
+        else
+            dispatchingDispatchers.remove(dispatcher);
+    }
+    
+    /**
+     * Called by a dispatcher whenever it starts or stops dispatching to a
+     * binding.
+     * 
+     * @param dispatchingToBinding
+     *            true if the dispatcher started dispatching to a binding, false
+     *            if it stopped.
+     */
+    void onDispatchingToBindingChanged(boolean dispatchingToBinding) {
+        if (dispatchingToBinding)
+            bindingDispatchCount++;
+        else
+            bindingDispatchCount--;
     }
 
     <M> PropertyDispatcher<M> createPropertyDispatcher() {
-        return addDispatcher(propertyDispatcherFactory.create());
+        return propertyDispatcherFactory.create();
     }
 
+    /**
+     * Sets the factory used to create property dispatchers on all threads.
+     * 
+     * @param propertyDispatcherFactory
+     *            some factory for property dispatchers
+     */
     void setPropertyDispatcherFactory(PropertyDispatcherFactory propertyDispatcherFactory) {
-        this.propertyDispatcherFactory = propertyDispatcherFactory;
+        Dispatchers.propertyDispatcherFactory = propertyDispatcherFactory;
     }
     
     <E> EventDispatcher<E> createEventDispatcher() {
-        return addDispatcher(eventDispatcherFactory.create());
+        return eventDispatcherFactory.create();
     }
 
+    /**
+     * Sets the factory used to create event dispatchers on all threads.
+     * 
+     * @param eventDispatcherFactory
+     *            some factory for event dispatchers
+     */
     void setEventDispatcherFactory(EventDispatcherFactory eventDispatcherFactory) {
-        this.eventDispatcherFactory = eventDispatcherFactory;
+        Dispatchers.eventDispatcherFactory = eventDispatcherFactory;
     }
 
-    void pausePropertyDispatchers() {
-        dispatchers.keySet()
-                   .stream()
-                   .filter(dispatcher -> dispatcher.getType() == Type.PROPERTY)
-                   .forEach(AbstractDispatcher::pause);
+    /**
+     * Marks the start of an event dispatch. Until the matching call to
+     * {@link #resumePropertyDispatchers(int)} any property dispatcher that is
+     * asked to dispatch a value will be paused, see
+     * {@link #pauseIfDispatchingEvent(AbstractDispatcher)}.
+     * 
+     * @return the pause scope, which must be provided when resuming.
+     */
+    int pausePropertyDispatchers() {
+        eventDispatchDepth++;
+        return pausedPropertyDispatchers.size();
     }
 
-    void resumePropertyDispatchers() {
-        dispatchers.keySet()
-                   .stream()
-                   .filter(dispatcher -> dispatcher.getType() == Type.PROPERTY)
-                   .forEach(AbstractDispatcher::resume);
+    /**
+     * Marks the end of an event dispatch. Once the outermost event dispatch
+     * completes, all the property dispatchers that were paused during the
+     * event dispatch are resumed in the order they were paused.
+     * 
+     * @param pauseScope
+     *            the pause scope returned by the matching call to
+     *            {@link #pausePropertyDispatchers()}
+     */
+    void resumePropertyDispatchers(int pauseScope) {
+        eventDispatchDepth--;
+        
+        if (eventDispatchDepth > 0)
+            return;
+        
+        /*
+         * Resuming a dispatcher can trigger another event dispatch, which will
+         * pause and then resume dispatchers beyond the end of the list. So
+         * resume by index and only discard the dispatchers of this scope once
+         * they have all been resumed.
+         */
+        boolean isPropagationRoot = startPropagation();
+        
+        try {
+            for (int i = pauseScope; i < pausedPropertyDispatchers.size(); i++)
+                pausedPropertyDispatchers.get(i).resume();
+            
+            // the resumed dispatchers propagate together, so nodes that depend on several of them are evaluated once
+            if (isPropagationRoot)
+                propagate();
+        } finally {
+            for (int i = pausedPropertyDispatchers.size() - 1; i >= pauseScope; i--)
+                pausedPropertyDispatchers.remove(i);
+            
+            if (isPropagationRoot)
+                endPropagation();
+        }
+    }
+    
+    /**
+     * Starts the propagation of a property change, unless one is already in
+     * progress. Until the propagation ends, the {@link PropagationNode}s that
+     * are invalidated are scheduled rather than evaluated.
+     * 
+     * @return true if this call started the propagation, in which case the
+     *         caller must call {@link #propagate()} and then
+     *         {@link #endPropagation()}.
+     */
+    boolean startPropagation() {
+        if (isPropagating)
+            return false;
+        
+        isPropagating = true;
+        return true;
+    }
+    
+    /**
+     * Evaluates the scheduled nodes in rank order, including the nodes that are
+     * scheduled by the evaluation of other nodes.
+     */
+    void propagate() {
+        PropagationNode node;
+        while ((node = scheduledNodes.poll()) != null)
+            runSafeCallback(node::evaluate);
+    }
+    
+    /**
+     * Ends the propagation started by {@link #startPropagation()}. Any node
+     * that is still scheduled, because an evaluation failed, is discarded.
+     */
+    void endPropagation() {
+        PropagationNode node;
+        while ((node = scheduledNodes.poll()) != null)
+            node.isScheduled = false;
+        
+        isPropagating = false;
+    }
+    
+    boolean isPropagating() {
+        return isPropagating;
+    }
+    
+    int getRankEpoch() {
+        return rankEpoch;
+    }
+    
+    void invalidateRanks() {
+        rankEpoch++;
+    }
+    
+    void schedule(PropagationNode node) {
+        node.isScheduled = true;
+        node.scheduledRank = node.getRank(rankEpoch);
+        node.sequence = scheduleSequence++;
+        scheduledNodes.add(node);
+    }
+    
+    /**
+     * Runs the provided changes in a transaction. Every property dispatcher
+     * that is asked to dispatch during the transaction is held until the
+     * transaction completes, at which point it dispatches only the last value
+     * it was asked to dispatch. Subscribers therefore only see the final value
+     * of each property changed in the transaction.
+     * <p>
+     * Transactions can be nested, the property dispatchers are released when
+     * the outermost transaction completes, even if the changes throw.
+     * 
+     * @param changes
+     *            some runnable that changes the values of properties.
+     */
+    public void runInTransaction(Runnable changes) {
+        int pauseScope = pausePropertyDispatchers();
+        transactionDepth++;
+        
+        try {
+            changes.run();
+        } finally {
+            transactionDepth--;
+            resumePropertyDispatchers(pauseScope);
+        }
+    }
+    
+    /**
+     * Pauses the provided dispatcher if it is a property dispatcher and an
+     * event is currently being dispatched, or a transaction is in progress.
+     * This ensures that only the property dispatchers that are actually
+     * affected by an event are paused, rather than every property dispatcher.
+     * 
+     * @param dispatcher
+     *            some dispatcher that is about to dispatch.
+     * @return true if the dispatcher was paused, false otherwise.
+     */
+    boolean pauseIfDispatchingEvent(AbstractDispatcher<?, ?, ?> dispatcher) {
+        if (eventDispatchDepth == 0 || dispatcher.getType() != Type.PROPERTY)
+            return false;
+        
+        if (transactionDepth > 0)
+            dispatcher.pauseAndCoalesce();
+        else
+            dispatcher.pause();
+        
+        pausedPropertyDispatchers.add(dispatcher);
+        
+        return true;
     }
 
     private static Runnable createStateRestorer(AbstractDispatcher<?, ?, ?> dispatcher) {
@@ -148,12 +405,6 @@ public class Dispatchers {
         return () -> dispatcher.setDispatching(dispatching);
     }
 
-    private <V, S extends Subscriber & Observer<V>, O extends Observer<V>, D extends AbstractDispatcher<V, S, O>> D addDispatcher(
-            D eventDispatcher) {
-        dispatchers.put(eventDispatcher, null);
-        return eventDispatcher;
-    }
-    
 	/**
 	 * Checks whether it is possible to dispatch a value. It is only possible to
 	 * dispatch a value if either:
@@ -176,14 +427,15 @@ public class Dispatchers {
 		 * if no dispatcher is currently dispatching then it's okay to set the
 		 * value of the property.
 		 */
-	    boolean isNotDispatching = ! getInstance().isDispatching();
+	    Dispatchers dispatchers = getInstance();
+	    boolean isNotDispatching = ! dispatchers.isDispatching();
 		/**
 		 * If currently dispatching it is okay to set the value if the property
 		 * via a binding. TODO: this might not be the right check. It might be
 		 * more appropriate to only allow the set if the current observer is a
 		 * binding.
 		 */
-	    boolean isDispatchingToBinding = getInstance().isDispatchingBinding();
+	    boolean isDispatchingToBinding = dispatchers.isDispatchingBinding();
 	    
 	    checkState(isNotDispatching || isDispatchingToBinding, 
 	               "It is not possible to add a callback that sets the value of a property. " + 
@@ -13,12 +13,10 @@
  */
 package tigerui.dispatcher;
 
-import static java.util.Objects.requireNonNull;
 import static tigerui.dispatcher.Dispatcher.Type.EVENT;
 
-import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.List;
+import java.util.function.Consumer;
 
 import tigerui.event.EventBinding;
 import tigerui.event.EventObserver;
@@ -30,17 +28,18 @@ import tigerui.event.EventSubscriber;
  * an {@link EventStream}.
  * 
  * An Event Dispatcher will always dispatch to regular subscribers first, then
- * to {@link EventBinding}s. During event dispatch all properties are paused. So
- * each event dispatch sequence follows these steps:
+ * to {@link EventBinding}s. During event dispatch all properties that are
+ * updated are paused. So each event dispatch sequence follows these steps:
  * <ol>
- * <li>All properties are paused via
- * {@link Dispatchers#pausePropertyDispatchers()}. This allows the property
- * value to be updated but stops the update propagation
+ * <li>Property pausing is enabled via
+ * {@link Dispatchers#pausePropertyDispatchers()}. Any property updated from
+ * this point on will have it's value updated, but the update propagation will
+ * be stopped.
  * <li>All subscribers to this event dispatcher are notified starting with
  * regular subscribers and ending with all bindings.
- * <li>All properties are resumed. At this point all properties that would be
- * affected by the event to be dispatched have been updated so glitches should
- * be prevented.
+ * <li>All properties that were paused are resumed. At this point all
+ * properties that would be affected by the event to be dispatched have been
+ * updated so glitches should be prevented.
  * </ol>
  * <p>
  * 
@@ -49,16 +48,14 @@ import tigerui.event.EventSubscriber;
  */
 public class EventDispatcher<V> extends AbstractDispatcher<V, EventSubscriber<V>, EventObserver<V>> {
 
-    private final List<EventSubscriber<V>> subscribers;
     private static final Comparator<? super EventSubscriber<?>> SUBSCRIBER_COMPARATOR = createComparator();
 
-    private EventDispatcher(List<EventSubscriber<V>> subscribers) {
-        super(subscribers, subscriber -> subscriber::onEvent, subscriber -> subscriber::onCompleted, EVENT);
-        this.subscribers = requireNonNull(subscribers);
+    private EventDispatcher() {
+        super(SUBSCRIBER_COMPARATOR, EVENT);
     }
     
     static <E> EventDispatcher<E> create() {
-        return new EventDispatcher<>(new ArrayList<>());
+        return new EventDispatcher<>();
     }
 
     @Override
@@ -74,33 +71,46 @@ public class EventDispatcher<V> extends AbstractDispatcher<V, EventSubscriber<V>
             return subscriber;
         }
         
-        subscriber.doOnDispose(() -> subscribers.remove(subscriber));
-        subscribers.add(subscriber);
-        subscribers.sort(SUBSCRIBER_COMPARATOR);
+        subscriber.doOnDispose(() -> removeSubscriber(subscriber));
+        addSubscriber(subscriber);
         
         return subscriber;
     }
+    
+    @Override
+    protected void dispatchToSubscriber(EventSubscriber<V> subscriber, V event) {
+        subscriber.onEvent(event);
+    }
+    
+    @Override
+    protected void disposeSubscriber(EventSubscriber<V> subscriber) {
+        subscriber.onCompleted();
+    }
 
     private EventObserver<V> wrapObserver(EventObserver<V> observer) {
+        Consumer<V> onEventTarget = createBindingAwareTarget(observer, observer::onEvent);
+        Consumer<V> onCompletedTarget = event -> observer.onCompleted();
+        
         return new EventObserver<V>() {
             @Override
             public void onEvent(V event) {
-                dispatchOrQueue(() -> {
-                    setDispatchingToBinding(observer.isBinding());
-                    observer.onEvent(event);
-                    setDispatchingToBinding(false);
-                });
+                dispatchOrQueue(onEventTarget, event);
             }
 
             @Override
             public void onCompleted() {
-                dispatchOrQueue(observer::onCompleted);
+                dispatchOrQueue(onCompletedTarget, null);
             }
 
             @Override
             public boolean isBinding() {
                 return observer.isBinding();
             }
+
+            @Override
+            public String toString() {
+                return observer.toString();
+            }
         };
     }
     
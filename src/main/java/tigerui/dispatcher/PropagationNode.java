@@ -0,0 +1,123 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.dispatcher;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntSupplier;
+
+/**
+ * A node of a property dependency graph whose value is derived from the values
+ * of other nodes, for example a mapped or combined property stream.
+ * <p>
+ * When the value of an upstream node changes while a property change is being
+ * propagated, the node is not evaluated immediately. Instead it is scheduled
+ * and evaluated once every scheduled node of a lower rank has been evaluated.
+ * Since a node is only ever scheduled once, it is evaluated once per change
+ * even when several of its upstream nodes change, as is the case for a diamond
+ * shaped graph.
+ * <p>
+ * The rank of a node is its depth in the dependency graph, i.e. it must be
+ * greater than the rank of every node it depends on. Computing it walks the
+ * upstream graph, so it is computed once when the node is activated and
+ * cached. Operators that change the upstream graph of their downstream nodes
+ * while subscribed, such as switchMap, must call {@link #invalidateRanks()}.
+ */
+public final class PropagationNode {
+    
+    private final IntSupplier rank;
+    private final Runnable evaluation;
+    private final Dispatchers dispatchers;
+    
+    private boolean isActive = false;
+    private int cachedRank;
+    private int cachedRankEpoch;
+    
+    // maintained by the dispatchers while this node is scheduled
+    boolean isScheduled = false;
+    int scheduledRank;
+    long sequence;
+    
+    /**
+     * @param rank
+     *            supplies the current rank of this node, it is called when
+     *            this node is activated and after the ranks are invalidated
+     * @param evaluation
+     *            evaluates this node and emits its value
+     */
+    public PropagationNode(IntSupplier rank, Runnable evaluation) {
+        this.rank = requireNonNull(rank);
+        this.evaluation = requireNonNull(evaluation);
+        this.dispatchers = Dispatchers.getInstance();
+    }
+    
+    /**
+     * Activates this node, from now on invalidating this node schedules it if
+     * a property change is being propagated. Until then it is evaluated
+     * immediately, which allows the node to emit its initial value while
+     * subscribing to its upstream nodes.
+     */
+    public void activate() {
+        isActive = true;
+        cacheRank(dispatchers.getRankEpoch());
+    }
+    
+    /**
+     * Signals that the upstream graph of some nodes of the current thread has
+     * changed, so that each node recomputes its rank the next time it is
+     * scheduled.
+     */
+    public static void invalidateRanks() {
+        Dispatchers.getInstance().invalidateRanks();
+    }
+    
+    /**
+     * Signals that the value of some upstream node has changed. The node is
+     * either scheduled or, if no property change is being propagated,
+     * evaluated immediately.
+     */
+    public void invalidate() {
+        if (!isActive || !dispatchers.isPropagating()) {
+            evaluation.run();
+            return;
+        }
+        
+        if (!isScheduled)
+            dispatchers.schedule(this);
+    }
+    
+    int getRank(int rankEpoch) {
+        if (cachedRankEpoch != rankEpoch)
+            cacheRank(rankEpoch);
+        
+        return cachedRank;
+    }
+    
+    private void cacheRank(int rankEpoch) {
+        cachedRank = rank.getAsInt();
+        cachedRankEpoch = rankEpoch;
+    }
+    
+    void evaluate() {
+        isScheduled = false;
+        evaluation.run();
+    }
+    
+    static int compare(PropagationNode node1, PropagationNode node2) {
+        if (node1.scheduledRank != node2.scheduledRank)
+            return Integer.compare(node1.scheduledRank, node2.scheduledRank);
+        
+        return Long.compare(node1.sequence, node2.sequence);
+    }
+}
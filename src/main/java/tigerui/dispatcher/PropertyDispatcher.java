@@ -15,9 +15,8 @@ package tigerui.dispatcher;
 
 import static tigerui.dispatcher.Dispatcher.Type.PROPERTY;
 
-import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.List;
+import java.util.function.Consumer;
 
 import tigerui.property.PropertyObserver;
 import tigerui.property.PropertySubscriber;
@@ -29,16 +28,14 @@ import tigerui.property.PropertySubscriber;
  */
 public class PropertyDispatcher<M> extends AbstractDispatcher<M, PropertySubscriber<M>, PropertyObserver<M>> {
 
-    private final List<PropertySubscriber<M>> subscribers;
     private static final Comparator<? super PropertySubscriber<?>> SUBSCRIBER_COMPARATOR = createComparator();
     
-    private PropertyDispatcher(List<PropertySubscriber<M>> subscribers) {
-        super(subscribers, subscriber -> subscriber::onChanged, subscriber -> subscriber::onDisposed, PROPERTY);
-        this.subscribers = subscribers;
+    private PropertyDispatcher() {
+        super(SUBSCRIBER_COMPARATOR, PROPERTY);
     }
     
     static <M> PropertyDispatcher<M> create() {
-        return new PropertyDispatcher<>(new ArrayList<>());
+        return new PropertyDispatcher<>();
     }
     
     @Override
@@ -46,33 +43,46 @@ public class PropertyDispatcher<M> extends AbstractDispatcher<M, PropertySubscri
         
         PropertySubscriber<M> subscriber = new PropertySubscriber<>(wrapObserver(observer));
         
-        subscriber.doOnDispose(() -> subscribers.remove(subscriber));
-        subscribers.add(subscriber);
-        subscribers.sort(SUBSCRIBER_COMPARATOR);
+        subscriber.doOnDispose(() -> removeSubscriber(subscriber));
+        addSubscriber(subscriber);
         
         return subscriber;
     }
     
+    @Override
+    protected void dispatchToSubscriber(PropertySubscriber<M> subscriber, M value) {
+        subscriber.onChanged(value);
+    }
+    
+    @Override
+    protected void disposeSubscriber(PropertySubscriber<M> subscriber) {
+        subscriber.onDisposed();
+    }
+    
     private PropertyObserver<M> wrapObserver(PropertyObserver<M> observer) {
+        Consumer<M> onChangedTarget = createBindingAwareTarget(observer, observer::onChanged);
+        Consumer<M> onDisposedTarget = value -> observer.onDisposed();
+        
         return new PropertyObserver<M>() {
             @Override
             public void onChanged(M newValue) {
-                dispatchOrQueue(() -> {
-                    setDispatchingToBinding(observer.isBinding());
-                    observer.onChanged(newValue);
-                    setDispatchingToBinding(false);
-                });
+                dispatchOrQueue(onChangedTarget, newValue);
             }
 
             @Override
             public void onDisposed() {
-                dispatchOrQueue(observer::onDisposed);
+                dispatchOrQueue(onDisposedTarget, null);
             }
 
             @Override
             public boolean isBinding() {
                 return observer.isBinding();
             }
+
+            @Override
+            public String toString() {
+                return observer.toString();
+            }
         };
     }
 
@@ -92,6 +92,11 @@ public interface EventObserver<E> extends Observer<E> {
             public void onCompleted() {
                 onCompleted.run();
             }
+
+            @Override
+            public String toString() {
+                return eventHandler.toString();
+            }
         };
     }
 }
@@ -13,26 +13,65 @@
  */
 package tigerui.event;
 
-import java.util.HashMap;
-import java.util.Map;
+import static tigerui.Preconditions.checkArgument;
+
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import tigerui.annotations.VisibleForTesting;
 
 /**
  * A Generator that can be used to generate globally consistent event sequence
  * numbers. The sequence numbers can be used to order events from different
  * sources into a canonical ordering.
+ * <p>
+ * The time at which each sequence number was generated is retained for the
+ * most recent sequence numbers only, in a ring buffer of primitive longs, so
+ * the memory used by the generator remains constant. The number of sequence
+ * numbers retained defaults to {@value #DEFAULT_CAPACITY} and can be configured
+ * with the system property {@value #CAPACITY_PROPERTY}. The capacity is rounded
+ * up to the next power of two.
  * 
  * <p>
  * TODO: Consider adding a TimeProvider interface or something to abstract the
  * way the current time is acquired.
  */
 public final class EventSequenceGenerator {
-    private static final EventSequenceGenerator instance = new EventSequenceGenerator();
+    
+    /**
+     * The system property used to configure the number of sequence numbers for
+     * which the time is retained.
+     */
+    public static final String CAPACITY_PROPERTY = "tigerui.eventSequenceCapacity";
+    
+    /**
+     * The default number of sequence numbers for which the time is retained.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+    
+    private static final long NO_SEQUENCE = -1;
+    
+    private static final EventSequenceGenerator instance = 
+            new EventSequenceGenerator(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
 
-    private long lastSequenceNumber = 0;
-    private final Map<Long, Long> sequenceMap = new HashMap<>();
+    private final AtomicLong lastSequenceNumber = new AtomicLong();
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray times;
+    private final int mask;
     
-    private EventSequenceGenerator() {}
+    @VisibleForTesting
+    EventSequenceGenerator(int capacity) {
+        checkArgument(capacity > 0 && capacity <= 1 << 30, "Invalid capacity [" + capacity + "]");
+        
+        int size = Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        
+        this.sequences = new AtomicLongArray(size);
+        this.times = new AtomicLongArray(size);
+        this.mask = size - 1;
+        
+        clearSequences();
+    }
     
     public static EventSequenceGenerator getInstance() {
         return instance;
@@ -44,8 +83,14 @@ public final class EventSequenceGenerator {
      * @return a sequence number that is guaranteed not to be unique.
      */
     public final long nextSequenceNumber() {
-        long nextSequence = lastSequenceNumber++;
-        sequenceMap.put(nextSequence, System.currentTimeMillis());
+        long nextSequence = lastSequenceNumber.getAndIncrement();
+        int index = index(nextSequence);
+        
+        // invalidate the slot while the time is updated, see getTimeForSequence
+        sequences.set(index, NO_SEQUENCE);
+        times.set(index, System.currentTimeMillis());
+        sequences.set(index, nextSequence);
+        
         return nextSequence;
     }
     
@@ -54,8 +99,8 @@ public final class EventSequenceGenerator {
      *             created. Should only be used by tests
      */
     public final void reset() {
-        lastSequenceNumber = 0;
-        sequenceMap.clear();
+        lastSequenceNumber.set(0);
+        clearSequences();
     }
     
     /**
@@ -65,9 +110,39 @@ public final class EventSequenceGenerator {
      *            some sequence number to get the actual time for
      * @return an {@link Optional} of the actual time retrieved for the provided
      *         sequence number. This will be empty if a time for the sequence
-     *         number does not exist.
+     *         number does not exist, or is no longer retained.
      */
     public final Optional<Long> getTimeForSequence(long sequenceNumber) {
-        return Optional.ofNullable(sequenceMap.get(sequenceNumber));
+        if (sequenceNumber < 0)
+            return Optional.empty();
+        
+        int index = index(sequenceNumber);
+        
+        if (sequences.get(index) != sequenceNumber)
+            return Optional.empty();
+        
+        long time = times.get(index);
+        
+        // the slot may have been reused while reading the time
+        if (sequences.get(index) != sequenceNumber)
+            return Optional.empty();
+        
+        return Optional.of(time);
+    }
+    
+    /**
+     * @return the number of sequence numbers for which the time is retained.
+     */
+    public final int getCapacity() {
+        return mask + 1;
+    }
+    
+    private int index(long sequenceNumber) {
+        return (int) (sequenceNumber & mask);
+    }
+    
+    private void clearSequences() {
+        for (int i = 0; i < sequences.length(); i++)
+            sequences.set(i, NO_SEQUENCE);
     }
-}
\ No newline at end of file
+}
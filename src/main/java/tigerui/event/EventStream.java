@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -34,20 +35,26 @@ import rx.Subscriber;
 import rx.subscriptions.Subscriptions;
 import tigerui.EventLoop;
 import tigerui.event.operator.Operator;
+import tigerui.event.operator.OperatorBuffer;
 import tigerui.event.operator.OperatorChanges;
 import tigerui.event.operator.OperatorDebounce;
 import tigerui.event.operator.OperatorFilter;
 import tigerui.event.operator.OperatorMap;
+import tigerui.event.operator.OperatorSample;
 import tigerui.event.operator.OperatorScan;
 import tigerui.event.operator.OperatorScanOptional;
 import tigerui.event.operator.OperatorSwitchMap;
 import tigerui.event.operator.OperatorTake;
+import tigerui.event.operator.OperatorThrottleFirst;
 import tigerui.event.publisher.EventPublisher;
 import tigerui.event.publisher.FlattenPublisher;
 import tigerui.event.publisher.LiftEventPublisher;
 import tigerui.event.publisher.MergeEventPublisher;
+import tigerui.event.publisher.SharedEventPublisher;
+import tigerui.metrics.StallDetector;
 import tigerui.property.Property;
 import tigerui.property.PropertyStream;
+import tigerui.subscription.OwnerReference;
 import tigerui.subscription.RollingSubscription;
 import tigerui.subscription.Subscription;
 
@@ -139,11 +146,14 @@ public class EventStream<E> {
 	 *             stream was created on.
 	 */
     public final Subscription observe(Consumer<E> eventHandler, Runnable onCompleteAction) {
-        return eventPublisher.subscribe(EventObserver.create(eventHandler, onCompleteAction));
+        return observe(EventObserver.create(eventHandler, onCompleteAction));
     }
     
     /**
      * Subscribes to onEvents and onCompleted events, via the provided observer.
+     * While a {@link StallDetector} is running, the place the observer is
+     * added from is recorded, so that stalls it causes can be traced back to
+     * it.
      * 
      * @param observer
      *            some {@link EventObserver} to observe this stream.
@@ -155,8 +165,44 @@ public class EventStream<E> {
      */
     public final Subscription observe(EventObserver<E> observer) {
         eventLoop.checkInEventLoop();
+        
+        if (StallDetector.isEnabled())
+            observer = new TracedEventObserver<>(observer, StallDetector.captureCreationSite(EventStream.class));
+        
         return eventPublisher.subscribe(observer);
     }
+
+    /**
+     * Subscribes to new events emitted by this stream, for as long as the
+     * provided owner is reachable. The owner, for instance a view, is only
+     * referenced weakly, so a view that is abandoned without disposing this
+     * subscription can still be garbage collected. The subscription is
+     * disposed once the owner has been collected.
+     * 
+     * NOTE: The event handler is passed the owner, it must not capture the
+     * owner itself, otherwise the owner will never be collected.
+     * 
+     * @param owner
+     *            the owner of the subscription
+     * @param eventHandler
+     *            some event handler to call with the owner and each new event
+     * @return a {@link Subscription} that can be used to stop the eventHandler
+     *         from consuming events from this stream.
+     * @throws IllegalStateException
+     *             if called from a thread other than the thread that this event
+     *             stream was created on.
+     * @param <O>
+     *            the type of the owner
+     */
+    public final <O> Subscription observeWeakly(O owner, BiConsumer<? super O, ? super E> eventHandler) {
+        eventLoop.checkInEventLoop();
+        
+        OwnerReference<O> ownerReference = OwnerReference.create(owner);
+        Subscription subscription = observe(new WeakEventObserver<>(ownerReference, eventHandler));
+        ownerReference.setSubscription(subscription);
+        
+        return subscription;
+    }
     
 	/**
 	 * Transforms this stream by the provided operator, creating a new stream.
@@ -215,6 +261,64 @@ public class EventStream<E> {
         return lift(new OperatorDebounce<>(eventLoop, timeout, timeUnit));
     }
     
+    /**
+     * Throttles emissions from this event stream, such that the first event is
+     * emitted immediately and the events that follow it during the provided
+     * time window are dropped.
+     * 
+     * @param window
+     *            amount of time during which events are dropped after an
+     *            event is emitted
+     * @param timeUnit
+     *            time unit for the provided window.
+     * @return an {@link EventStream} that emits at most one event per time
+     *         window.
+     * @throws IllegalArgumentException
+     *             if the window is not positive
+     */
+    public final EventStream<E> throttleFirst(long window, TimeUnit timeUnit) {
+        return lift(new OperatorThrottleFirst<>(eventLoop, window, timeUnit));
+    }
+    
+    /**
+     * Samples this event stream, such that the latest event is emitted at most
+     * once per period. This is useful to update a view at a fixed rate from a
+     * high rate source.
+     * 
+     * @param period
+     *            the minimum amount of time between two emitted events
+     * @param timeUnit
+     *            time unit for the provided period.
+     * @return an {@link EventStream} that emits the latest event of this
+     *         stream at most once per period.
+     * @throws IllegalArgumentException
+     *             if the period is not positive
+     */
+    public final EventStream<E> sample(long period, TimeUnit timeUnit) {
+        return lift(new OperatorSample<>(eventLoop, period, timeUnit));
+    }
+    
+    /**
+     * Collects the events of this event stream into lists, such that a high
+     * rate source can be handled in chunks. A list is emitted once the time
+     * span has elapsed since its first event, or as soon as it holds the
+     * maximum number of events.
+     * 
+     * @param timespan
+     *            the maximum amount of time to collect events for
+     * @param timeUnit
+     *            time unit for the provided time span.
+     * @param maxCount
+     *            the maximum number of events per list
+     * @return an {@link EventStream} that emits lists of the events of this
+     *         stream.
+     * @throws IllegalArgumentException
+     *             if the time span or the max count is not positive
+     */
+    public final EventStream<List<E>> buffer(long timespan, TimeUnit timeUnit, int maxCount) {
+        return lift(new OperatorBuffer<>(eventLoop, timespan, timeUnit, maxCount));
+    }
+    
     /**
      * Scans this stream by combining the previously computed value of R with
      * every event that is emitted generating a new R.
@@ -315,6 +419,23 @@ public class EventStream<E> {
     	return lift(new OperatorTake<>(numberToTake));
     }
     
+    /**
+     * Creates a new {@link EventStream} that shares a single subscription to
+     * this event stream between all of its observers. The operators applied to
+     * create this event stream are therefore applied once per event, rather than
+     * once per observer.<br>
+     * <br>
+     * NOTE: This event stream is subscribed to when the shared stream is first
+     * observed, and unsubscribed from once the shared stream is no longer
+     * observed.
+     * 
+     * @return a new {@link EventStream} that emits the events of this stream
+     *         to all its observers through a single subscription.
+     */
+    public final EventStream<E> share() {
+        return new EventStream<>(new SharedEventPublisher<>(eventPublisher), eventLoop);
+    }
+    
     /**
      * Merges the provided streams with this streams.
      * 
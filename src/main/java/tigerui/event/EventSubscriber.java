@@ -16,6 +16,8 @@ package tigerui.event;
 import static java.util.Objects.requireNonNull;
 import static tigerui.Callbacks.runSafeCallback;
 
+import java.util.function.Consumer;
+
 import tigerui.Subscriber;
 import tigerui.subscription.Subscription;
 
@@ -37,13 +39,16 @@ import tigerui.subscription.Subscription;
 public class EventSubscriber<E> extends Subscriber implements EventObserver<E>, Subscription {
     
     private final EventObserver<E> observer;
+    private final Consumer<E> onEvent;
     
     public EventSubscriber(EventObserver<E> observer) {
         this.observer = requireNonNull(observer);
+        this.onEvent = observer::onEvent;
     }
     
     public EventSubscriber(EventSubscriber<E> subscriber) {
         this.observer = subscriber;
+        this.onEvent = subscriber::onEvent;
         doOnDispose(subscriber::dispose);
     }
     
@@ -52,7 +57,7 @@ public class EventSubscriber<E> extends Subscriber implements EventObserver<E>,
         if(isDisposed())
             return;
         
-        runSafeCallback(() -> observer.onEvent(event));
+        runSafeCallback(onEvent, event);
     }
 
     @Override
@@ -68,4 +73,9 @@ public class EventSubscriber<E> extends Subscriber implements EventObserver<E>,
     public boolean isBinding() {
         return observer.isBinding();
     }
+
+    @Override
+    public String toString() {
+        return "EventSubscriber [observer=" + observer + "]";
+    }
 }
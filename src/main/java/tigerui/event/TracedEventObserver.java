@@ -0,0 +1,67 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event;
+
+import static java.util.Objects.requireNonNull;
+
+import tigerui.disposables.Disposable;
+import tigerui.metrics.StallDetector;
+
+/**
+ * An event observer that remembers where it was created, so that the
+ * running {@link StallDetector} can attribute a stall to it.
+ * 
+ * @param <E>
+ *            the type of the events emitted by the observed stream.
+ */
+final class TracedEventObserver<E> implements EventObserver<E> {
+
+    private final EventObserver<E> observer;
+    private final StackTraceElement[] creationSite;
+
+    TracedEventObserver(EventObserver<E> observer, StackTraceElement[] creationSite) {
+        this.observer = requireNonNull(observer);
+        this.creationSite = requireNonNull(creationSite);
+    }
+
+    @Override
+    public void onEvent(E event) {
+        Disposable callback = StallDetector.enter(observer, creationSite);
+        try {
+            observer.onEvent(event);
+        } finally {
+            callback.dispose();
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        Disposable callback = StallDetector.enter(observer, creationSite);
+        try {
+            observer.onCompleted();
+        } finally {
+            callback.dispose();
+        }
+    }
+
+    @Override
+    public boolean isBinding() {
+        return observer.isBinding();
+    }
+
+    @Override
+    public String toString() {
+        return observer.toString();
+    }
+}
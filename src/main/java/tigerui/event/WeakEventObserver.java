@@ -0,0 +1,62 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.BiConsumer;
+
+import tigerui.subscription.OwnerReference;
+
+/**
+ * An event observer that references its owner weakly, see
+ * {@link EventStream#observeWeakly(Object, BiConsumer)}.
+ * 
+ * @param <O>
+ *            the type of the owner
+ * @param <E>
+ *            the type of the events emitted by the observed stream.
+ */
+final class WeakEventObserver<O, E> implements EventObserver<E> {
+
+    private final OwnerReference<O> ownerReference;
+    private final BiConsumer<? super O, ? super E> onEvent;
+
+    WeakEventObserver(OwnerReference<O> ownerReference, BiConsumer<? super O, ? super E> onEvent) {
+        this.ownerReference = requireNonNull(ownerReference);
+        this.onEvent = requireNonNull(onEvent);
+    }
+
+    @Override
+    public void onEvent(E event) {
+        O owner = ownerReference.get();
+        
+        if (owner == null) {
+            ownerReference.disposeIfCleared();
+            return;
+        }
+        
+        onEvent.accept(owner, event);
+    }
+
+    @Override
+    public void onCompleted() {
+        ownerReference.clear();
+    }
+
+    @Override
+    public String toString() {
+        return onEvent.toString();
+    }
+}
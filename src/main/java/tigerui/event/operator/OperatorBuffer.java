@@ -0,0 +1,111 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import tigerui.EventLoop;
+import tigerui.disposables.Disposable;
+import tigerui.event.EventObserver;
+import tigerui.event.EventSubscriber;
+
+/**
+ * An Operator that collects the events of the lifted event stream into lists.
+ * A list is emitted either once the time span has elapsed since its first
+ * event, or as soon as it holds the maximum number of events, whichever comes
+ * first. Any events collected when the lifted stream completes are emitted
+ * before completing.
+ * 
+ * @param <M>
+ *            type of events this operator buffers.
+ */
+public class OperatorBuffer<M> implements Operator<M, List<M>> {
+    
+    private final EventLoop eventLoop;
+    private final long timespan;
+    private final TimeUnit timeUnit;
+    private final int maxCount;
+
+    public OperatorBuffer(EventLoop eventLoop, long timespan, TimeUnit timeUnit, int maxCount) {
+        checkArgument(timespan > 0, "The buffer time span must be positive");
+        checkArgument(maxCount > 0, "The buffer must hold at least one event");
+        this.eventLoop = requireNonNull(eventLoop);
+        this.timespan = timespan;
+        this.timeUnit = requireNonNull(timeUnit);
+        this.maxCount = maxCount;
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<List<M>> childSubscriber) {
+        BufferObserver bufferObserver = new BufferObserver(childSubscriber);
+        childSubscriber.doOnDispose(bufferObserver::cancelFlush);
+        
+        return new EventSubscriber<>(bufferObserver);
+    }
+    
+    private class BufferObserver implements EventObserver<M> {
+        private final EventSubscriber<List<M>> childSubscriber;
+        private final Runnable flush = this::flush;
+        private Disposable scheduledFlush;
+        private List<M> buffer = new ArrayList<>();
+        
+        BufferObserver(EventSubscriber<List<M>> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+
+        @Override
+        public void onEvent(M event) {
+            buffer.add(event);
+            
+            if (buffer.size() >= maxCount) {
+                cancelFlush();
+                flush();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = eventLoop.schedule(flush, timespan, timeUnit);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            cancelFlush();
+            
+            if (!buffer.isEmpty())
+                flush();
+            
+            childSubscriber.onCompleted();
+        }
+        
+        void cancelFlush() {
+            if (scheduledFlush == null)
+                return;
+            
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        
+        private void flush() {
+            // the emitted list is handed over to the child, so start a new one
+            List<M> events = buffer;
+            buffer = new ArrayList<>(Math.min(maxCount, events.size()));
+            scheduledFlush = null;
+            
+            childSubscriber.onEvent(events);
+        }
+    }
+}
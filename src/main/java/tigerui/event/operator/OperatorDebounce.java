@@ -13,11 +13,11 @@
  */
 package tigerui.event.operator;
 
-import java.util.Optional;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 import java.util.concurrent.TimeUnit;
 
 import tigerui.EventLoop;
-import tigerui.annotations.RequiresTest;
 import tigerui.disposables.Disposable;
 import tigerui.event.EventObserver;
 import tigerui.event.EventSubscriber;
@@ -25,36 +25,82 @@ import tigerui.event.EventSubscriber;
 /**
  * An Operator that will throttles emissions from the lifted event stream, such
  * that an event will only be emitted after an amount of event silence.
+ * <p>
+ * Each subscription keeps the deadline at which the latest event is due, and
+ * an event only moves the deadline. A single runnable is scheduled at a time,
+ * which emits the latest event if the deadline has passed when it runs or is
+ * rescheduled for the deadline otherwise. So a burst of events schedules one
+ * runnable per delay, rather than one per event.
  * 
  * @param <M>
  *            type of events this operator debounces.
  */
-@RequiresTest
 public class OperatorDebounce<M> implements Operator<M, M> {
     
     private final EventLoop eventLoop;
-    private final long delay;
-    private final TimeUnit timeUnit;
-    
-    private Optional<Disposable> currentDisposable = Optional.empty();
+    private final long delayNanos;
 
     public OperatorDebounce(EventLoop eventLoop, long delay, TimeUnit timeUnit) {
         this.eventLoop = eventLoop;
-        this.delay = delay;
-        this.timeUnit = timeUnit;
+        this.delayNanos = timeUnit.toNanos(delay);
     }
 
     @Override
     public EventSubscriber<M> apply(EventSubscriber<M> childSubscriber) {
+        DebounceObserver debounceObserver = new DebounceObserver(childSubscriber);
+        childSubscriber.doOnDispose(debounceObserver::cancel);
+        
+        return new EventSubscriber<>(debounceObserver);
+    }
+    
+    private class DebounceObserver implements EventObserver<M> {
+        private final EventSubscriber<M> childSubscriber;
+        private final Runnable onDeadline = this::onDeadline;
+        private Disposable scheduledDeadline;
+        private long deadline;
+        private M latestEvent;
         
-        EventObserver<M> sourceObserver = EventObserver.create(value -> {
-            currentDisposable.ifPresent(Disposable::dispose);
-            currentDisposable = Optional.of(eventLoop.schedule(() -> childSubscriber.onEvent(value), delay, timeUnit));
-        } , () -> {
-            currentDisposable.ifPresent(Disposable::dispose);
+        DebounceObserver(EventSubscriber<M> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+
+        @Override
+        public void onEvent(M event) {
+            latestEvent = event;
+            deadline = eventLoop.now(NANOSECONDS) + delayNanos;
+            
+            if (scheduledDeadline == null)
+                scheduledDeadline = eventLoop.schedule(onDeadline, delayNanos, NANOSECONDS);
+        }
+
+        @Override
+        public void onCompleted() {
+            cancel();
             childSubscriber.onCompleted();
-        });
+        }
+        
+        void cancel() {
+            if (scheduledDeadline == null)
+                return;
+            
+            scheduledDeadline.dispose();
+            scheduledDeadline = null;
+            latestEvent = null;
+        }
         
-        return new EventSubscriber<>(sourceObserver);
+        private void onDeadline() {
+            long remaining = deadline - eventLoop.now(NANOSECONDS);
+            
+            if (remaining > 0) {
+                scheduledDeadline = eventLoop.schedule(onDeadline, remaining, NANOSECONDS);
+                return;
+            }
+            
+            M event = latestEvent;
+            scheduledDeadline = null;
+            latestEvent = null;
+            
+            childSubscriber.onEvent(event);
+        }
     }
 }
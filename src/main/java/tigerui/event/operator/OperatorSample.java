@@ -0,0 +1,98 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import tigerui.EventLoop;
+import tigerui.disposables.Disposable;
+import tigerui.event.EventObserver;
+import tigerui.event.EventSubscriber;
+
+/**
+ * An Operator that samples the lifted event stream, emitting the latest event
+ * at most once per period. The period starts with the first event emitted
+ * after the previous sample, so no timer is scheduled while the lifted event
+ * stream is silent. An event that has not been sampled when the lifted stream
+ * completes is dropped.
+ * 
+ * @param <M>
+ *            type of events this operator samples.
+ */
+public class OperatorSample<M> implements Operator<M, M> {
+    
+    private final EventLoop eventLoop;
+    private final long period;
+    private final TimeUnit timeUnit;
+
+    public OperatorSample(EventLoop eventLoop, long period, TimeUnit timeUnit) {
+        checkArgument(period > 0, "The sample period must be positive");
+        this.eventLoop = requireNonNull(eventLoop);
+        this.period = period;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<M> childSubscriber) {
+        SampleObserver sampleObserver = new SampleObserver(childSubscriber);
+        childSubscriber.doOnDispose(sampleObserver::cancelSample);
+        
+        return new EventSubscriber<>(sampleObserver);
+    }
+    
+    private class SampleObserver implements EventObserver<M> {
+        private final EventSubscriber<M> childSubscriber;
+        private final Runnable sample = this::sample;
+        private Disposable scheduledSample;
+        private M latestEvent;
+        
+        SampleObserver(EventSubscriber<M> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+
+        @Override
+        public void onEvent(M event) {
+            latestEvent = event;
+            
+            if (scheduledSample == null)
+                scheduledSample = eventLoop.schedule(sample, period, timeUnit);
+        }
+
+        @Override
+        public void onCompleted() {
+            cancelSample();
+            childSubscriber.onCompleted();
+        }
+        
+        void cancelSample() {
+            if (scheduledSample == null)
+                return;
+            
+            scheduledSample.dispose();
+            scheduledSample = null;
+            latestEvent = null;
+        }
+        
+        private void sample() {
+            M event = latestEvent;
+            scheduledSample = null;
+            latestEvent = null;
+            
+            childSubscriber.onEvent(event);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.operator;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.concurrent.TimeUnit;
+
+import tigerui.EventLoop;
+import tigerui.disposables.Disposable;
+import tigerui.event.EventObserver;
+import tigerui.event.EventSubscriber;
+
+/**
+ * An Operator that emits the first event of the lifted event stream and then
+ * drops all the events emitted during the following time window. The next
+ * event emitted after the window has elapsed is emitted and opens a new
+ * window.
+ * 
+ * @param <M>
+ *            type of events this operator throttles.
+ */
+public class OperatorThrottleFirst<M> implements Operator<M, M> {
+    
+    private final EventLoop eventLoop;
+    private final long window;
+    private final TimeUnit timeUnit;
+
+    public OperatorThrottleFirst(EventLoop eventLoop, long window, TimeUnit timeUnit) {
+        checkArgument(window > 0, "The throttle window must be positive");
+        this.eventLoop = requireNonNull(eventLoop);
+        this.window = window;
+        this.timeUnit = requireNonNull(timeUnit);
+    }
+
+    @Override
+    public EventSubscriber<M> apply(EventSubscriber<M> childSubscriber) {
+        ThrottleObserver throttleObserver = new ThrottleObserver(childSubscriber);
+        childSubscriber.doOnDispose(throttleObserver::closeWindow);
+        
+        return new EventSubscriber<>(throttleObserver);
+    }
+    
+    private class ThrottleObserver implements EventObserver<M> {
+        private final EventSubscriber<M> childSubscriber;
+        private final Runnable closeWindow = this::closeWindow;
+        private Disposable openWindow;
+        
+        ThrottleObserver(EventSubscriber<M> childSubscriber) {
+            this.childSubscriber = childSubscriber;
+        }
+
+        @Override
+        public void onEvent(M event) {
+            if (openWindow != null)
+                return;
+            
+            openWindow = eventLoop.schedule(closeWindow, window, timeUnit);
+            childSubscriber.onEvent(event);
+        }
+
+        @Override
+        public void onCompleted() {
+            closeWindow();
+            childSubscriber.onCompleted();
+        }
+        
+        void closeWindow() {
+            if (openWindow == null)
+                return;
+            
+            // disposing has no effect once the window has elapsed
+            openWindow.dispose();
+            openWindow = null;
+        }
+    }
+}
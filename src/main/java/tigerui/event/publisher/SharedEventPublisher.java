@@ -0,0 +1,80 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.publisher;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.dispatcher.Dispatcher.createEventDispatcher;
+
+import tigerui.dispatcher.EventDispatcher;
+import tigerui.event.EventObserver;
+import tigerui.event.EventSubscriber;
+import tigerui.subscription.Subscription;
+
+/**
+ * An {@link EventPublisher} that shares a single subscription to a source
+ * publisher between all of its subscribers.
+ * <p>
+ * The source is subscribed to when the first subscriber subscribes, and the
+ * source subscription is disposed once the last subscriber is disposed. Every
+ * event emitted by the source is dispatched to all the subscribers, so the
+ * operators of the source are applied once per event, regardless of the number
+ * of subscribers. Once the source completes, this publisher completes.
+ * 
+ * @param <E>
+ *            the type of events this publisher emits.
+ */
+public class SharedEventPublisher<E> implements EventPublisher<E> {
+    
+    private final EventPublisher<E> sourcePublisher;
+    private final EventDispatcher<E> dispatcher;
+    
+    private Subscription sourceSubscription;
+    
+    public SharedEventPublisher(EventPublisher<E> sourcePublisher) {
+        this.sourcePublisher = requireNonNull(sourcePublisher);
+        this.dispatcher = createEventDispatcher();
+    }
+
+    @Override
+    public Subscription subscribe(EventObserver<E> observer) {
+        EventSubscriber<E> subscriber = dispatcher.subscribe(observer);
+        
+        if (subscriber.isDisposed())
+            return subscriber;
+        
+        subscriber.doOnDispose(this::disconnectIfUnobserved);
+        
+        if (sourceSubscription == null)
+            connect();
+        
+        return subscriber;
+    }
+    
+    private void connect() {
+        Subscription subscription = 
+                sourcePublisher.subscribe(EventObserver.create(dispatcher::dispatch, dispatcher::dispose));
+        
+        // the source may have completed while subscribing
+        if (!dispatcher.isDisposed())
+            sourceSubscription = subscription;
+    }
+    
+    private void disconnectIfUnobserved() {
+        if (sourceSubscription == null || dispatcher.getSubscriberCount() > 0)
+            return;
+        
+        sourceSubscription.dispose();
+        sourceSubscription = null;
+    }
+}
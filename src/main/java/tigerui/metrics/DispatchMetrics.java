@@ -0,0 +1,195 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import tigerui.EventLoop;
+import tigerui.dispatcher.Dispatcher;
+
+/**
+ * An SPI that receives measurements from the dispatch pipeline: the
+ * dispatchers, the event loops and the safe callbacks. Every method has an
+ * empty default, so an implementation only overrides what it is interested in.
+ * <p>
+ * Only one implementation is installed at a time, see
+ * {@link #install(DispatchMetrics)}. By default the {@link #NO_OP}
+ * implementation is installed, in which case nothing is measured and the
+ * dispatch pipeline only pays for checking {@link #isEnabled()}.
+ * <p>
+ * NOTE: an implementation may be called from the threads of several event
+ * loops at the same time, so it must be thread safe. It should also be cheap,
+ * since it is called on the hot path of every dispatch.
+ * 
+ * @see InMemoryDispatchMetrics
+ */
+public interface DispatchMetrics {
+
+    /**
+     * Metrics that are not enabled, which is the default.
+     */
+    DispatchMetrics NO_OP = new DispatchMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * @return true if measurements should be reported to these metrics,
+     *         false otherwise. When false, the dispatch pipeline skips reading
+     *         the clock.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called when a dispatcher dispatches a value to all its subscribers.
+     * 
+     * @param dispatcher
+     *            the dispatcher
+     * @param fanOut
+     *            the number of subscribers the value is dispatched to
+     */
+    default void onDispatch(Dispatcher<?, ?, ?> dispatcher, int fanOut) {}
+
+    /**
+     * Called once a dispatcher has dispatched a value to one of its
+     * subscribers. The duration includes any dispatch caused by the
+     * subscriber, for instance the dispatches of the properties it binds to.
+     * 
+     * @param dispatcher
+     *            the dispatcher
+     * @param subscriber
+     *            the subscriber that was dispatched to, whose string
+     *            representation describes its observer. It should not be
+     *            retained, to avoid leaking the observer.
+     * @param durationNanos
+     *            how long the subscriber took to handle the value
+     */
+    default void onObserverDispatched(Dispatcher<?, ?, ?> dispatcher, Object subscriber, long durationNanos) {}
+
+    /**
+     * Called when a dispatch is queued, because the dispatcher is paused.
+     * 
+     * @param dispatcher
+     *            the dispatcher
+     * @param queueDepth
+     *            the number of dispatches queued by the dispatcher, including
+     *            this one
+     */
+    default void onDispatchQueued(Dispatcher<?, ?, ?> dispatcher, int queueDepth) {}
+
+    /**
+     * Called once a callback has run, see {@link tigerui.Callbacks} and
+     * {@link EventLoop#invokeNow(Runnable)}.
+     * 
+     * @param callback
+     *            the callback that ran
+     * @param durationNanos
+     *            how long the callback took to run
+     */
+    default void onCallback(Object callback, long durationNanos) {}
+
+    /**
+     * Called when a runnable is queued using
+     * {@link EventLoop#invokeLater(Runnable)}.
+     * 
+     * @param eventLoop
+     *            the event loop the runnable is queued on
+     */
+    default void onInvokeLater(EventLoop eventLoop) {}
+
+    /**
+     * Called when a runnable is scheduled using
+     * {@link EventLoop#schedule(Runnable, long, java.util.concurrent.TimeUnit)}.
+     * 
+     * @param eventLoop
+     *            the event loop the runnable is scheduled on
+     * @param delayNanos
+     *            the delay the runnable is scheduled with
+     */
+    default void onSchedule(EventLoop eventLoop, long delayNanos) {}
+
+    /**
+     * @return the metrics that are currently installed.
+     */
+    static DispatchMetrics current() {
+        return DispatchMetricsHolder.metrics;
+    }
+
+    /**
+     * Installs the provided metrics, replacing the ones that are currently
+     * installed, on all threads.
+     * 
+     * @param metrics
+     *            the metrics to install, {@link #NO_OP} to stop measuring.
+     */
+    static void install(DispatchMetrics metrics) {
+        DispatchMetricsHolder.metrics = requireNonNull(metrics);
+    }
+
+    /**
+     * Marks the start of a callback on the current thread. Only the outermost
+     * callback on each thread is measured, since its duration already includes
+     * the callbacks nested in it. Each call must be followed by a call to
+     * {@link #endCallback(Object, long)}, even if the callback throws.
+     * 
+     * @return the value to pass to {@link #endCallback(Object, long)}.
+     */
+    static long startCallback() {
+        return DispatchMetricsHolder.startCallback();
+    }
+
+    /**
+     * Marks the end of a callback on the current thread, reporting how long it
+     * took to run to the current metrics if it is the outermost callback, see
+     * {@link #onCallback(Object, long)}.
+     * 
+     * @param callback
+     *            the callback that ran
+     * @param start
+     *            the value returned by {@link #startCallback()} before the
+     *            callback ran
+     */
+    static void endCallback(Object callback, long start) {
+        DispatchMetricsHolder.endCallback(callback, start);
+    }
+
+    /**
+     * Wraps the provided runnable, so that it reports how long it took to run
+     * to the current metrics, see {@link #startCallback()}. This is used for
+     * runnables that are run by a UI toolkit rather than through
+     * {@link tigerui.Callbacks}.
+     * 
+     * @param runnable
+     *            some runnable
+     * @return the provided runnable if the current metrics are not enabled,
+     *         otherwise a runnable that measures it.
+     */
+    static Runnable measure(Runnable runnable) {
+        if (!current().isEnabled())
+            return runnable;
+        
+        return () -> {
+            long start = startCallback();
+            try {
+                runnable.run();
+            } finally {
+                endCallback(runnable, start);
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+/**
+ * Holds the installed {@link DispatchMetrics}, and the depth of the callbacks
+ * running on each thread, since an interface cannot declare a mutable or
+ * private field.
+ */
+final class DispatchMetricsHolder {
+    
+    static volatile DispatchMetrics metrics = DispatchMetrics.NO_OP;
+    
+    // returned by startCallback when the callback is not measured
+    static final long NOT_MEASURED = Long.MIN_VALUE;
+    static final long NESTED = Long.MIN_VALUE + 1;
+    
+    // the number of measured callbacks running on each thread
+    private static final ThreadLocal<int[]> callbackDepth = ThreadLocal.withInitial(() -> new int[1]);
+    
+    static long startCallback() {
+        if (!metrics.isEnabled())
+            return NOT_MEASURED;
+        
+        int[] depth = callbackDepth.get();
+        return depth[0]++ == 0 ? System.nanoTime() : NESTED;
+    }
+    
+    static void endCallback(Object callback, long start) {
+        if (start == NOT_MEASURED)
+            return;
+        
+        callbackDepth.get()[0]--;
+        
+        if (start != NESTED)
+            metrics.onCallback(callback, System.nanoTime() - start);
+    }
+    
+    private DispatchMetricsHolder() {}
+}
@@ -0,0 +1,294 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static tigerui.Preconditions.checkArgument;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import tigerui.EventLoop;
+import tigerui.dispatcher.Dispatcher;
+import tigerui.dispatcher.Dispatcher.Type;
+
+/**
+ * {@link DispatchMetrics} that are recorded in memory, using
+ * {@link LatencyHistogram}s and counters that can be read at any time from any
+ * thread. In addition the slowest observers are kept, so that the observer
+ * that stalls an event loop can be found:
+ * 
+ * <pre>
+ * InMemoryDispatchMetrics metrics = new InMemoryDispatchMetrics(10);
+ * DispatchMetrics.install(metrics);
+ * ...
+ * metrics.getSlowestObservers().forEach(System.out::println);
+ * </pre>
+ */
+public final class InMemoryDispatchMetrics implements DispatchMetrics {
+
+    private static final Comparator<SlowObserver> SLOWEST_FIRST = 
+            Comparator.comparingLong(SlowObserver::getDurationNanos).reversed();
+
+    private final LongAdder propertyDispatchCount = new LongAdder();
+    private final LongAdder eventDispatchCount = new LongAdder();
+    private final LongAdder invokeLaterCount = new LongAdder();
+    private final LongAdder scheduleCount = new LongAdder();
+    private final LatencyHistogram fanOut = new LatencyHistogram();
+    private final LatencyHistogram observerLatency = new LatencyHistogram();
+    private final LatencyHistogram callbackLatency = new LatencyHistogram();
+    private final LatencyHistogram queueDepth = new LatencyHistogram();
+
+    private final int slowestObserverCount;
+    private final SlowObserver[] slowestObservers;
+    private int slowObserverCount = 0;
+    
+    // the duration an observer must exceed to be one of the slowest, read without locking
+    private volatile long slowObserverThreshold = 0;
+
+    /**
+     * @param slowestObserverCount
+     *            the number of slowest observers to keep
+     * @throws IllegalArgumentException
+     *             if the count is not positive
+     */
+    public InMemoryDispatchMetrics(int slowestObserverCount) {
+        checkArgument(slowestObserverCount > 0, "The number of slowest observers to keep must be positive [" + slowestObserverCount + "]");
+        
+        this.slowestObserverCount = slowestObserverCount;
+        this.slowestObservers = new SlowObserver[slowestObserverCount];
+    }
+
+    @Override
+    public void onDispatch(Dispatcher<?, ?, ?> dispatcher, int fanOut) {
+        if (dispatcher.getType() == Type.PROPERTY) {
+            propertyDispatchCount.increment();
+        } else {
+            eventDispatchCount.increment();
+        }
+        
+        this.fanOut.record(fanOut);
+    }
+
+    @Override
+    public void onObserverDispatched(Dispatcher<?, ?, ?> dispatcher, Object subscriber, long durationNanos) {
+        observerLatency.record(durationNanos);
+        
+        if (durationNanos > slowObserverThreshold)
+            recordSlowObserver(dispatcher.getType(), subscriber, durationNanos);
+    }
+
+    @Override
+    public void onDispatchQueued(Dispatcher<?, ?, ?> dispatcher, int queueDepth) {
+        this.queueDepth.record(queueDepth);
+    }
+
+    @Override
+    public void onCallback(Object callback, long durationNanos) {
+        callbackLatency.record(durationNanos);
+    }
+
+    @Override
+    public void onInvokeLater(EventLoop eventLoop) {
+        invokeLaterCount.increment();
+    }
+
+    @Override
+    public void onSchedule(EventLoop eventLoop, long delayNanos) {
+        scheduleCount.increment();
+    }
+
+    /**
+     * @return the number of property dispatches to all subscribers.
+     */
+    public long getPropertyDispatchCount() {
+        return propertyDispatchCount.sum();
+    }
+
+    /**
+     * @return the number of event dispatches to all subscribers.
+     */
+    public long getEventDispatchCount() {
+        return eventDispatchCount.sum();
+    }
+
+    /**
+     * @return the number of runnables queued using
+     *         {@link EventLoop#invokeLater(Runnable)}.
+     */
+    public long getInvokeLaterCount() {
+        return invokeLaterCount.sum();
+    }
+
+    /**
+     * @return the number of runnables scheduled using
+     *         {@link EventLoop#schedule(Runnable, long, java.util.concurrent.TimeUnit)}.
+     */
+    public long getScheduleCount() {
+        return scheduleCount.sum();
+    }
+
+    /**
+     * @return the histogram of the number of subscribers each dispatch was
+     *         dispatched to.
+     */
+    public LatencyHistogram getFanOut() {
+        return fanOut;
+    }
+
+    /**
+     * @return the histogram of the time, in nanoseconds, subscribers took to
+     *         handle a dispatch.
+     */
+    public LatencyHistogram getObserverLatency() {
+        return observerLatency;
+    }
+
+    /**
+     * @return the histogram of the time, in nanoseconds, callbacks took to
+     *         run.
+     */
+    public LatencyHistogram getCallbackLatency() {
+        return callbackLatency;
+    }
+
+    /**
+     * @return the histogram of the depth of the queues of paused
+     *         dispatchers, each time a dispatch was queued.
+     */
+    public LatencyHistogram getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return the slowest observers, slowest first. Each observer is listed
+     *         once, with the longest time it took to handle a dispatch.
+     */
+    public synchronized List<SlowObserver> getSlowestObservers() {
+        List<SlowObserver> observers = new ArrayList<>(Arrays.asList(slowestObservers).subList(0, slowObserverCount));
+        observers.sort(SLOWEST_FIRST);
+        return Collections.unmodifiableList(observers);
+    }
+
+    /**
+     * Clears all the recorded metrics.
+     */
+    public synchronized void reset() {
+        propertyDispatchCount.reset();
+        eventDispatchCount.reset();
+        invokeLaterCount.reset();
+        scheduleCount.reset();
+        fanOut.reset();
+        observerLatency.reset();
+        callbackLatency.reset();
+        queueDepth.reset();
+        
+        Arrays.fill(slowestObservers, null);
+        slowObserverCount = 0;
+        slowObserverThreshold = 0;
+    }
+
+    private synchronized void recordSlowObserver(Type type, Object subscriber, long durationNanos) {
+        for (int i = 0; i < slowObserverCount; i++) {
+            if (slowestObservers[i].observer.get() == subscriber) {
+                if (durationNanos > slowestObservers[i].durationNanos)
+                    slowestObservers[i] = new SlowObserver(subscriber, type, durationNanos);
+                
+                updateThreshold();
+                return;
+            }
+        }
+        
+        SlowObserver slowObserver = new SlowObserver(subscriber, type, durationNanos);
+        
+        if (slowObserverCount < slowestObserverCount) {
+            slowestObservers[slowObserverCount++] = slowObserver;
+        } else {
+            int fastest = 0;
+            for (int i = 1; i < slowObserverCount; i++) {
+                if (slowestObservers[i].durationNanos < slowestObservers[fastest].durationNanos)
+                    fastest = i;
+            }
+            
+            if (durationNanos <= slowestObservers[fastest].durationNanos)
+                return;
+            
+            slowestObservers[fastest] = slowObserver;
+        }
+        
+        updateThreshold();
+    }
+
+    private void updateThreshold() {
+        if (slowObserverCount < slowestObserverCount)
+            return;
+        
+        long threshold = Long.MAX_VALUE;
+        for (int i = 0; i < slowObserverCount; i++)
+            threshold = Math.min(threshold, slowestObservers[i].durationNanos);
+        
+        slowObserverThreshold = threshold;
+    }
+
+    /**
+     * An observer that was one of the slowest to handle a dispatch. Only a
+     * weak reference to the observer and its description are kept, so that it
+     * can be garbage collected.
+     */
+    public static final class SlowObserver {
+        // identifies the observer when it is slow again, it is never exposed
+        private final WeakReference<Object> observer;
+        private final String description;
+        private final Type dispatcherType;
+        private final long durationNanos;
+
+        SlowObserver(Object observer, Type dispatcherType, long durationNanos) {
+            this.observer = new WeakReference<>(observer);
+            this.description = observer.toString();
+            this.dispatcherType = dispatcherType;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * @return a description of the observer.
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return the type of the dispatcher the observer was subscribed to.
+         */
+        public Type getDispatcherType() {
+            return dispatcherType;
+        }
+
+        /**
+         * @return the longest time, in nanoseconds, the observer took to
+         *         handle a dispatch.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "SlowObserver [description=" + description + ", dispatcherType=" + dispatcherType + ", durationNanos=" + durationNanos + "]";
+        }
+    }
+}
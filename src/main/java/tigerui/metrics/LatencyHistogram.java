@@ -0,0 +1,146 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static tigerui.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of non-negative long values, such as latencies in
+ * nanoseconds. As in an HdrHistogram, values are counted in buckets whose
+ * width grows with the magnitude of the value: each power of two is split into
+ * 16 buckets, so a value read back from the histogram is within 1/16 (about
+ * 6%) of the value that was recorded. Recording a value is a couple of atomic
+ * increments and does not allocate.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records a value, a negative value is recorded as zero.
+     * 
+     * @param value
+     *            some value
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        
+        long max;
+        while (value > (max = maxValue.get()) && !maxValue.compareAndSet(max, value)) {
+            // retry, another thread recorded a value at the same time
+        }
+    }
+
+    /**
+     * @return the number of values recorded.
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return the largest value recorded, or zero if no value was recorded.
+     */
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Gets the value that the provided percentage of the recorded values are
+     * less than or equal to, within the precision of this histogram.
+     * 
+     * @param percentile
+     *            some percentile, between 0 and 100
+     * @return the value at the provided percentile, or zero if no value was
+     *         recorded.
+     * @throws IllegalArgumentException
+     *             if the percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100 [" + percentile + "]");
+        
+        long total = totalCount.get();
+        if (total == 0)
+            return 0;
+        
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long count = 0;
+        
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            count += counts.get(index);
+            
+            if (count >= countAtPercentile)
+                return Math.min(highestValueAt(index), getMaxValue());
+        }
+        
+        return getMaxValue();
+    }
+
+    /**
+     * Clears all the recorded values. Values recorded concurrently may or may
+     * not be cleared.
+     */
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++)
+            counts.set(index, 0);
+        
+        totalCount.set(0);
+        maxValue.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram [count=" + getTotalCount() + 
+                ", p50=" + getValueAtPercentile(50) + 
+                ", p99=" + getValueAtPercentile(99) + 
+                ", max=" + getMaxValue() + "]";
+    }
+
+    static int indexOf(long value) {
+        // the values of the first power of two buckets are counted exactly
+        if (value < SUB_BUCKET_COUNT)
+            return (int) value;
+        
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT)
+            return index;
+        
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        
+        return (SUB_BUCKET_COUNT | subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long highestValueAt(int index) {
+        return index == BUCKET_COUNT - 1 ? Long.MAX_VALUE : lowestValueAt(index + 1) - 1;
+    }
+}
@@ -0,0 +1,322 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Preconditions.checkArgument;
+import static tigerui.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import tigerui.disposables.Disposable;
+
+/**
+ * A watchdog that detects when an event loop has been running the same
+ * callback for too long, which is what freezes the UI.
+ * <p>
+ * While a detector is running, the event loops and dispatchers mark the start
+ * and the end of every runnable and every dispatch to an observer, see
+ * {@link #enter(Object)}. A watchdog thread samples the callbacks that are
+ * running on each thread, and once the outermost one has been running for
+ * longer than the threshold it sends a {@link StallReport} to the
+ * {@link StallSink}. A stall is reported once, however long it lasts.
+ * <p>
+ * Observers added to a {@link tigerui.property.PropertyStream PropertyStream}
+ * or an {@link tigerui.event.EventStream EventStream} while a detector is
+ * running record the stack they were added from, so that a report can point
+ * to the binding that caused the stall. Observers added before the detector
+ * was started are only described by their toString.
+ * <p>
+ * When no detector is running, which is the default, the cost to the event
+ * loops is a volatile read per runnable and per dispatch.
+ */
+public final class StallDetector implements Disposable {
+    
+    private static final Disposable NOT_MONITORED = () -> {};
+    private static final StackTraceElement[] NO_CREATION_SITE = new StackTraceElement[0];
+    
+    private static volatile StallDetector running;
+    
+    private final long thresholdNanos;
+    private final long sampleIntervalNanos;
+    private final StallSink sink;
+    private final List<CallbackStack> stacks;
+    private final ThreadLocal<CallbackStack> currentStack;
+    private final Thread watchdog;
+    
+    private volatile boolean isDisposed = false;
+
+    private StallDetector(long thresholdNanos, StallSink sink) {
+        this.thresholdNanos = thresholdNanos;
+        this.sampleIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), thresholdNanos / 4);
+        this.sink = sink;
+        this.stacks = new CopyOnWriteArrayList<>();
+        this.currentStack = ThreadLocal.withInitial(this::createStack);
+        this.watchdog = new Thread(this::watch, "Stall Detector");
+        this.watchdog.setDaemon(true);
+    }
+
+    /**
+     * Starts a detector, that reports callbacks that run for longer than the
+     * provided threshold to the provided sink.
+     * 
+     * @param threshold
+     *            how long a callback can run before it is reported
+     * @param timeUnit
+     *            the time unit of the threshold
+     * @param sink
+     *            some sink to report stalls to
+     * @return the running detector, dispose it to stop detecting stalls.
+     * @throws IllegalArgumentException
+     *             if the threshold is not positive
+     * @throws IllegalStateException
+     *             if a detector is already running
+     */
+    public static synchronized StallDetector start(long threshold, TimeUnit timeUnit, StallSink sink) {
+        checkArgument(threshold > 0, "The stall threshold must be positive [" + threshold + "]");
+        checkState(running == null, "A stall detector is already running");
+        
+        StallDetector detector = new StallDetector(timeUnit.toNanos(threshold), requireNonNull(sink));
+        detector.watchdog.start();
+        running = detector;
+        
+        return detector;
+    }
+
+    /**
+     * @return true if a detector is running, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return running != null;
+    }
+
+    /**
+     * Marks the start of a callback on the current thread. The returned
+     * disposable must be disposed, on the same thread, when the callback ends.
+     * 
+     * @param callback
+     *            the callback that is starting, used to describe it in a
+     *            report
+     * @return a {@link Disposable} that marks the end of the callback.
+     */
+    public static Disposable enter(Object callback) {
+        return enter(callback, NO_CREATION_SITE);
+    }
+
+    /**
+     * Marks the start of a callback on the current thread, see
+     * {@link #enter(Object)}.
+     * 
+     * @param callback
+     *            the callback that is starting
+     * @param creationSite
+     *            the stack the callback's observer was created from, see
+     *            {@link #captureCreationSite(Class)}
+     * @return a {@link Disposable} that marks the end of the callback.
+     */
+    public static Disposable enter(Object callback, StackTraceElement[] creationSite) {
+        StallDetector detector = running;
+        
+        if (detector == null)
+            return NOT_MONITORED;
+        
+        return detector.currentStack.get().push(callback, creationSite);
+    }
+
+    /**
+     * Wraps the provided runnable so that it is monitored when run.
+     * 
+     * @param runnable
+     *            some runnable
+     * @return the provided runnable if no detector is running, otherwise a
+     *         runnable that marks its start and end.
+     */
+    public static Runnable monitor(Runnable runnable) {
+        if (!isEnabled())
+            return runnable;
+        
+        return () -> {
+            Disposable callback = enter(runnable);
+            try {
+                runnable.run();
+            } finally {
+                callback.dispose();
+            }
+        };
+    }
+
+    /**
+     * Captures the stack of the current thread, omitting the frames of this
+     * class and, below them, those of the provided caller class.
+     * 
+     * @param callerClass
+     *            the class that captures the creation site on behalf of its
+     *            own caller
+     * @return the stack of the current thread, as seen by the caller of the
+     *         caller class.
+     */
+    public static StackTraceElement[] captureCreationSite(Class<?> callerClass) {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        
+        int start = 0;
+        while (start < stack.length && stack[start].getClassName().equals(StallDetector.class.getName()))
+            start++;
+        
+        while (start < stack.length && stack[start].getClassName().equals(callerClass.getName()))
+            start++;
+        
+        return Arrays.copyOfRange(stack, start, stack.length);
+    }
+
+    /**
+     * Stops this detector. Callbacks that are running when it is stopped are
+     * not reported.
+     */
+    @Override
+    public void dispose() {
+        synchronized (StallDetector.class) {
+            if (running == this)
+                running = null;
+        }
+        
+        isDisposed = true;
+        watchdog.interrupt();
+    }
+
+    /**
+     * @return true if this detector was stopped, false otherwise.
+     */
+    public boolean isDisposed() {
+        return isDisposed;
+    }
+    
+    private CallbackStack createStack() {
+        CallbackStack stack = new CallbackStack(Thread.currentThread());
+        stacks.add(stack);
+        return stack;
+    }
+    
+    private void watch() {
+        while (!isDisposed) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sampleIntervalNanos);
+            } catch (InterruptedException exception) {
+                return;
+            }
+            
+            for (CallbackStack stack : stacks) {
+                if (stack.thread.isAlive()) {
+                    sample(stack);
+                } else {
+                    stacks.remove(stack);
+                }
+            }
+        }
+    }
+    
+    private void sample(CallbackStack stack) {
+        Frame root = stack.getRoot();
+        
+        if (root == null || root == stack.reportedRoot)
+            return;
+        
+        long duration = System.nanoTime() - root.startNanos;
+        if (duration < thresholdNanos)
+            return;
+        
+        List<StallReport.Callback> callbacks = stack.describe();
+        StackTraceElement[] threadStack = stack.thread.getStackTrace();
+        
+        // the callback may have ended while the stacks were being captured
+        if (stack.getRoot() != root || callbacks.isEmpty())
+            return;
+        
+        stack.reportedRoot = root;
+        
+        try {
+            sink.onStall(new StallReport(stack.thread.getName(), duration, callbacks, threadStack));
+        } catch (Throwable throwable) {
+            System.err.println("An exception was caught while reporting a stall");
+            throwable.printStackTrace();
+        }
+    }
+    
+    /**
+     * The callbacks running on a thread. It is only modified by its thread,
+     * and read by the watchdog.
+     */
+    private static final class CallbackStack {
+        private final Thread thread;
+        private volatile Frame top;
+        
+        // only accessed by the watchdog
+        private Frame reportedRoot;
+        
+        CallbackStack(Thread thread) {
+            this.thread = thread;
+        }
+        
+        Frame push(Object callback, StackTraceElement[] creationSite) {
+            Frame frame = new Frame(this, top, callback, creationSite);
+            top = frame;
+            return frame;
+        }
+        
+        Frame getRoot() {
+            Frame frame = top;
+            
+            if (frame == null)
+                return null;
+            
+            while (frame.parent != null)
+                frame = frame.parent;
+            
+            return frame;
+        }
+        
+        List<StallReport.Callback> describe() {
+            List<StallReport.Callback> callbacks = new ArrayList<>();
+            
+            for (Frame frame = top; frame != null; frame = frame.parent)
+                callbacks.add(0, new StallReport.Callback(String.valueOf(frame.callback), frame.creationSite));
+            
+            return callbacks;
+        }
+    }
+    
+    private static final class Frame implements Disposable {
+        private final CallbackStack stack;
+        private final Frame parent;
+        private final Object callback;
+        private final StackTraceElement[] creationSite;
+        private final long startNanos;
+        
+        Frame(CallbackStack stack, Frame parent, Object callback, StackTraceElement[] creationSite) {
+            this.stack = stack;
+            this.parent = parent;
+            this.callback = callback;
+            this.creationSite = requireNonNull(creationSite);
+            this.startNanos = parent == null ? System.nanoTime() : parent.startNanos;
+        }
+
+        @Override
+        public void dispose() {
+            stack.top = parent;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes a stall of an event loop, detected by a {@link StallDetector}. A
+ * report lists the callbacks that were running on the stalled thread, from the
+ * outermost to the innermost, together with the stack of the thread at the
+ * time the stall was detected.
+ */
+public final class StallReport {
+    
+    private final String threadName;
+    private final long durationNanos;
+    private final List<Callback> callbacks;
+    private final List<StackTraceElement> threadStack;
+
+    StallReport(String threadName, long durationNanos, List<Callback> callbacks, StackTraceElement[] threadStack) {
+        this.threadName = requireNonNull(threadName);
+        this.durationNanos = durationNanos;
+        this.callbacks = Collections.unmodifiableList(callbacks);
+        this.threadStack = Collections.unmodifiableList(Arrays.asList(threadStack));
+    }
+
+    /**
+     * @return the name of the thread that stalled.
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @param timeUnit
+     *            the time unit to return the duration in
+     * @return how long the outermost callback had been running when the
+     *         stall was detected.
+     */
+    public long getDuration(TimeUnit timeUnit) {
+        return timeUnit.convert(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the callbacks that were running, from the outermost to the
+     *         innermost.
+     */
+    public List<Callback> getCallbacks() {
+        return callbacks;
+    }
+
+    /**
+     * @return the innermost callback that was running, which is the one that
+     *         was running when the stall was detected.
+     */
+    public Callback getOffendingCallback() {
+        return callbacks.get(callbacks.size() - 1);
+    }
+
+    /**
+     * @return the stack of the stalled thread when the stall was detected.
+     */
+    public List<StackTraceElement> getThreadStack() {
+        return threadStack;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        
+        builder.append("Event loop thread [").append(threadName).append("] stalled for ")
+               .append(getDuration(TimeUnit.MILLISECONDS)).append(" ms");
+        
+        builder.append("\nRunning callbacks, outermost first:");
+        for (Callback callback : callbacks) {
+            builder.append("\n    ").append(callback.getDescription());
+            for (StackTraceElement element : callback.getCreationSite())
+                builder.append("\n        created at ").append(element);
+        }
+        
+        builder.append("\nThread stack:");
+        for (StackTraceElement element : threadStack)
+            builder.append("\n    at ").append(element);
+        
+        return builder.toString();
+    }
+    
+    /**
+     * A callback that was running when a stall was detected.
+     */
+    public static final class Callback {
+        
+        private final String description;
+        private final List<StackTraceElement> creationSite;
+
+        Callback(String description, StackTraceElement[] creationSite) {
+            this.description = requireNonNull(description);
+            this.creationSite = Collections.unmodifiableList(Arrays.asList(creationSite));
+        }
+
+        /**
+         * @return a description of the callback, its toString.
+         */
+        public String getDescription() {
+            return description;
+        }
+        
+        /**
+         * @return the stack where the observer running this callback was
+         *         created, empty if it is not known. The creation site is
+         *         only recorded for observers added while a
+         *         {@link StallDetector} is running.
+         */
+        public List<StackTraceElement> getCreationSite() {
+            return creationSite;
+        }
+
+        @Override
+        public String toString() {
+            return "Callback [description=" + description + "]";
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+/**
+ * Receives the {@link StallReport}s of a {@link StallDetector}.
+ * <p>
+ * NOTE: reports are delivered on the detector's watchdog thread, not on the
+ * event loop that stalled, which is most likely still busy.
+ */
+@FunctionalInterface
+public interface StallSink {
+    
+    /**
+     * A sink that prints reports to standard error.
+     */
+    StallSink STANDARD_ERROR = report -> System.err.println(report);
+
+    /**
+     * Called when an event loop has been running the same callback for longer
+     * than the threshold of the detector.
+     * 
+     * @param report
+     *            the report of the stall
+     */
+    void onStall(StallReport report);
+}
@@ -0,0 +1,344 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Callbacks.runSafeCallback;
+import static tigerui.Preconditions.checkArgument;
+import static tigerui.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import tigerui.dispatcher.Dispatcher;
+import tigerui.disposables.Disposable;
+
+/**
+ * A diagnostic that finds subscriptions that are never disposed. These keep
+ * growing the number of subscribers of long lived dispatchers, for instance
+ * when a screen that observes a model property is opened and closed
+ * repeatedly, which costs both memory and time on every dispatch.
+ * <p>
+ * While a detector is running, the dispatchers record the stack each
+ * subscriber was added from. The subscribers a dispatcher gains within the
+ * settle period of its first one are its baseline, since many dispatchers
+ * legitimately gain most of their subscribers while they are set up. After
+ * that, a dispatcher whose subscriber count grows by the growth threshold
+ * above the fewest subscribers it had since it settled is flagged as a
+ * suspected leak, and reported to the listener once, until its count falls
+ * back. The subscribers of all the dispatchers can be
+ * inspected using {@link #snapshot()}.
+ * <p>
+ * Dispatchers and subscribers are referenced weakly, so that the detector
+ * does not cause leaks itself. When no detector is running, which is the
+ * default, adding and removing a subscriber only pays for a volatile read,
+ * and dispatching pays nothing.
+ */
+public final class SubscriptionLeakDetector implements Disposable {
+    
+    private static volatile SubscriptionLeakDetector running;
+    
+    private final int growthThreshold;
+    private final long settlePeriodNanos;
+    private final Consumer<SubscriptionSnapshot> onSuspectedLeak;
+    private final Map<Dispatcher<?, ?, ?>, Subscribers> dispatchers;
+    
+    private boolean isDisposed = false;
+
+    private SubscriptionLeakDetector(int growthThreshold, long settlePeriodNanos, Consumer<SubscriptionSnapshot> onSuspectedLeak) {
+        this.growthThreshold = growthThreshold;
+        this.settlePeriodNanos = settlePeriodNanos;
+        this.onSuspectedLeak = onSuspectedLeak;
+        this.dispatchers = new WeakHashMap<>();
+    }
+
+    /**
+     * Starts a detector without a settle period, so that only the first
+     * subscriber of each dispatcher is its baseline, see
+     * {@link #start(int, long, TimeUnit, Consumer)}.
+     * 
+     * @param growthThreshold
+     *            the number of subscribers a dispatcher can gain before it is
+     *            suspected of leaking
+     * @param onSuspectedLeak
+     *            some consumer of the snapshots of dispatchers that are
+     *            suspected of leaking, called on the thread of the dispatcher
+     * @return the running detector, dispose it to stop detecting leaks.
+     * @throws IllegalArgumentException
+     *             if the growth threshold is not positive
+     * @throws IllegalStateException
+     *             if a detector is already running
+     */
+    public static SubscriptionLeakDetector start(int growthThreshold, Consumer<SubscriptionSnapshot> onSuspectedLeak) {
+        return start(growthThreshold, 0, TimeUnit.NANOSECONDS, onSuspectedLeak);
+    }
+
+    /**
+     * Starts a detector.
+     * 
+     * @param growthThreshold
+     *            the number of subscribers a dispatcher can gain, once it has
+     *            settled, before it is suspected of leaking
+     * @param settlePeriod
+     *            how long after its first subscriber a dispatcher keeps
+     *            gaining subscribers that are part of its baseline
+     * @param timeUnit
+     *            the time unit of the settle period
+     * @param onSuspectedLeak
+     *            some consumer of the snapshots of dispatchers that are
+     *            suspected of leaking, called on the thread of the dispatcher
+     * @return the running detector, dispose it to stop detecting leaks.
+     * @throws IllegalArgumentException
+     *             if the growth threshold is not positive, or the settle
+     *             period is negative
+     * @throws IllegalStateException
+     *             if a detector is already running
+     */
+    public static synchronized SubscriptionLeakDetector start(int growthThreshold, long settlePeriod, TimeUnit timeUnit, Consumer<SubscriptionSnapshot> onSuspectedLeak) {
+        checkArgument(growthThreshold > 0, "The growth threshold must be positive [" + growthThreshold + "]");
+        checkArgument(settlePeriod >= 0, "The settle period must not be negative [" + settlePeriod + "]");
+        checkState(running == null, "A subscription leak detector is already running");
+        
+        running = new SubscriptionLeakDetector(growthThreshold, timeUnit.toNanos(settlePeriod), requireNonNull(onSuspectedLeak));
+        
+        return running;
+    }
+
+    /**
+     * @return true if a detector is running, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return running != null;
+    }
+
+    /**
+     * Called by a dispatcher when a subscriber is added to it.
+     * 
+     * @param dispatcher
+     *            some dispatcher
+     * @param subscriber
+     *            the subscriber that was added
+     */
+    public static void onSubscribed(Dispatcher<?, ?, ?> dispatcher, Object subscriber) {
+        SubscriptionLeakDetector detector = running;
+        
+        if (detector == null)
+            return;
+        
+        SubscriptionSnapshot suspectedLeak = detector.add(dispatcher, subscriber, captureCreationSite());
+        
+        if (suspectedLeak != null)
+            runSafeCallback(detector.onSuspectedLeak, suspectedLeak);
+    }
+
+    /**
+     * Called by a dispatcher when a subscriber is removed from it.
+     * 
+     * @param dispatcher
+     *            some dispatcher
+     * @param subscriber
+     *            the subscriber that was removed
+     */
+    public static void onUnsubscribed(Dispatcher<?, ?, ?> dispatcher, Object subscriber) {
+        SubscriptionLeakDetector detector = running;
+        
+        if (detector != null)
+            detector.remove(dispatcher, subscriber);
+    }
+
+    /**
+     * Called by a dispatcher when it is disposed, which removes all its
+     * subscribers.
+     * 
+     * @param dispatcher
+     *            some dispatcher
+     */
+    public static void onDisposed(Dispatcher<?, ?, ?> dispatcher) {
+        SubscriptionLeakDetector detector = running;
+        
+        if (detector != null)
+            detector.remove(dispatcher);
+    }
+
+    /**
+     * Takes a snapshot of the subscribers of all the dispatchers that have
+     * subscribers.
+     * 
+     * @return a snapshot of each dispatcher, the one with the most subscribers
+     *         first.
+     */
+    public synchronized List<SubscriptionSnapshot> snapshot() {
+        List<SubscriptionSnapshot> snapshots = new ArrayList<>();
+        
+        dispatchers.forEach((dispatcher, subscribers) -> {
+            if (subscribers.count() > 0)
+                snapshots.add(subscribers.snapshot(dispatcher));
+        });
+        
+        snapshots.sort((snapshot1, snapshot2) -> Integer.compare(snapshot2.getSubscriberCount(), snapshot1.getSubscriberCount()));
+        
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    /**
+     * @return a snapshot of each dispatcher that is currently suspected of
+     *         leaking, the one with the most subscribers first.
+     */
+    public synchronized List<SubscriptionSnapshot> getSuspectedLeaks() {
+        List<SubscriptionSnapshot> suspectedLeaks = new ArrayList<>();
+        
+        for (SubscriptionSnapshot snapshot : snapshot()) {
+            if (snapshot.getGrowth() >= growthThreshold)
+                suspectedLeaks.add(snapshot);
+        }
+        
+        return Collections.unmodifiableList(suspectedLeaks);
+    }
+
+    /**
+     * Stops this detector and forgets the subscribers it has recorded.
+     */
+    @Override
+    public void dispose() {
+        synchronized (SubscriptionLeakDetector.class) {
+            if (running == this)
+                running = null;
+        }
+        
+        synchronized (this) {
+            isDisposed = true;
+            dispatchers.clear();
+        }
+    }
+
+    /**
+     * @return true if this detector was stopped, false otherwise.
+     */
+    public synchronized boolean isDisposed() {
+        return isDisposed;
+    }
+    
+    private synchronized SubscriptionSnapshot add(Dispatcher<?, ?, ?> dispatcher, Object subscriber, StackTraceElement[] creationSite) {
+        if (isDisposed)
+            return null;
+        
+        long now = System.nanoTime();
+        Subscribers subscribers = dispatchers.computeIfAbsent(dispatcher, key -> new Subscribers(now + settlePeriodNanos));
+        subscribers.add(subscriber, creationSite, now);
+        
+        if (subscribers.isSuspectedLeak || subscribers.growth() < growthThreshold)
+            return null;
+        
+        subscribers.isSuspectedLeak = true;
+        return subscribers.snapshot(dispatcher);
+    }
+    
+    private synchronized void remove(Dispatcher<?, ?, ?> dispatcher, Object subscriber) {
+        Subscribers subscribers = dispatchers.get(dispatcher);
+        
+        if (subscribers != null)
+            subscribers.remove(subscriber);
+    }
+    
+    private synchronized void remove(Dispatcher<?, ?, ?> dispatcher) {
+        dispatchers.remove(dispatcher);
+    }
+    
+    /**
+     * @return the stack of the current thread, omitting the frames of this
+     *         class and of the dispatchers.
+     */
+    private static StackTraceElement[] captureCreationSite() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        String dispatcherPackage = Dispatcher.class.getPackage().getName() + ".";
+        
+        int start = 0;
+        while (start < stack.length && 
+               (stack[start].getClassName().equals(SubscriptionLeakDetector.class.getName()) || 
+                stack[start].getClassName().startsWith(dispatcherPackage)))
+            start++;
+        
+        return Arrays.copyOfRange(stack, start, stack.length);
+    }
+    
+    /**
+     * The subscribers of a dispatcher, which are referenced weakly.
+     */
+    private static final class Subscribers {
+        private final Map<Object, StackTraceElement[]> creationSites = new WeakHashMap<>();
+        private final long settleDeadlineNanos;
+        
+        // the fewest subscribers the dispatcher had since it settled
+        private int floor = 0;
+        private boolean isSettled = false;
+        private boolean isSuspectedLeak = false;
+        
+        Subscribers(long settleDeadlineNanos) {
+            this.settleDeadlineNanos = settleDeadlineNanos;
+        }
+        
+        void add(Object subscriber, StackTraceElement[] creationSite, long now) {
+            if (!isSettled && now - settleDeadlineNanos > 0)
+                isSettled = true;
+            
+            creationSites.put(subscriber, creationSite);
+            
+            // the subscribers added until the dispatcher settles are its baseline
+            if (!isSettled)
+                floor = count();
+        }
+        
+        void remove(Object subscriber) {
+            if (creationSites.remove(subscriber) == null)
+                return;
+            
+            if (count() <= floor) {
+                floor = count();
+                isSuspectedLeak = false;
+            }
+        }
+        
+        int count() {
+            return creationSites.size();
+        }
+        
+        int growth() {
+            return count() - floor;
+        }
+        
+        SubscriptionSnapshot snapshot(Dispatcher<?, ?, ?> dispatcher) {
+            Map<List<StackTraceElement>, Integer> counts = new HashMap<>();
+            for (StackTraceElement[] creationSite : creationSites.values())
+                counts.merge(Arrays.asList(creationSite), 1, Integer::sum);
+            
+            List<Entry<List<StackTraceElement>, Integer>> entries = new ArrayList<>(counts.entrySet());
+            entries.sort((entry1, entry2) -> Integer.compare(entry2.getValue(), entry1.getValue()));
+            
+            Map<List<StackTraceElement>, Integer> sortedCounts = new LinkedHashMap<>();
+            for (Entry<List<StackTraceElement>, Integer> entry : entries)
+                sortedCounts.put(entry.getKey(), entry.getValue());
+            
+            return new SubscriptionSnapshot(dispatcher, count(), growth(), sortedCounts);
+        }
+    }
+}
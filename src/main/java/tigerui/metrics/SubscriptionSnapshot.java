@@ -0,0 +1,97 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import tigerui.dispatcher.Dispatcher;
+import tigerui.dispatcher.Dispatcher.Type;
+
+/**
+ * A snapshot of the subscribers of a dispatcher, taken by a
+ * {@link SubscriptionLeakDetector}. Only the subscribers that were added while
+ * the detector was running are accounted for.
+ */
+public final class SubscriptionSnapshot {
+    
+    private final Dispatcher<?, ?, ?> dispatcher;
+    private final int subscriberCount;
+    private final int growth;
+    private final Map<List<StackTraceElement>, Integer> creationSites;
+
+    SubscriptionSnapshot(Dispatcher<?, ?, ?> dispatcher, int subscriberCount, int growth, Map<List<StackTraceElement>, Integer> creationSites) {
+        this.dispatcher = requireNonNull(dispatcher);
+        this.subscriberCount = subscriberCount;
+        this.growth = growth;
+        this.creationSites = Collections.unmodifiableMap(creationSites);
+    }
+
+    /**
+     * @return the dispatcher this is a snapshot of.
+     */
+    public Dispatcher<?, ?, ?> getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * @return the type of the dispatcher this is a snapshot of.
+     */
+    public Type getDispatcherType() {
+        return dispatcher.getType();
+    }
+
+    /**
+     * @return the number of subscribers of the dispatcher.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    /**
+     * @return how many subscribers the dispatcher has gained since it last
+     *         had the fewest subscribers.
+     */
+    public int getGrowth() {
+        return growth;
+    }
+
+    /**
+     * @return the stacks the subscribers were added from, each with the
+     *         number of subscribers that were added from it, the most common
+     *         first.
+     */
+    public Map<List<StackTraceElement>, Integer> getCreationSites() {
+        return creationSites;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        
+        builder.append(getDispatcherType()).append(" dispatcher [").append(dispatcher)
+               .append("] has ").append(subscriberCount).append(" subscribers, grown by ").append(growth);
+        
+        creationSites.forEach((creationSite, count) -> {
+            builder.append("\n    ").append(count).append(" added from:");
+            for (StackTraceElement element : creationSite)
+                builder.append("\n        at ").append(element);
+        });
+        
+        return builder.toString();
+    }
+}
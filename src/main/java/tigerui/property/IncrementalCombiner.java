@@ -0,0 +1,108 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Combines the values of a list of property streams, such that a change to
+ * one of the streams is applied to the previous result, rather than combining
+ * all of the values again. This makes aggregations over many property streams,
+ * such as totals or counts, cost O(1) per change.
+ * 
+ * @param <T>
+ *            the type of the values being combined
+ * @param <R>
+ *            the type of the combined result
+ * @see PropertyStream#combineList(List, IncrementalCombiner)
+ */
+public interface IncrementalCombiner<T, R> {
+    
+    /**
+     * Combines all the provided values. This is called once when subscribing
+     * to the combined property stream, and whenever its value is requested
+     * without a subscription.
+     * 
+     * @param values
+     *            the current values of the combined property streams, the list
+     *            is read only and should not be retained after the call.
+     * @return the combined result.
+     */
+    R combine(List<T> values);
+    
+    /**
+     * Applies a change of one of the combined property streams to the
+     * previous result.
+     * 
+     * @param previous
+     *            the previous combined result
+     * @param index
+     *            the index of the property stream that changed
+     * @param oldValue
+     *            the previous value of the property stream that changed
+     * @param newValue
+     *            the new value of the property stream that changed
+     * @return the new combined result.
+     */
+    R update(R previous, int index, T oldValue, T newValue);
+    
+    /**
+     * Creates an incremental combiner from the provided functions.
+     * 
+     * @param combine
+     *            some function that combines all the values, see
+     *            {@link #combine(List)}
+     * @param update
+     *            some function that applies a change to the previous result,
+     *            see {@link #update(Object, int, Object, Object)}
+     * @return a new {@link IncrementalCombiner}
+     * @param <T>
+     *            the type of the values being combined
+     * @param <R>
+     *            the type of the combined result
+     */
+    static <T, R> IncrementalCombiner<T, R> create(Function<List<T>, R> combine, Update<T, R> update) {
+        requireNonNull(combine);
+        requireNonNull(update);
+        
+        return new IncrementalCombiner<T, R>() {
+            @Override
+            public R combine(List<T> values) {
+                return combine.apply(values);
+            }
+
+            @Override
+            public R update(R previous, int index, T oldValue, T newValue) {
+                return update.update(previous, index, oldValue, newValue);
+            }
+        };
+    }
+    
+    /**
+     * A function that applies a change to the previous combined result, see
+     * {@link IncrementalCombiner#update(Object, int, Object, Object)}.
+     * 
+     * @param <T>
+     *            the type of the values being combined
+     * @param <R>
+     *            the type of the combined result
+     */
+    @FunctionalInterface
+    interface Update<T, R> {
+        R update(R previous, int index, T oldValue, T newValue);
+    }
+}
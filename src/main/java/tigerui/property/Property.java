@@ -18,6 +18,7 @@ import static tigerui.dispatcher.Dispatcher.createPropertyDispatcher;
 import static tigerui.dispatcher.Dispatchers.checkCanDispatch;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import javax.security.auth.Subject;
 
@@ -63,18 +64,26 @@ import tigerui.subscription.Subscription;
  * 3) A property is not thread safe, therefore it can only be accessed from the
  * same thread that it was created on. Attempting to access any of a properties
  * methods a from a thread other than the one it was created on will result in
- * an {@link IllegalStateException}.<br>
+ * an {@link IllegalStateException}. The only exception is
+ * {@link #setValueAsync(Object)}, which can be called from any thread.<br>
  * 
  * 
  * @param <M>
  *            the type of object that this property emits.
  */
 public final class Property<M> extends PropertyStream<M> implements PropertySource<M>, Disposable {
+    
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Property, Object> PENDING_VALUE_UPDATER = 
+            AtomicReferenceFieldUpdater.newUpdater(Property.class, Object.class, "pendingValue");
 
     private final PropertySource<M> propertySource;
     private final PropertyDispatcher<M> dispatcher;
     private final M initialValue;
     private final EventLoop eventLoop;
+    
+    // the latest value set by setValueAsync that has not yet been applied
+    private volatile M pendingValue;
 
     private Property(PropertySource<M> propertySource, PropertyDispatcher<M> dispatcher) {
         super(PropertyPublisher.create(propertySource, dispatcher));
@@ -115,6 +124,38 @@ public final class Property<M> extends PropertyStream<M> implements PropertySour
         propertySource.setValue(requireNonNull(value));
     }
 
+    /**
+     * Sets the value of this property from any thread. The value is applied on
+     * this property's event loop, using {@link #setValue(Object)}.
+     * <p>
+     * Values are coalesced, at most one update is queued on the event loop at
+     * any time and when it runs it applies the latest value that was set. Any
+     * intermediate values set in the meantime are dropped. This makes it safe
+     * for a background thread to publish frequent updates without flooding the
+     * event loop.
+     * 
+     * @param value
+     *            some new value for this property.
+     * @throws NullPointerException
+     *             if the provided value is null.
+     */
+    @SuppressWarnings("unchecked")
+    public void setValueAsync(M value) {
+        requireNonNull(value);
+        
+        // only the update that replaces an empty slot needs to queue a drain
+        if (PENDING_VALUE_UPDATER.getAndSet(this, value) == null)
+            eventLoop.invokeLater(this::applyPendingValue);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void applyPendingValue() {
+        M value = (M) PENDING_VALUE_UPDATER.getAndSet(this, null);
+        
+        if (value != null)
+            setValue(value);
+    }
+
     /**
      * Resets this property to it's initial value.
      * 
@@ -206,6 +247,28 @@ public final class Property<M> extends PropertyStream<M> implements PropertySour
         return dispatcher.getSubscriberCount() > 0;
     }
     
+    /**
+     * Runs the provided changes as a single transaction. The observers of the
+     * properties that are changed in the transaction are notified once the
+     * transaction completes, and only of the final value of each property.
+     * Properties derived from the changed properties, for instance using
+     * {@link PropertyStream#combine}, therefore also emit once per transaction
+     * rather than once per change.<br>
+     * <br>
+     * NOTE:<br>
+     * Only property notifications are held, events published on an
+     * {@link EventStream} during the transaction are dispatched immediately.
+     * 
+     * @param changes
+     *            some runnable that sets the values of properties
+     * @throws IllegalStateException
+     *             if the changes set the value of a property from a thread
+     *             other than the one it was created on.
+     */
+    public static void transaction(Runnable changes) {
+        Dispatchers.getInstance().runInTransaction(requireNonNull(changes));
+    }
+    
     // Factory methods
     
 	/**
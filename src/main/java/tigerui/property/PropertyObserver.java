@@ -96,6 +96,11 @@ public interface PropertyObserver<M> extends Observer<M> {
             public void onDisposed() {
                 onDisposed.run();
             }
+
+            @Override
+            public String toString() {
+                return onChanged.toString();
+            }
         };
     }
 }
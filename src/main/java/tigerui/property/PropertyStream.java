@@ -15,11 +15,14 @@ package tigerui.property;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -30,8 +33,11 @@ import java.util.function.Supplier;
 import rx.Observable;
 import rx.subscriptions.Subscriptions;
 import tigerui.EventLoop;
+import tigerui.Function3;
+import tigerui.Function4;
 import tigerui.Preconditions;
 import tigerui.event.EventStream;
+import tigerui.metrics.StallDetector;
 import tigerui.property.operator.OperatorFilterToOptional;
 import tigerui.property.operator.OperatorIsDirty;
 import tigerui.property.operator.OperatorMap;
@@ -39,9 +45,11 @@ import tigerui.property.operator.OperatorSwitchMap;
 import tigerui.property.operator.OperatorTake;
 import tigerui.property.operator.PropertyConditionBuilder;
 import tigerui.property.operator.PropertyOperator;
+import tigerui.property.publisher.CachedPropertyPublisher;
 import tigerui.property.publisher.CombinePropertyPublisher;
 import tigerui.property.publisher.JustPropertyPublisher;
 import tigerui.property.publisher.PropertyPublisher;
+import tigerui.subscription.OwnerReference;
 import tigerui.subscription.Subscription;
 
 /**
@@ -109,12 +117,31 @@ public class PropertyStream<M> implements Supplier<M> {
     }
 
     /**
-     * Adds an observer to this property stream.
+     * Gets the rank of this property stream, which is its depth in the
+     * property dependency graph. Derived property streams are evaluated in rank
+     * order when a change is propagated, so that each of them is evaluated
+     * once per change.
+     * 
+     * @return the rank of this property stream, zero for a {@link Property}.
+     */
+    public final int getRank() {
+        return propertyPublisher.getRank();
+    }
+
+    /**
+     * Adds an observer to this property stream. While a
+     * {@link StallDetector} is running, the place the observer is added from
+     * is recorded, so that stalls it causes can be traced back to it.
+     * 
      * @param observer some property observer
      * @return a {@link Subscription} that can be used to cancel the subscription.
      */
     public final Subscription observe(PropertyObserver<M> observer) {
         eventLoop.checkInEventLoop();
+        
+        if (StallDetector.isEnabled())
+            observer = new TracedPropertyObserver<>(observer, StallDetector.captureCreationSite(PropertyStream.class));
+        
         return propertyPublisher.subscribe(observer);
     }
 
@@ -168,6 +195,40 @@ public class PropertyStream<M> implements Supplier<M> {
     public final Subscription onDisposed(Runnable onDisposedAction) {
         return observe(PropertyObserver.create(onDisposedAction));
     }
+
+    /**
+     * Adds a listener that will be updated when the value of this property
+     * changes, for as long as the provided owner is reachable. The owner, for
+     * instance a view, is only referenced weakly, so a view that is abandoned
+     * without disposing this subscription can still be garbage collected. The
+     * subscription is disposed once the owner has been collected.
+     * 
+     * NOTE: The listener will be called back immediately with the current value
+     * when subscribing. The listener is passed the owner, it must not capture
+     * the owner itself, otherwise the owner will never be collected.
+     * 
+     * @param owner
+     *            the owner of the subscription
+     * @param onChanged
+     *            some listener to update with the owner and the new value of
+     *            this property
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this property
+     *             was created from.
+     * @param <O>
+     *            the type of the owner
+     */
+    public final <O> Subscription observeWeakly(O owner, BiConsumer<? super O, ? super M> onChanged) {
+        eventLoop.checkInEventLoop();
+        
+        OwnerReference<O> ownerReference = OwnerReference.create(owner);
+        Subscription subscription = observe(new WeakPropertyObserver<>(ownerReference, onChanged));
+        ownerReference.setSubscription(subscription);
+        
+        return subscription;
+    }
     
     /**
      * Transforms this Property Stream by the provided mapper function.
@@ -181,6 +242,41 @@ public class PropertyStream<M> implements Supplier<M> {
         return lift(new OperatorMap<>(mapper));
     }
     
+    /**
+     * Creates a new {@link PropertyStream} that caches the latest value of this
+     * property stream while it has observers. All the observers share a single
+     * subscription to this property stream, and getting the value of the
+     * cached property stream does not compute it again, which is useful when
+     * the value is derived by a chain of operators and read often, e.g. when
+     * painting.<br>
+     * <br>
+     * NOTE: While the cached property stream has no observers getting its
+     * value gets the value of this property stream.
+     * 
+     * @return a new {@link PropertyStream} that caches the values of this
+     *         property stream while it is observed.
+     */
+    public final PropertyStream<M> cached() {
+        return new PropertyStream<>(new CachedPropertyPublisher<>(propertyPublisher));
+    }
+    
+    /**
+     * Creates a new {@link PropertyStream} that shares a single subscription
+     * to this property stream between all of its observers. The operators
+     * applied to create this property stream are therefore applied once per
+     * change, rather than once per observer.<br>
+     * <br>
+     * NOTE: Sharing a subscription requires keeping the latest value, so this
+     * is the same as {@link #cached()}.
+     * 
+     * @return a new {@link PropertyStream} that emits the values of this
+     *         property stream to all its observers through a single
+     *         subscription.
+     */
+    public final PropertyStream<M> share() {
+        return cached();
+    }
+    
     /**
      * Filters out the values emitted by this property that do not satisfy the
      * provided predicate. If the current value of this property stream does
@@ -459,13 +555,150 @@ public class PropertyStream<M> implements Supplier<M> {
 	 * @param <R>
 	 *            the type of the property stream created by applying the combiner function
      */
+    @SuppressWarnings("unchecked")
     public static <T1, T2, R> PropertyStream<R> combine(PropertyStream<T1> stream1, 
                                                         PropertyStream<T2> stream2, 
                                                         BiFunction<T1, T2, R> combiner) {
-        List<PropertyStream<?>> streams = Arrays.asList(stream1, stream2);
-        Supplier<R> combineSupplier = () -> combiner.apply(stream1.get(), stream2.get());
+        requireNonNull(combiner);
         
-        return new PropertyStream<R>(new CombinePropertyPublisher<R>(combineSupplier, streams));
+        return combineValues(Arrays.asList(stream1, stream2), 
+                             values -> combiner.apply((T1) values.get(0), (T2) values.get(1)));
+    }
+    
+    /**
+     * Combines the values of three property streams and produces a new result
+     * using the provided function any time any of the values changes.
+     * 
+     * @param stream1
+     *            the first stream to combine
+     * @param stream2
+     *            the second stream to combine
+     * @param stream3
+     *            the third stream to combine
+     * @param combiner
+     *            some function that will be called any time any of the
+     *            provided streams changes
+     * @return a new {@link PropertyStream} that will emit the result of
+     *         combining the values of the provided streams using the provided
+     *         function any time any of the streams' value changes.
+     * @param <T1>
+     *            the type of the first input stream
+     * @param <T2>
+     *            the type of the second input stream
+     * @param <T3>
+     *            the type of the third input stream
+     * @param <R>
+     *            the type of the property stream created by applying the combiner function
+     */
+    @SuppressWarnings("unchecked")
+    public static <T1, T2, T3, R> PropertyStream<R> combine(PropertyStream<T1> stream1, 
+                                                            PropertyStream<T2> stream2, 
+                                                            PropertyStream<T3> stream3, 
+                                                            Function3<T1, T2, T3, R> combiner) {
+        requireNonNull(combiner);
+        
+        return combineValues(Arrays.asList(stream1, stream2, stream3), 
+                             values -> combiner.apply((T1) values.get(0), (T2) values.get(1), (T3) values.get(2)));
+    }
+    
+    /**
+     * Combines the values of four property streams and produces a new result
+     * using the provided function any time any of the values changes.
+     * 
+     * @param stream1
+     *            the first stream to combine
+     * @param stream2
+     *            the second stream to combine
+     * @param stream3
+     *            the third stream to combine
+     * @param stream4
+     *            the fourth stream to combine
+     * @param combiner
+     *            some function that will be called any time any of the
+     *            provided streams changes
+     * @return a new {@link PropertyStream} that will emit the result of
+     *         combining the values of the provided streams using the provided
+     *         function any time any of the streams' value changes.
+     * @param <T1>
+     *            the type of the first input stream
+     * @param <T2>
+     *            the type of the second input stream
+     * @param <T3>
+     *            the type of the third input stream
+     * @param <T4>
+     *            the type of the fourth input stream
+     * @param <R>
+     *            the type of the property stream created by applying the combiner function
+     */
+    @SuppressWarnings("unchecked")
+    public static <T1, T2, T3, T4, R> PropertyStream<R> combine(PropertyStream<T1> stream1, 
+                                                                PropertyStream<T2> stream2, 
+                                                                PropertyStream<T3> stream3, 
+                                                                PropertyStream<T4> stream4, 
+                                                                Function4<T1, T2, T3, T4, R> combiner) {
+        requireNonNull(combiner);
+        
+        return combineValues(Arrays.asList(stream1, stream2, stream3, stream4), 
+                             values -> combiner.apply((T1) values.get(0), (T2) values.get(1), 
+                                                      (T3) values.get(2), (T4) values.get(3)));
+    }
+    
+    /**
+     * Combines the values of a list of property streams and produces a new
+     * result using the provided function any time any of the values changes.
+     * 
+     * @param streams
+     *            the streams to combine, there must be at least one.
+     * @param combiner
+     *            some function that will be called with the values of all the
+     *            streams, in the order of the provided list, any time any of
+     *            them changes.
+     * @return a new {@link PropertyStream} that will emit the result of
+     *         combining the values of the provided streams using the provided
+     *         function any time any of the streams' value changes.
+     * @throws IllegalArgumentException
+     *             if the list of streams is empty.
+     * @param <T>
+     *            the type of the input streams
+     * @param <R>
+     *            the type of the property stream created by applying the combiner function
+     */
+    public static <T, R> PropertyStream<R> combineList(List<? extends PropertyStream<? extends T>> streams, 
+                                                       Function<List<T>, R> combiner) {
+        requireNonNull(combiner);
+        
+        // the combiner may retain the values, so provide it with a copy
+        return combineValues(streams, values -> combiner.apply(Collections.unmodifiableList(new ArrayList<>(values))));
+    }
+    
+    /**
+     * Combines the values of a list of property streams using the provided
+     * incremental combiner. When one of the streams changes only the change is
+     * applied to the previous result, so the cost of a change does not depend
+     * on the number of streams combined.
+     * 
+     * @param streams
+     *            the streams to combine, there must be at least one.
+     * @param combiner
+     *            some incremental combiner
+     * @return a new {@link PropertyStream} that will emit the result of
+     *         combining the values of the provided streams any time any of
+     *         the streams' value changes.
+     * @throws IllegalArgumentException
+     *             if the list of streams is empty.
+     * @param <T>
+     *            the type of the input streams
+     * @param <R>
+     *            the type of the property stream created by the combiner
+     */
+    public static <T, R> PropertyStream<R> combineList(List<? extends PropertyStream<? extends T>> streams, 
+                                                       IncrementalCombiner<T, R> combiner) {
+        return new PropertyStream<R>(new CombinePropertyPublisher<T, R>(streams, combiner));
+    }
+    
+    private static <T, R> PropertyStream<R> combineValues(List<? extends PropertyStream<? extends T>> streams,
+                                                          Function<List<T>, R> combiner) {
+        return new PropertyStream<R>(new CombinePropertyPublisher<T, R>(streams, combiner));
     }
     
     /**
@@ -16,7 +16,7 @@ package tigerui.property;
 import static java.util.Objects.requireNonNull;
 import static tigerui.Callbacks.runSafeCallback;
 
-import java.util.Optional;
+import java.util.function.Consumer;
 
 import tigerui.Subscriber;
 
@@ -36,11 +36,17 @@ import tigerui.Subscriber;
 public class PropertySubscriber<M> extends Subscriber implements PropertyObserver<M> {
     
     private final PropertyObserver<M> observer;
+    private final Consumer<M> onChanged;
     
-    private Optional<M> lastValue = Optional.empty();
+    /**
+     * The last value dispatched to the observer, null until the first value is
+     * dispatched.
+     */
+    private M lastValue;
     
     public PropertySubscriber(PropertyObserver<M> observer) {
         this.observer = requireNonNull(observer);
+        this.onChanged = observer::onChanged;
     }
 
     @Override
@@ -48,12 +54,12 @@ public class PropertySubscriber<M> extends Subscriber implements PropertyObserve
         if(isDisposed())
             return;
         
-        if(lastValue.isPresent() && lastValue.get().equals(newValue))
+        if(lastValue != null && lastValue.equals(newValue))
             return;
         
-        lastValue = Optional.of(newValue);
+        lastValue = newValue;
         
-        runSafeCallback(() -> observer.onChanged(newValue));
+        runSafeCallback(onChanged, newValue);
     }
     
     @Override
@@ -69,4 +75,9 @@ public class PropertySubscriber<M> extends Subscriber implements PropertyObserve
     public boolean isBinding() {
         return observer.isBinding();
     }
+
+    @Override
+    public String toString() {
+        return "PropertySubscriber [observer=" + observer + "]";
+    }
 }
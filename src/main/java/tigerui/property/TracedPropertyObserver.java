@@ -0,0 +1,67 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property;
+
+import static java.util.Objects.requireNonNull;
+
+import tigerui.disposables.Disposable;
+import tigerui.metrics.StallDetector;
+
+/**
+ * A property observer that remembers where it was created, so that the
+ * running {@link StallDetector} can attribute a stall to it.
+ * 
+ * @param <M>
+ *            the type of the values emitted by the observed property.
+ */
+final class TracedPropertyObserver<M> implements PropertyObserver<M> {
+
+    private final PropertyObserver<M> observer;
+    private final StackTraceElement[] creationSite;
+
+    TracedPropertyObserver(PropertyObserver<M> observer, StackTraceElement[] creationSite) {
+        this.observer = requireNonNull(observer);
+        this.creationSite = requireNonNull(creationSite);
+    }
+
+    @Override
+    public void onChanged(M newValue) {
+        Disposable callback = StallDetector.enter(observer, creationSite);
+        try {
+            observer.onChanged(newValue);
+        } finally {
+            callback.dispose();
+        }
+    }
+
+    @Override
+    public void onDisposed() {
+        Disposable callback = StallDetector.enter(observer, creationSite);
+        try {
+            observer.onDisposed();
+        } finally {
+            callback.dispose();
+        }
+    }
+
+    @Override
+    public boolean isBinding() {
+        return observer.isBinding();
+    }
+
+    @Override
+    public String toString() {
+        return observer.toString();
+    }
+}
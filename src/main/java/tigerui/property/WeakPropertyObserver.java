@@ -0,0 +1,62 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.BiConsumer;
+
+import tigerui.subscription.OwnerReference;
+
+/**
+ * A property observer that references its owner weakly, see
+ * {@link PropertyStream#observeWeakly(Object, BiConsumer)}.
+ * 
+ * @param <O>
+ *            the type of the owner
+ * @param <M>
+ *            the type of the values emitted by the observed property.
+ */
+final class WeakPropertyObserver<O, M> implements PropertyObserver<M> {
+
+    private final OwnerReference<O> ownerReference;
+    private final BiConsumer<? super O, ? super M> onChanged;
+
+    WeakPropertyObserver(OwnerReference<O> ownerReference, BiConsumer<? super O, ? super M> onChanged) {
+        this.ownerReference = requireNonNull(ownerReference);
+        this.onChanged = requireNonNull(onChanged);
+    }
+
+    @Override
+    public void onChanged(M newValue) {
+        O owner = ownerReference.get();
+        
+        if (owner == null) {
+            ownerReference.disposeIfCleared();
+            return;
+        }
+        
+        onChanged.accept(owner, newValue);
+    }
+
+    @Override
+    public void onDisposed() {
+        ownerReference.clear();
+    }
+
+    @Override
+    public String toString() {
+        return onChanged.toString();
+    }
+}
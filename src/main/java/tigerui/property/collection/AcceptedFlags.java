@@ -0,0 +1,284 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import java.util.Arrays;
+
+/**
+ * A sequence of flags, recording whether each element of the source of a
+ * {@link FilteredListStream} is accepted by its predicate. Flags can be
+ * inserted and removed at any index, and the number of accepted flags before
+ * an index can be counted, in O(log n) expected time.
+ * <p>
+ * The flags are held in an implicit treap, a randomly balanced binary tree
+ * ordered by index, whose nodes are stored in primitive arrays. Each node
+ * keeps the size and the number of accepted flags of its subtree.
+ */
+final class AcceptedFlags {
+
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // the nodes, node 0 is the empty tree
+    private int[] left = new int[INITIAL_CAPACITY];
+    private int[] right = new int[INITIAL_CAPACITY];
+    private int[] priority = new int[INITIAL_CAPACITY];
+    private int[] size = new int[INITIAL_CAPACITY];
+    private int[] acceptedCount = new int[INITIAL_CAPACITY];
+    private boolean[] accepted = new boolean[INITIAL_CAPACITY];
+
+    private int root = NIL;
+    private int allocatedCount = 1;
+    
+    // the removed nodes, linked through their left child
+    private int freeNodes = NIL;
+    private int seed = 0x2545F491;
+    
+    // the result of the last split
+    private int splitLeft;
+    private int splitRight;
+
+    /**
+     * @return the number of flags.
+     */
+    int size() {
+        return size[root];
+    }
+
+    /**
+     * @param index
+     *            the index of some flag
+     * @return true if the flag at the provided index is accepted.
+     */
+    boolean get(int index) {
+        int node = root;
+        
+        while (true) {
+            int leftSize = size[left[node]];
+            
+            if (index < leftSize) {
+                node = left[node];
+            } else if (index == leftSize) {
+                return accepted[node];
+            } else {
+                index -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * @param index
+     *            the index of some flag
+     * @param isAccepted
+     *            the new value of the flag
+     */
+    void set(int index, boolean isAccepted) {
+        set(root, index, isAccepted);
+    }
+
+    /**
+     * @param index
+     *            some index, between zero and the number of flags
+     * @return the number of accepted flags before the provided index.
+     */
+    int countAcceptedBefore(int index) {
+        int count = 0;
+        int node = root;
+        
+        while (node != NIL) {
+            int leftSize = size[left[node]];
+            
+            if (index <= leftSize) {
+                node = left[node];
+            } else {
+                count += acceptedCount[left[node]] + (accepted[node] ? 1 : 0);
+                index -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        
+        return count;
+    }
+
+    /**
+     * Inserts the provided flags at the provided index.
+     * 
+     * @param index
+     *            some index, between zero and the number of flags
+     * @param flags
+     *            the flags to insert
+     */
+    void insert(int index, boolean[] flags) {
+        int inserted = NIL;
+        for (boolean flag : flags)
+            inserted = merge(inserted, allocate(flag));
+        
+        split(root, index);
+        int after = splitRight;
+        root = merge(merge(splitLeft, inserted), after);
+    }
+
+    /**
+     * Removes a range of flags.
+     * 
+     * @param index
+     *            the index of the first flag to remove
+     * @param count
+     *            the number of flags to remove
+     * @return the number of accepted flags that were removed.
+     */
+    int remove(int index, int count) {
+        split(root, index);
+        int before = splitLeft;
+        
+        split(splitRight, count);
+        int removed = splitLeft;
+        int after = splitRight;
+        
+        int removedAcceptedCount = acceptedCount[removed];
+        free(removed);
+        root = merge(before, after);
+        
+        return removedAcceptedCount;
+    }
+    
+    private void set(int node, int index, boolean isAccepted) {
+        int leftSize = size[left[node]];
+        
+        if (index < leftSize) {
+            set(left[node], index, isAccepted);
+        } else if (index == leftSize) {
+            accepted[node] = isAccepted;
+        } else {
+            set(right[node], index - leftSize - 1, isAccepted);
+        }
+        
+        update(node);
+    }
+
+    /**
+     * Splits the provided tree into its first count flags, stored in
+     * splitLeft, and the rest, stored in splitRight.
+     */
+    private void split(int node, int count) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        
+        if (size[left[node]] < count) {
+            split(right[node], count - size[left[node]] - 1);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(left[node], count);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * @return the tree holding the flags of the first tree followed by the
+     *         flags of the second tree.
+     */
+    private int merge(int first, int second) {
+        if (first == NIL)
+            return second;
+        
+        if (second == NIL)
+            return first;
+        
+        if (priority[first] > priority[second]) {
+            right[first] = merge(right[first], second);
+            update(first);
+            return first;
+        }
+        
+        left[second] = merge(first, left[second]);
+        update(second);
+        return second;
+    }
+    
+    private void update(int node) {
+        size[node] = size[left[node]] + size[right[node]] + 1;
+        acceptedCount[node] = acceptedCount[left[node]] + acceptedCount[right[node]] + (accepted[node] ? 1 : 0);
+    }
+    
+    private int allocate(boolean isAccepted) {
+        int node;
+        
+        if (freeNodes != NIL) {
+            node = freeNodes;
+            freeNodes = left[node];
+        } else {
+            if (allocatedCount == left.length)
+                grow();
+            
+            node = allocatedCount++;
+        }
+        
+        left[node] = NIL;
+        right[node] = NIL;
+        priority[node] = nextPriority();
+        accepted[node] = isAccepted;
+        update(node);
+        
+        return node;
+    }
+    
+    private void free(int tree) {
+        // the right children are visited after their parent is freed, so they are kept in a stack
+        int[] pending = new int[Math.max(1, size[tree])];
+        int pendingCount = 0;
+        
+        if (tree != NIL)
+            pending[pendingCount++] = tree;
+        
+        while (pendingCount > 0) {
+            int node = pending[--pendingCount];
+            
+            if (left[node] != NIL)
+                pending[pendingCount++] = left[node];
+            
+            if (right[node] != NIL)
+                pending[pendingCount++] = right[node];
+            
+            left[node] = freeNodes;
+            freeNodes = node;
+        }
+    }
+    
+    private void grow() {
+        int capacity = left.length * 2;
+        
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        size = Arrays.copyOf(size, capacity);
+        acceptedCount = Arrays.copyOf(acceptedCount, capacity);
+        accepted = Arrays.copyOf(accepted, capacity);
+    }
+    
+    private int nextPriority() {
+        // xorshift, the priorities only need to be spread, not secure
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
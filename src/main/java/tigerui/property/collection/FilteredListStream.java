@@ -0,0 +1,126 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A view of a {@link ListStream} that holds the elements of the source that
+ * satisfy a predicate. Whether each source element was accepted is tracked in
+ * {@link AcceptedFlags}, so that the predicate is only evaluated for elements
+ * that are added or set, and source indices are mapped to view indices in
+ * O(log n).
+ * 
+ * @param <E>
+ *            the type of elements in the list
+ */
+final class FilteredListStream<E> extends ListStream<E> {
+
+    private final Predicate<? super E> predicate;
+    
+    // whether each element of the source, by index, is in this view
+    private final AcceptedFlags accepted;
+
+    FilteredListStream(ListStream<E> source, Predicate<? super E> predicate) {
+        this(source, predicate, test(source.elements(), predicate));
+    }
+    
+    private FilteredListStream(ListStream<E> source, Predicate<? super E> predicate, boolean[] flags) {
+        super(select(source.elements(), flags));
+        this.predicate = predicate;
+        this.accepted = new AcceptedFlags();
+        this.accepted.insert(0, flags);
+        onDisposed(source.changes().observe(this::onSourceChanged, this::dispose));
+    }
+
+    private void onSourceChanged(ListChange<E> change) {
+        switch (change.getType()) {
+        case ADD:
+            onAdded(change.getIndex(), change.getAdded());
+            break;
+        case REMOVE:
+            onRemoved(change.getIndex(), change.getCount());
+            break;
+        case SET:
+            onSet(change.getIndex(), change.getAdded());
+            break;
+        case MOVE:
+            onMoved(change.getFromIndex(), change.getIndex());
+            break;
+        }
+    }
+    
+    private void onAdded(int sourceIndex, List<E> added) {
+        boolean[] flags = test(added, predicate);
+        int index = accepted.countAcceptedBefore(sourceIndex);
+        accepted.insert(sourceIndex, flags);
+        insertElements(index, select(added, flags));
+    }
+    
+    private void onRemoved(int sourceIndex, int count) {
+        int index = accepted.countAcceptedBefore(sourceIndex);
+        int removedCount = accepted.remove(sourceIndex, count);
+        removeElements(index, removedCount);
+    }
+    
+    private void onSet(int sourceIndex, List<E> values) {
+        int index = accepted.countAcceptedBefore(sourceIndex);
+        
+        for (int i = 0; i < values.size(); i++) {
+            E value = values.get(i);
+            boolean wasAccepted = accepted.get(sourceIndex + i);
+            boolean isAccepted = predicate.test(value);
+            
+            if (wasAccepted != isAccepted)
+                accepted.set(sourceIndex + i, isAccepted);
+            
+            if (wasAccepted && isAccepted) {
+                replaceElements(index++, Collections.singletonList(value));
+            } else if (wasAccepted) {
+                removeElements(index, 1);
+            } else if (isAccepted) {
+                insertElements(index++, Collections.singletonList(value));
+            }
+        }
+    }
+    
+    private void onMoved(int sourceFromIndex, int sourceToIndex) {
+        boolean isAccepted = accepted.get(sourceFromIndex);
+        int fromIndex = accepted.countAcceptedBefore(sourceFromIndex);
+        accepted.remove(sourceFromIndex, 1);
+        accepted.insert(sourceToIndex, new boolean[] { isAccepted });
+        
+        if (isAccepted)
+            moveElement(fromIndex, accepted.countAcceptedBefore(sourceToIndex));
+    }
+
+    private static <E> boolean[] test(List<E> elements, Predicate<? super E> predicate) {
+        boolean[] flags = new boolean[elements.size()];
+        for (int i = 0; i < flags.length; i++)
+            flags[i] = predicate.test(elements.get(i));
+        return flags;
+    }
+
+    private static <E> List<E> select(List<E> elements, boolean[] flags) {
+        List<E> selected = new ArrayList<>();
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i])
+                selected.add(elements.get(i));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A change made to a {@link ListStream}. A change affects a contiguous range
+ * of indices:<br>
+ * <br>
+ * {@link Type#ADD}: the added elements were inserted at the index<br>
+ * {@link Type#REMOVE}: the removed elements were removed from the index<br>
+ * {@link Type#SET}: the removed elements at the index were replaced by the
+ * added elements<br>
+ * {@link Type#MOVE}: the single element at the from index was moved to the
+ * index<br>
+ * 
+ * @param <E>
+ *            the type of elements in the list that changed
+ */
+public final class ListChange<E> {
+    
+    /**
+     * The kinds of change that can be made to a list.
+     */
+    public enum Type { ADD, REMOVE, SET, MOVE }
+
+    private final Type type;
+    private final int index;
+    private final int fromIndex;
+    private final List<E> removed;
+    private final List<E> added;
+
+    private ListChange(Type type, int index, int fromIndex, List<? extends E> removed, List<? extends E> added) {
+        this.type = requireNonNull(type);
+        this.index = index;
+        this.fromIndex = fromIndex;
+        this.removed = Collections.unmodifiableList(removed);
+        this.added = Collections.unmodifiableList(added);
+    }
+    
+    static <E> ListChange<E> added(int index, List<? extends E> added) {
+        return new ListChange<>(Type.ADD, index, index, Collections.emptyList(), added);
+    }
+    
+    static <E> ListChange<E> removed(int index, List<? extends E> removed) {
+        return new ListChange<>(Type.REMOVE, index, index, removed, Collections.emptyList());
+    }
+    
+    static <E> ListChange<E> set(int index, List<? extends E> removed, List<? extends E> added) {
+        return new ListChange<>(Type.SET, index, index, removed, added);
+    }
+    
+    static <E> ListChange<E> moved(int fromIndex, int toIndex, E element) {
+        List<E> elements = Collections.singletonList(element);
+        return new ListChange<>(Type.MOVE, toIndex, fromIndex, elements, elements);
+    }
+
+    /**
+     * @return the type of this change.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the first index affected by this change. For a move, this is
+     *         the index the element was moved to.
+     */
+    public int getIndex() {
+        return index;
+    }
+    
+    /**
+     * @return the index the element was moved from for a move, otherwise the
+     *         same as {@link #getIndex()}.
+     */
+    public int getFromIndex() {
+        return fromIndex;
+    }
+    
+    /**
+     * @return the number of consecutive indices affected by this change,
+     *         starting at {@link #getIndex()}.
+     */
+    public int getCount() {
+        return type == Type.REMOVE ? removed.size() : added.size();
+    }
+
+    /**
+     * @return the elements removed by this change, empty for an add. For a
+     *         move this is the moved element.
+     */
+    public List<E> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return the elements added by this change, empty for a remove. For a
+     *         move this is the moved element.
+     */
+    public List<E> getAdded() {
+        return added;
+    }
+    
+    /**
+     * Applies this change to the provided list, which must hold the elements
+     * the change was made against. This can be used to keep a copy of a list
+     * stream up to date.
+     * 
+     * @param list
+     *            some list to apply this change to.
+     */
+    public void applyTo(List<E> list) {
+        switch (type) {
+        case ADD:
+            list.addAll(index, added);
+            break;
+        case REMOVE:
+            list.subList(index, index + removed.size()).clear();
+            break;
+        case SET:
+            for (int i = 0; i < added.size(); i++)
+                list.set(index + i, added.get(i));
+            break;
+        case MOVE:
+            list.add(index, list.remove(fromIndex));
+            break;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ListChange [type=" + type + ", index=" + index + ", fromIndex=" + fromIndex + ", removed=" + removed + ", added=" + added + "]";
+    }
+}
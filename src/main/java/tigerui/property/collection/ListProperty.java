@@ -0,0 +1,213 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A list of elements that can be modified and whose changes can be observed
+ * as {@link ListChange}s. This is the list equivalent of a
+ * {@link tigerui.property.Property Property}: changing one element emits a
+ * change for that element only, rather than a new copy of the whole list that
+ * must be compared against the previous one.<br>
+ * <br>
+ * NOTE:<br>
+ * A list property cannot hold null elements, attempting to add or set a null
+ * element will result in a {@link NullPointerException}.
+ * 
+ * @param <E>
+ *            the type of elements in this list
+ */
+public final class ListProperty<E> extends ListStream<E> {
+
+    private ListProperty(List<E> initialElements) {
+        super(initialElements);
+    }
+    
+    /**
+     * Creates a new empty list property.
+     * 
+     * @return a new {@link ListProperty}
+     * @param <E>
+     *            the type of elements in the list
+     */
+    public static <E> ListProperty<E> create() {
+        return new ListProperty<>(Collections.emptyList());
+    }
+    
+    /**
+     * Creates a new list property holding the provided elements.
+     * 
+     * @param initialElements
+     *            the elements this list starts with
+     * @return a new {@link ListProperty}
+     * @param <E>
+     *            the type of elements in the list
+     */
+    public static <E> ListProperty<E> create(Collection<? extends E> initialElements) {
+        return new ListProperty<>(copyOf(initialElements));
+    }
+
+    /**
+     * Appends an element to the end of this list.
+     * 
+     * @param element
+     *            some element to add
+     */
+    public void add(E element) {
+        add(size(), element);
+    }
+    
+    /**
+     * Inserts an element at the provided index.
+     * 
+     * @param index
+     *            the index to insert the element at
+     * @param element
+     *            some element to add
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range
+     */
+    public void add(int index, E element) {
+        insertElements(index, Collections.singletonList(requireNonNull(element)));
+    }
+
+    /**
+     * Appends the provided elements to the end of this list, as a single
+     * change.
+     * 
+     * @param toAdd
+     *            the elements to add
+     */
+    public void addAll(Collection<? extends E> toAdd) {
+        addAll(size(), toAdd);
+    }
+    
+    /**
+     * Inserts the provided elements at the provided index, as a single change.
+     * 
+     * @param index
+     *            the index to insert the elements at
+     * @param toAdd
+     *            the elements to add
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range
+     */
+    public void addAll(int index, Collection<? extends E> toAdd) {
+        insertElements(index, copyOf(toAdd));
+    }
+
+    /**
+     * Replaces the element at the provided index. Nothing is emitted if the
+     * new element is equal to the current one.
+     * 
+     * @param index
+     *            the index of the element to replace
+     * @param element
+     *            the new element
+     * @return the element that was replaced.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range
+     */
+    public E set(int index, E element) {
+        requireNonNull(element);
+        E current = get(index);
+        
+        if (!current.equals(element))
+            replaceElements(index, Collections.singletonList(element));
+        
+        return current;
+    }
+
+    /**
+     * Removes the element at the provided index.
+     * 
+     * @param index
+     *            the index of the element to remove
+     * @return the element that was removed.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range
+     */
+    public E remove(int index) {
+        E removed = get(index);
+        removeElements(index, 1);
+        return removed;
+    }
+    
+    /**
+     * Removes the elements in the range [fromIndex, toIndex), as a single
+     * change.
+     * 
+     * @param fromIndex
+     *            the index of the first element to remove
+     * @param toIndex
+     *            the index after the last element to remove
+     * @throws IndexOutOfBoundsException
+     *             if the range is out of bounds
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("Range: [" + fromIndex + ", " + toIndex + "), Size: " + size());
+        
+        removeElements(fromIndex, toIndex - fromIndex);
+    }
+    
+    /**
+     * Moves the element at the from index, such that it ends up at the to
+     * index.
+     * 
+     * @param fromIndex
+     *            the current index of the element to move
+     * @param toIndex
+     *            the index of the element once it has been moved
+     * @throws IndexOutOfBoundsException
+     *             if either index is out of range
+     */
+    public void move(int fromIndex, int toIndex) {
+        requireIndex(fromIndex, size());
+        moveElement(fromIndex, toIndex);
+    }
+
+    /**
+     * Removes all the elements of this list, as a single change.
+     */
+    public void clear() {
+        removeElements(0, size());
+    }
+    
+    /**
+     * Replaces all the elements of this list with the provided elements. This
+     * is emitted as a remove of the current elements followed by an add of the
+     * new ones.
+     * 
+     * @param elements
+     *            the new elements of this list
+     */
+    public void setAll(Collection<? extends E> elements) {
+        List<E> newElements = copyOf(elements);
+        clear();
+        insertElements(0, newElements);
+    }
+
+    private static <E> List<E> copyOf(Collection<? extends E> elements) {
+        List<E> copy = new ArrayList<>(elements);
+        copy.forEach(element -> requireNonNull(element, "A list property cannot hold null elements"));
+        return copy;
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import tigerui.EventLoop;
+import tigerui.dispatcher.Dispatcher;
+import tigerui.dispatcher.EventDispatcher;
+import tigerui.disposables.Disposable;
+import tigerui.event.EventStream;
+
+/**
+ * A list whose changes can be observed. Rather than emitting the whole list
+ * when it changes, as a {@link tigerui.property.Property Property} of a list
+ * would, a list stream emits a {@link ListChange} describing the range of
+ * indices that changed. Observers, and the views created by
+ * {@link #map(Function)}, {@link #filter(Predicate)} and
+ * {@link #sorted(Comparator)}, can therefore update in proportion to the size
+ * of the change rather than the size of the list.<br>
+ * <br>
+ * NOTES:<br>
+ * 1) A list stream is not thread safe, it can only be accessed from the
+ * thread it was created on.<br>
+ * 2) Modifying a list stream while it is dispatching a change, for instance
+ * from one of its observers, is not permitted.<br>
+ * 3) Once disposed a list stream is frozen and its observers are completed.
+ * 
+ * @param <E>
+ *            the type of elements in this list
+ */
+public abstract class ListStream<E> implements Disposable {
+
+    private final List<E> elements;
+    private final List<E> readOnlyElements;
+    private final EventDispatcher<ListChange<E>> dispatcher;
+    private final EventStream<ListChange<E>> changes;
+    private final EventLoop eventLoop;
+
+    ListStream(List<E> initialElements) {
+        this.elements = new ArrayList<>(initialElements);
+        this.readOnlyElements = Collections.unmodifiableList(elements);
+        this.dispatcher = Dispatcher.createEventDispatcher();
+        this.changes = new EventStream<>(dispatcher::subscribe);
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+
+    /**
+     * @return a stream of the changes made to this list, in the order they
+     *         were made.
+     */
+    public final EventStream<ListChange<E>> changes() {
+        return changes;
+    }
+
+    /**
+     * @param index
+     *            the index of some element
+     * @return the element at the provided index.
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of range
+     */
+    public final E get(int index) {
+        eventLoop.checkInEventLoop();
+        return elements.get(index);
+    }
+
+    /**
+     * @return the number of elements in this list.
+     */
+    public final int size() {
+        eventLoop.checkInEventLoop();
+        return elements.size();
+    }
+
+    /**
+     * @return true if this list has no elements, false otherwise.
+     */
+    public final boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return a read only view of the current elements of this list. The view
+     *         is live, it reflects later changes to this list.
+     */
+    public final List<E> asList() {
+        eventLoop.checkInEventLoop();
+        return readOnlyElements;
+    }
+
+    /**
+     * Creates a view of this list that holds the result of applying the
+     * provided mapper to each element. The mapper is applied once per element
+     * when the element is added or set, not when the view is read.
+     * 
+     * @param mapper
+     *            some function to apply to each element
+     * @return a new {@link ListStream} view, which is disposed along with
+     *         this list.
+     * @param <R>
+     *            the type of elements in the view
+     */
+    public final <R> ListStream<R> map(Function<? super E, ? extends R> mapper) {
+        eventLoop.checkInEventLoop();
+        return new MappedListStream<>(this, requireNonNull(mapper));
+    }
+
+    /**
+     * Creates a view of this list that only holds the elements that satisfy
+     * the provided predicate, in the same order as this list.
+     * 
+     * @param predicate
+     *            some predicate elements must satisfy to be in the view
+     * @return a new {@link ListStream} view, which is disposed along with
+     *         this list.
+     */
+    public final ListStream<E> filter(Predicate<? super E> predicate) {
+        eventLoop.checkInEventLoop();
+        return new FilteredListStream<>(this, requireNonNull(predicate));
+    }
+
+    /**
+     * Creates a view of this list that holds its elements sorted using the
+     * provided comparator. Elements that compare equal are kept in the order
+     * they were added to the view.
+     * 
+     * @param comparator
+     *            some comparator to order the elements with
+     * @return a new {@link ListStream} view, which is disposed along with
+     *         this list.
+     */
+    public final ListStream<E> sorted(Comparator<? super E> comparator) {
+        eventLoop.checkInEventLoop();
+        return new SortedListStream<>(this, requireNonNull(comparator));
+    }
+
+    @Override
+    public final void dispose() {
+        eventLoop.checkInEventLoop();
+        dispatcher.dispose();
+    }
+
+    /**
+     * @return true if this list has been disposed, false otherwise.
+     */
+    public final boolean isDisposed() {
+        eventLoop.checkInEventLoop();
+        return dispatcher.isDisposed();
+    }
+
+    /**
+     * Registers some disposable to be disposed when this list is disposed.
+     * 
+     * @param toDispose
+     *            some disposable
+     */
+    final void onDisposed(Disposable toDispose) {
+        dispatcher.onDisposed(toDispose);
+    }
+
+    // Mutations, these are ignored once this list is disposed.
+
+    final void insertElements(int index, List<? extends E> toAdd) {
+        if (!canModify())
+            return;
+
+        if (toAdd.isEmpty())
+            return;
+
+        elements.addAll(index, toAdd);
+
+        if (hasObservers())
+            dispatcher.dispatch(ListChange.added(index, toAdd));
+    }
+
+    final void removeElements(int index, int count) {
+        if (!canModify())
+            return;
+
+        if (count == 0)
+            return;
+
+        List<E> range = elements.subList(index, index + count);
+        List<E> removed = hasObservers() ? new ArrayList<>(range) : null;
+        range.clear();
+
+        if (removed != null)
+            dispatcher.dispatch(ListChange.removed(index, removed));
+    }
+
+    final void replaceElements(int index, List<? extends E> values) {
+        if (!canModify())
+            return;
+
+        if (values.isEmpty())
+            return;
+
+        List<E> range = elements.subList(index, index + values.size());
+        List<E> removed = hasObservers() ? new ArrayList<>(range) : null;
+
+        for (int i = 0; i < values.size(); i++)
+            range.set(i, values.get(i));
+
+        if (removed != null)
+            dispatcher.dispatch(ListChange.set(index, removed, values));
+    }
+
+    final void moveElement(int fromIndex, int toIndex) {
+        if (!canModify())
+            return;
+
+        requireIndex(toIndex, elements.size());
+        E element = elements.remove(fromIndex);
+        elements.add(toIndex, element);
+
+        if (fromIndex != toIndex && hasObservers())
+            dispatcher.dispatch(ListChange.moved(fromIndex, toIndex, element));
+    }
+
+    final List<E> elements() {
+        return readOnlyElements;
+    }
+
+    static void requireIndex(int index, int size) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private boolean canModify() {
+        eventLoop.checkInEventLoop();
+
+        if (dispatcher.isDisposed())
+            return false;
+
+        // not using checkState, to avoid building the message for every change
+        if (dispatcher.isDispatching())
+            throw new IllegalStateException("Cannot modify a list stream while it is dispatching a change");
+
+        return true;
+    }
+
+    private boolean hasObservers() {
+        return dispatcher.getSubscriberCount() > 0;
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+
+/**
+ * A change made to a single key of a {@link MapProperty}:<br>
+ * <br>
+ * {@link Type#PUT}: the key was mapped to the new value, replacing the old
+ * value if there was one<br>
+ * {@link Type#REMOVE}: the mapping of the key to the old value was removed<br>
+ * 
+ * @param <K>
+ *            the type of keys in the map that changed
+ * @param <V>
+ *            the type of values in the map that changed
+ */
+public final class MapChange<K, V> {
+
+    /**
+     * The kinds of change that can be made to a map.
+     */
+    public enum Type { PUT, REMOVE }
+
+    private final Type type;
+    private final K key;
+    private final Optional<V> oldValue;
+    private final Optional<V> newValue;
+
+    private MapChange(Type type, K key, Optional<V> oldValue, Optional<V> newValue) {
+        this.type = requireNonNull(type);
+        this.key = requireNonNull(key);
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    static <K, V> MapChange<K, V> put(K key, V oldValue, V newValue) {
+        return new MapChange<>(Type.PUT, key, Optional.ofNullable(oldValue), Optional.of(newValue));
+    }
+
+    static <K, V> MapChange<K, V> removed(K key, V oldValue) {
+        return new MapChange<>(Type.REMOVE, key, Optional.of(oldValue), Optional.empty());
+    }
+
+    /**
+     * @return the type of this change.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the key that changed.
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * @return the value the key was mapped to before this change, empty if
+     *         the key was added by this change.
+     */
+    public Optional<V> getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * @return the value the key is mapped to after this change, empty for a
+     *         remove.
+     */
+    public Optional<V> getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public String toString() {
+        return "MapChange [type=" + type + ", key=" + key + ", oldValue=" + oldValue + ", newValue=" + newValue + "]";
+    }
+}
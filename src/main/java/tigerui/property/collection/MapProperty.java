@@ -0,0 +1,346 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.dispatcher.Dispatcher.createPropertyDispatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import tigerui.EventLoop;
+import tigerui.dispatcher.Dispatcher;
+import tigerui.dispatcher.EventDispatcher;
+import tigerui.dispatcher.PropertyDispatcher;
+import tigerui.disposables.Disposable;
+import tigerui.event.EventStream;
+import tigerui.property.PropertyObserver;
+import tigerui.property.PropertyStream;
+import tigerui.property.PropertySubscriber;
+import tigerui.property.publisher.PropertyPublisher;
+import tigerui.subscription.Subscription;
+
+/**
+ * A map whose changes can be observed. Rather than emitting the whole map when
+ * it changes, as a {@link tigerui.property.Property Property} of a map would,
+ * a map property emits a {@link MapChange} for the key that changed.<br>
+ * <br>
+ * The value of a single key can be observed using {@link #valueAt(Object)}.
+ * Each observed key has its own dispatcher, so changing a key only notifies
+ * the observers of that key, regardless of how many other keys are
+ * observed.<br>
+ * <br>
+ * NOTES:<br>
+ * 1) A map property is not thread safe, it can only be accessed from the
+ * thread it was created on.<br>
+ * 2) Modifying a map property while it is dispatching a change, for instance
+ * from one of its observers, is not permitted.<br>
+ * 3) A map property cannot hold null keys or values, attempting to put either
+ * will result in a {@link NullPointerException}.<br>
+ * 4) Once disposed a map property is frozen and its observers, including the
+ * observers of its keys, are completed.
+ * 
+ * @param <K>
+ *            the type of keys in this map
+ * @param <V>
+ *            the type of values in this map
+ */
+public final class MapProperty<K, V> implements Disposable {
+
+    private final Map<K, V> entries;
+    private final Map<K, V> readOnlyEntries;
+    private final EventDispatcher<MapChange<K, V>> dispatcher;
+    private final EventStream<MapChange<K, V>> changes;
+    private final EventLoop eventLoop;
+    
+    // the dispatchers of the keys that are currently observed
+    private final Map<K, PropertyDispatcher<Optional<V>>> keyDispatchers;
+    
+    private boolean isDispatchingKey = false;
+
+    private MapProperty(Map<K, V> initialEntries) {
+        this.entries = initialEntries;
+        this.readOnlyEntries = Collections.unmodifiableMap(entries);
+        this.dispatcher = Dispatcher.createEventDispatcher();
+        this.changes = new EventStream<>(dispatcher::subscribe);
+        this.eventLoop = EventLoop.createEventLoop();
+        this.keyDispatchers = new HashMap<>();
+    }
+
+    /**
+     * Creates a new empty map property.
+     * 
+     * @return a new {@link MapProperty}
+     * @param <K>
+     *            the type of keys in the map
+     * @param <V>
+     *            the type of values in the map
+     */
+    public static <K, V> MapProperty<K, V> create() {
+        return new MapProperty<>(new HashMap<>());
+    }
+
+    /**
+     * Creates a new map property holding the provided entries.
+     * 
+     * @param initialEntries
+     *            the entries this map starts with
+     * @return a new {@link MapProperty}
+     * @param <K>
+     *            the type of keys in the map
+     * @param <V>
+     *            the type of values in the map
+     */
+    public static <K, V> MapProperty<K, V> create(Map<? extends K, ? extends V> initialEntries) {
+        Map<K, V> entries = new HashMap<>();
+        initialEntries.forEach((key, value) -> entries.put(requireNonNull(key), requireNonNull(value)));
+        return new MapProperty<>(entries);
+    }
+
+    /**
+     * @return a stream of the changes made to this map, in the order they
+     *         were made.
+     */
+    public EventStream<MapChange<K, V>> changes() {
+        return changes;
+    }
+
+    /**
+     * Creates a property stream of the value the provided key is mapped to.
+     * The stream only emits when that key is put or removed, changes to other
+     * keys are not dispatched to it.
+     * 
+     * @param key
+     *            some key, which does not have to be in the map yet
+     * @return a {@link PropertyStream} of the value of the key, empty while
+     *         the key is not in this map.
+     */
+    public PropertyStream<Optional<V>> valueAt(K key) {
+        eventLoop.checkInEventLoop();
+        return PropertyStream.create(new KeyPublisher(requireNonNull(key)));
+    }
+
+    /**
+     * @param key
+     *            some key
+     * @return the value the provided key is mapped to, or empty if it is not
+     *         in this map.
+     */
+    public Optional<V> get(K key) {
+        eventLoop.checkInEventLoop();
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    /**
+     * @param key
+     *            some key
+     * @return true if the provided key is in this map, false otherwise.
+     */
+    public boolean containsKey(K key) {
+        eventLoop.checkInEventLoop();
+        return entries.containsKey(key);
+    }
+
+    /**
+     * @return the number of entries in this map.
+     */
+    public int size() {
+        eventLoop.checkInEventLoop();
+        return entries.size();
+    }
+
+    /**
+     * @return true if this map has no entries, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return a read only view of the current entries of this map. The view is
+     *         live, it reflects later changes to this map.
+     */
+    public Map<K, V> asMap() {
+        eventLoop.checkInEventLoop();
+        return readOnlyEntries;
+    }
+
+    /**
+     * Maps the provided key to the provided value. Nothing is emitted if the
+     * key is already mapped to an equal value.
+     * 
+     * @param key
+     *            some key
+     * @param value
+     *            the new value of the key
+     * @return the value the key was mapped to before, or empty if it was not
+     *         in this map.
+     */
+    public Optional<V> put(K key, V value) {
+        requireNonNull(key);
+        requireNonNull(value);
+        
+        if (!canModify())
+            return get(key);
+        
+        V oldValue = entries.get(key);
+        
+        if (value.equals(oldValue))
+            return Optional.of(oldValue);
+        
+        entries.put(key, value);
+        dispatchChange(MapChange.put(key, oldValue, value));
+        
+        return Optional.ofNullable(oldValue);
+    }
+
+    /**
+     * Puts each of the provided entries, as a separate change per key.
+     * 
+     * @param toPut
+     *            the entries to put
+     */
+    public void putAll(Map<? extends K, ? extends V> toPut) {
+        toPut.forEach(this::put);
+    }
+
+    /**
+     * Removes the provided key from this map.
+     * 
+     * @param key
+     *            some key
+     * @return the value the key was mapped to, or empty if it was not in this
+     *         map.
+     */
+    public Optional<V> remove(K key) {
+        if (!canModify())
+            return get(key);
+        
+        V oldValue = entries.remove(key);
+        
+        if (oldValue != null)
+            dispatchChange(MapChange.removed(key, oldValue));
+        
+        return Optional.ofNullable(oldValue);
+    }
+
+    /**
+     * Removes all the entries of this map, as a separate change per key.
+     */
+    public void clear() {
+        if (!canModify())
+            return;
+        
+        new ArrayList<>(entries.keySet()).forEach(this::remove);
+    }
+
+    @Override
+    public void dispose() {
+        eventLoop.checkInEventLoop();
+        
+        if (dispatcher.isDisposed())
+            return;
+        
+        dispatcher.dispose();
+        
+        // disposing the key subscribers releases their keys, so dispose a copy
+        List<PropertyDispatcher<Optional<V>>> toDispose = new ArrayList<>(keyDispatchers.values());
+        keyDispatchers.clear();
+        toDispose.forEach(PropertyDispatcher::dispose);
+    }
+
+    /**
+     * @return true if this map has been disposed, false otherwise.
+     */
+    public boolean isDisposed() {
+        eventLoop.checkInEventLoop();
+        return dispatcher.isDisposed();
+    }
+
+    private void dispatchChange(MapChange<K, V> change) {
+        PropertyDispatcher<Optional<V>> keyDispatcher = keyDispatchers.get(change.getKey());
+        
+        if (keyDispatcher != null) {
+            isDispatchingKey = true;
+            try {
+                keyDispatcher.dispatch(change.getNewValue());
+            } finally {
+                isDispatchingKey = false;
+            }
+        }
+        
+        if (dispatcher.getSubscriberCount() > 0)
+            dispatcher.dispatch(change);
+    }
+
+    private boolean canModify() {
+        eventLoop.checkInEventLoop();
+
+        if (dispatcher.isDisposed())
+            return false;
+
+        // not using checkState, to avoid building the message for every change
+        if (isDispatchingKey || dispatcher.isDispatching())
+            throw new IllegalStateException("Cannot modify a map property while it is dispatching a change");
+
+        return true;
+    }
+
+    private void releaseIfUnobserved(K key, PropertyDispatcher<Optional<V>> keyDispatcher) {
+        if (keyDispatcher.getSubscriberCount() == 0)
+            keyDispatchers.remove(key, keyDispatcher);
+    }
+
+    /**
+     * Publishes the value of a single key. The dispatcher of the key is
+     * created when the key is first observed and released once it is no
+     * longer observed, so only observed keys cost anything to track.
+     */
+    private final class KeyPublisher implements PropertyPublisher<Optional<V>> {
+        
+        private final K key;
+
+        KeyPublisher(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public Optional<V> get() {
+            return Optional.ofNullable(entries.get(key));
+        }
+
+        @Override
+        public Subscription subscribe(PropertyObserver<Optional<V>> observer) {
+            if (dispatcher.isDisposed()) {
+                PropertySubscriber<Optional<V>> subscriber = new PropertySubscriber<>(observer);
+                subscriber.onChanged(get());
+                subscriber.onDisposed();
+                return subscriber;
+            }
+            
+            PropertyDispatcher<Optional<V>> keyDispatcher = 
+                    keyDispatchers.computeIfAbsent(key, k -> createPropertyDispatcher());
+            
+            PropertySubscriber<Optional<V>> subscriber = keyDispatcher.subscribe(observer);
+            subscriber.doOnDispose(() -> releaseIfUnobserved(key, keyDispatcher));
+            subscriber.onChanged(get());
+            
+            return subscriber;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A view of a {@link ListStream} that holds the result of applying a mapper to
+ * each element of the source.
+ * 
+ * @param <S>
+ *            the type of elements in the source list
+ * @param <R>
+ *            the type of elements in this view
+ */
+final class MappedListStream<S, R> extends ListStream<R> {
+
+    private final Function<? super S, ? extends R> mapper;
+
+    MappedListStream(ListStream<S> source, Function<? super S, ? extends R> mapper) {
+        super(map(source.elements(), mapper));
+        this.mapper = mapper;
+        onDisposed(source.changes().observe(this::onSourceChanged, this::dispose));
+    }
+
+    private void onSourceChanged(ListChange<S> change) {
+        switch (change.getType()) {
+        case ADD:
+            insertElements(change.getIndex(), map(change.getAdded(), mapper));
+            break;
+        case REMOVE:
+            removeElements(change.getIndex(), change.getCount());
+            break;
+        case SET:
+            replaceElements(change.getIndex(), map(change.getAdded(), mapper));
+            break;
+        case MOVE:
+            moveElement(change.getFromIndex(), change.getIndex());
+            break;
+        }
+    }
+
+    private static <S, R> List<R> map(List<S> elements, Function<? super S, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(elements.size());
+        for (S element : elements)
+            mapped.add(mapper.apply(element));
+        return mapped;
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A view of a {@link ListStream} that holds the elements of the source sorted
+ * by a comparator. Elements are located by binary search, so adding, removing
+ * or setting an element of the source costs O(log n) comparisons.
+ * 
+ * @param <E>
+ *            the type of elements in the list
+ */
+final class SortedListStream<E> extends ListStream<E> {
+
+    private final Comparator<? super E> comparator;
+
+    SortedListStream(ListStream<E> source, Comparator<? super E> comparator) {
+        super(sort(source.elements(), comparator));
+        this.comparator = comparator;
+        onDisposed(source.changes().observe(this::onSourceChanged, this::dispose));
+    }
+
+    private void onSourceChanged(ListChange<E> change) {
+        switch (change.getType()) {
+        case ADD:
+            for (E added : change.getAdded())
+                insertElements(insertionIndex(added), Collections.singletonList(added));
+            break;
+        case REMOVE:
+            for (E removed : change.getRemoved())
+                removeElements(indexOf(removed), 1);
+            break;
+        case SET:
+            for (int i = 0; i < change.getCount(); i++)
+                onSet(change.getRemoved().get(i), change.getAdded().get(i));
+            break;
+        case MOVE:
+            // the order of the source does not affect this view
+            break;
+        }
+    }
+    
+    private void onSet(E oldValue, E newValue) {
+        int index = indexOf(oldValue);
+        
+        if (isInOrderAt(index, newValue)) {
+            replaceElements(index, Collections.singletonList(newValue));
+        } else {
+            removeElements(index, 1);
+            insertElements(insertionIndex(newValue), Collections.singletonList(newValue));
+        }
+    }
+    
+    private boolean isInOrderAt(int index, E value) {
+        List<E> elements = elements();
+        return (index == 0 || comparator.compare(elements.get(index - 1), value) <= 0) && 
+               (index == elements.size() - 1 || comparator.compare(value, elements.get(index + 1)) <= 0);
+    }
+
+    /**
+     * @return the index after the last element that does not compare greater
+     *         than the provided value.
+     */
+    private int insertionIndex(E value) {
+        List<E> elements = elements();
+        int low = 0;
+        int high = elements.size();
+        
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(elements.get(middle), value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        
+        return low;
+    }
+
+    /**
+     * @return the index of the provided element, preferring the same instance
+     *         over an equal one among the elements that compare equal to it.
+     */
+    private int indexOf(E element) {
+        List<E> elements = elements();
+        int low = 0;
+        int high = elements.size();
+        
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(elements.get(middle), element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        
+        int equalIndex = -1;
+        for (int i = low; i < elements.size() && comparator.compare(elements.get(i), element) == 0; i++) {
+            if (elements.get(i) == element)
+                return i;
+            
+            if (equalIndex < 0 && elements.get(i).equals(element))
+                equalIndex = i;
+        }
+        
+        if (equalIndex < 0)
+            throw new IllegalStateException("Element is not in the sorted view: " + element);
+        
+        return equalIndex;
+    }
+
+    private static <E> List<E> sort(List<E> elements, Comparator<? super E> comparator) {
+        List<E> sorted = new ArrayList<>(elements);
+        sorted.sort(comparator);
+        return sorted;
+    }
+}
@@ -17,10 +17,8 @@ import java.util.Optional;
 import java.util.function.Predicate;
 
 import tigerui.event.operator.OperatorFilter;
-import tigerui.property.PropertyObserver;
-import tigerui.property.PropertySubscriber;
+import tigerui.property.publisher.DerivedPropertyPublisher;
 import tigerui.property.publisher.PropertyPublisher;
-import tigerui.subscription.Subscription;
 
 /**
  * Filters values based on some predicate. Emits an Optional empty if the
@@ -44,31 +42,10 @@ public class OperatorFilterToOptional<M> implements PropertyOperator<M, Optional
     
     @Override
     public PropertyPublisher<Optional<M>> apply(PropertyPublisher<M> source) {
-        
-        return new PropertyPublisher<Optional<M>>() {
-            
-            @Override
-            public Optional<M> get() {
-                return filteredValue(source.get());
-            }
-
-            private Optional<M> filteredValue(M currentValue) {
-                return Optional.of(currentValue).filter(predicate);
-            }
+        return new DerivedPropertyPublisher<>(source, this::filteredValue);
+    }
 
-            @Override
-            public Subscription subscribe(PropertyObserver<Optional<M>> observer) {
-                
-                PropertySubscriber<Optional<M>> subscriber = new PropertySubscriber<>(observer);
-                
-                Subscription sourceSubscriber = 
-                        source.subscribe(PropertyObserver.<M>create(value -> subscriber.onChanged(get()),
-                                                                    subscriber::onDisposed));
-                
-                subscriber.doOnDispose(sourceSubscriber::dispose);
-                
-                return subscriber;
-            }
-        };
+    private Optional<M> filteredValue(M currentValue) {
+        return Optional.of(currentValue).filter(predicate);
     }
 }
@@ -19,10 +19,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import tigerui.property.PropertyObserver;
-import tigerui.property.PropertySubscriber;
+import tigerui.property.publisher.DerivedPropertyPublisher;
 import tigerui.property.publisher.PropertyPublisher;
-import tigerui.subscription.Subscription;
 
 /**
  * A {@link PropertyOperator} that transforms the property stream into a
@@ -46,31 +44,11 @@ public class OperatorIs<M> implements PropertyOperator<M, Boolean> {
 
     @Override
     public PropertyPublisher<Boolean> apply(PropertyPublisher<M> source) {
-        return new PropertyPublisher<Boolean>() {
-            
-            @Override
-            public Boolean get() {
-                return is(source.get());
-            }
-
-            private boolean is(M currentValue) {
-                return values.contains(currentValue);
-            }
+        return new DerivedPropertyPublisher<>(source, this::is);
+    }
 
-            @Override
-            public Subscription subscribe(PropertyObserver<Boolean> observer) {
-                
-                PropertySubscriber<Boolean> isSubscriber = new PropertySubscriber<>(observer);
-                
-                Subscription sourceSubscriber = 
-                        source.subscribe(PropertyObserver.<M>create(value -> isSubscriber.onChanged(get()),
-                                                                    isSubscriber::onDisposed));
-                
-                isSubscriber.doOnDispose(sourceSubscriber::dispose);
-                
-                return isSubscriber;
-            }
-        };
+    private boolean is(M currentValue) {
+        return values.contains(currentValue);
     }
 
     @SuppressWarnings("unchecked")
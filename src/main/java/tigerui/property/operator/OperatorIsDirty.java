@@ -13,10 +13,8 @@
  */
 package tigerui.property.operator;
 
-import tigerui.property.PropertyObserver;
-import tigerui.property.PropertySubscriber;
+import tigerui.property.publisher.DerivedPropertyPublisher;
 import tigerui.property.publisher.PropertyPublisher;
-import tigerui.subscription.Subscription;
 
 public class OperatorIsDirty<M> implements PropertyOperator<M, Boolean> {
 
@@ -28,29 +26,10 @@ public class OperatorIsDirty<M> implements PropertyOperator<M, Boolean> {
     
     @Override
     public PropertyPublisher<Boolean> apply(PropertyPublisher<M> sourcePublisher) {
-        return new PropertyPublisher<Boolean>() {
-            @Override
-            public Boolean get() {
-                return isDirty(sourcePublisher.get());
-            }
-
-            private boolean isDirty(M currentValue) {
-                return ! originalValue.equals(currentValue);
-            }
+        return new DerivedPropertyPublisher<>(sourcePublisher, this::isDirty);
+    }
 
-            @Override
-            public Subscription subscribe(PropertyObserver<Boolean> observer) {
-                
-                PropertySubscriber<Boolean> isDirtySubscriber = new PropertySubscriber<>(observer);
-                
-                Subscription sourceSubscriber = 
-                        sourcePublisher.subscribe(PropertyObserver.create(value -> isDirtySubscriber.onChanged(get()),
-                                                  isDirtySubscriber::onDisposed));
-                
-                isDirtySubscriber.doOnDispose(sourceSubscriber::dispose);
-                
-                return isDirtySubscriber;
-            }
-        };
+    private boolean isDirty(M currentValue) {
+        return ! originalValue.equals(currentValue);
     }
 }
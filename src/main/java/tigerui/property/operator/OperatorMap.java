@@ -15,10 +15,8 @@ package tigerui.property.operator;
 
 import java.util.function.Function;
 
-import tigerui.property.PropertyObserver;
-import tigerui.property.PropertySubscriber;
+import tigerui.property.publisher.DerivedPropertyPublisher;
 import tigerui.property.publisher.PropertyPublisher;
-import tigerui.subscription.Subscription;
 
 public class OperatorMap<S, R> implements PropertyOperator<S, R>{
 
@@ -30,26 +28,6 @@ public class OperatorMap<S, R> implements PropertyOperator<S, R>{
     
     @Override
     public PropertyPublisher<R> apply(PropertyPublisher<S> source) {
-        
-        return new PropertyPublisher<R>() {
-            @Override
-            public R get() {
-                return mapper.apply(source.get());
-            }
-
-            @Override
-            public Subscription subscribe(PropertyObserver<R> observer) {
-                
-                PropertySubscriber<R> subscriber = new PropertySubscriber<>(observer);
-                
-                Subscription sourceSubscriber = 
-                        source.subscribe(PropertyObserver.create(val -> subscriber.onChanged(get()),
-                                                                 subscriber::onDisposed));
-                
-                subscriber.doOnDispose(sourceSubscriber::dispose);
-                
-                return subscriber;
-            }
-        };
+        return new DerivedPropertyPublisher<>(source, mapper);
     }
 }
@@ -17,6 +17,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.function.Function;
 
+import tigerui.dispatcher.PropagationNode;
 import tigerui.property.PropertyObserver;
 import tigerui.property.PropertyStream;
 import tigerui.property.PropertySubscriber;
@@ -52,6 +53,12 @@ public class OperatorSwitchMap<M, R> implements PropertyOperator<M, R> {
             public R get() {
                 return currentStream.get();
             }
+            
+            @Override
+            public int getRank() {
+                // values are emitted both when the source changes and when the current stream changes
+                return Math.max(sourcePublisher.getRank(), currentStream.getRank()) + 1;
+            }
 
             @Override
             public Subscription subscribe(PropertyObserver<R> childObserver) {
@@ -60,8 +67,13 @@ public class OperatorSwitchMap<M, R> implements PropertyOperator<M, R> {
                 PropertySubscriber<R> childSubscriber = new PropertySubscriber<>(childObserver);
                 
                 PropertyObserver<M> sourceObserver = PropertyObserver.create(value -> {
+                    PropertyStream<R> previousStream = currentStream;
                     currentStream = switchMapFunction.apply(value);
-                    sourceSubscription.set(switchMapFunction.apply(value).onChanged(childSubscriber::onChanged));
+                    sourceSubscription.set(currentStream.onChanged(childSubscriber::onChanged));
+                    
+                    // the rank of this stream, and of the nodes downstream of it, may have changed
+                    if (currentStream != previousStream)
+                        PropagationNode.invalidateRanks();
                 } , childSubscriber::onDisposed);
                 
                 Subscription subscription = sourcePublisher.subscribe(sourceObserver);
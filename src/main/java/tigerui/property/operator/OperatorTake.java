@@ -50,6 +50,11 @@ public class OperatorTake<M> implements PropertyOperator<M, M> {
                 return source.get();
             }
             
+            @Override
+            public int getRank() {
+                return source.getRank();
+            }
+            
             @Override
             public Subscription subscribe(PropertyObserver<M> observer) {
                 PropertySubscriber<M> takesubscriber = new TakeSubscriber<>(observer, takeTotal);
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import java.util.function.IntBinaryOperator;
+
+import tigerui.dispatcher.PropagationNode;
+import tigerui.subscription.CompositeSubscription;
+import tigerui.subscription.Subscription;
+
+/**
+ * An {@link IntPropertyStream} that combines the values of two streams, the
+ * primitive equivalent of a
+ * {@link tigerui.property.publisher.CombinePropertyPublisher
+ * CombinePropertyPublisher}.
+ */
+final class CombinedIntPropertyStream extends IntPropertyStream {
+
+    private final IntPropertyStream stream1;
+    private final IntPropertyStream stream2;
+    private final IntBinaryOperator combiner;
+
+    CombinedIntPropertyStream(IntPropertyStream stream1, IntPropertyStream stream2, IntBinaryOperator combiner) {
+        this.stream1 = stream1;
+        this.stream2 = stream2;
+        this.combiner = combiner;
+    }
+
+    @Override
+    int value() {
+        return combiner.applyAsInt(stream1.value(), stream2.value());
+    }
+
+    @Override
+    int rank() {
+        return Math.max(stream1.rank(), stream2.rank()) + 1;
+    }
+
+    @Override
+    Subscription subscribe(IntPropertyObserver observer) {
+        IntPropertySubscriber subscriber = new IntPropertySubscriber(observer);
+
+        new CombineState(subscriber).subscribe();
+
+        return subscriber;
+    }
+
+    /**
+     * The state of a single subscription to this stream.
+     */
+    private final class CombineState {
+        private final IntPropertySubscriber subscriber;
+        private final PropagationNode node;
+        private boolean isSubscribed = false;
+        private int disposeCount = 0;
+        private int value1;
+        private int value2;
+
+        CombineState(IntPropertySubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.node = new PropagationNode(CombinedIntPropertyStream.this::rank, this::emitResult);
+        }
+
+        void subscribe() {
+            // every stream emits its current value when subscribed to
+            Subscription subscription1 = stream1.subscribe(IntPropertyObserver.create(this::onChanged1, this::onDisposed));
+            Subscription subscription2 = stream2.subscribe(IntPropertyObserver.create(this::onChanged2, this::onDisposed));
+
+            subscriber.doOnDispose(new CompositeSubscription(subscription1, subscription2)::dispose);
+
+            isSubscribed = true;
+            node.activate();
+            emitResult();
+
+            if (disposeCount == 2)
+                subscriber.onDisposed();
+        }
+
+        private void onChanged1(int newValue) {
+            value1 = newValue;
+            invalidate();
+        }
+
+        private void onChanged2(int newValue) {
+            value2 = newValue;
+            invalidate();
+        }
+
+        private void invalidate() {
+            if (isSubscribed)
+                node.invalidate();
+        }
+
+        private void emitResult() {
+            subscriber.onChanged(combiner.applyAsInt(value1, value2));
+        }
+
+        private void onDisposed() {
+            disposeCount++;
+
+            if (isSubscribed && disposeCount == 2)
+                subscriber.onDisposed();
+        }
+    }
+}
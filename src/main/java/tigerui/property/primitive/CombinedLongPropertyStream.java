@@ -0,0 +1,116 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import java.util.function.LongBinaryOperator;
+
+import tigerui.dispatcher.PropagationNode;
+import tigerui.subscription.CompositeSubscription;
+import tigerui.subscription.Subscription;
+
+/**
+ * An {@link LongPropertyStream} that combines the values of two streams, the
+ * primitive equivalent of a
+ * {@link tigerui.property.publisher.CombinePropertyPublisher
+ * CombinePropertyPublisher}.
+ */
+final class CombinedLongPropertyStream extends LongPropertyStream {
+
+    private final LongPropertyStream stream1;
+    private final LongPropertyStream stream2;
+    private final LongBinaryOperator combiner;
+
+    CombinedLongPropertyStream(LongPropertyStream stream1, LongPropertyStream stream2, LongBinaryOperator combiner) {
+        this.stream1 = stream1;
+        this.stream2 = stream2;
+        this.combiner = combiner;
+    }
+
+    @Override
+    long value() {
+        return combiner.applyAsLong(stream1.value(), stream2.value());
+    }
+
+    @Override
+    int rank() {
+        return Math.max(stream1.rank(), stream2.rank()) + 1;
+    }
+
+    @Override
+    Subscription subscribe(LongPropertyObserver observer) {
+        LongPropertySubscriber subscriber = new LongPropertySubscriber(observer);
+
+        new CombineState(subscriber).subscribe();
+
+        return subscriber;
+    }
+
+    /**
+     * The state of a single subscription to this stream.
+     */
+    private final class CombineState {
+        private final LongPropertySubscriber subscriber;
+        private final PropagationNode node;
+        private boolean isSubscribed = false;
+        private int disposeCount = 0;
+        private long value1;
+        private long value2;
+
+        CombineState(LongPropertySubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.node = new PropagationNode(CombinedLongPropertyStream.this::rank, this::emitResult);
+        }
+
+        void subscribe() {
+            // every stream emits its current value when subscribed to
+            Subscription subscription1 = stream1.subscribe(LongPropertyObserver.create(this::onChanged1, this::onDisposed));
+            Subscription subscription2 = stream2.subscribe(LongPropertyObserver.create(this::onChanged2, this::onDisposed));
+
+            subscriber.doOnDispose(new CompositeSubscription(subscription1, subscription2)::dispose);
+
+            isSubscribed = true;
+            node.activate();
+            emitResult();
+
+            if (disposeCount == 2)
+                subscriber.onDisposed();
+        }
+
+        private void onChanged1(long newValue) {
+            value1 = newValue;
+            invalidate();
+        }
+
+        private void onChanged2(long newValue) {
+            value2 = newValue;
+            invalidate();
+        }
+
+        private void invalidate() {
+            if (isSubscribed)
+                node.invalidate();
+        }
+
+        private void emitResult() {
+            subscriber.onChanged(combiner.applyAsLong(value1, value2));
+        }
+
+        private void onDisposed() {
+            disposeCount++;
+
+            if (isSubscribed && disposeCount == 2)
+                subscriber.onDisposed();
+        }
+    }
+}
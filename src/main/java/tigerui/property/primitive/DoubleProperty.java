@@ -0,0 +1,152 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import static tigerui.dispatcher.Dispatchers.checkCanDispatch;
+
+import tigerui.EventLoop;
+import tigerui.dispatcher.Dispatchers;
+import tigerui.disposables.Disposable;
+import tigerui.subscription.Subscription;
+
+/**
+ * A property of a double, the primitive equivalent of a
+ * {@link tigerui.property.Property Property}. It upholds the same contract as
+ * a property, but stores, compares and dispatches its value as a double, so
+ * setting the value does not box it or allocate.
+ */
+public final class DoubleProperty extends DoublePropertyStream implements Disposable {
+
+    private final PrimitiveDispatcher dispatcher;
+    private final double initialValue;
+    private final EventLoop eventLoop;
+
+    private double value;
+
+    private DoubleProperty(double initialValue) {
+        this.dispatcher = new PrimitiveDispatcher();
+        this.initialValue = initialValue;
+        this.eventLoop = EventLoop.createEventLoop();
+        this.value = initialValue;
+    }
+
+    /**
+     * Creates a property that is initialized with the provided value.
+     * 
+     * @param initialValue
+     *            some initial value for this property
+     * @return a new {@link DoubleProperty}
+     */
+    public static DoubleProperty create(double initialValue) {
+        return new DoubleProperty(initialValue);
+    }
+
+    /**
+     * Sets the value of this property, see
+     * {@link tigerui.property.Property#setValue(Object) Property.setValue}.
+     * 
+     * @param newValue
+     *            the new value of this property
+     * @throws IllegalStateException
+     *             see {@link Dispatchers#checkCanDispatch()}
+     */
+    public void setValue(double newValue) {
+        eventLoop.checkInEventLoop();
+
+        // blocks reentrant calls
+        if (dispatcher.isDispatching())
+            return;
+
+        // once a property is disposed it is frozen
+        if (dispatcher.isDisposed())
+            return;
+
+        // compared as Double.equals would, so that NaN is equal to itself
+        if (Double.doubleToLongBits(value) == Double.doubleToLongBits(newValue))
+            return;
+
+        checkCanDispatch();
+
+        value = newValue;
+        dispatcher.dispatchChange();
+    }
+
+    /**
+     * Resets this property to its initial value.
+     */
+    public void reset() {
+        setValue(initialValue);
+    }
+
+    /**
+     * Binds this property to the provided property stream. Any value changes
+     * from the bound property stream will be propagated to this property.
+     * 
+     * @param streamToBindTo
+     *            some property stream to bind to
+     * @return a Subscription that can be used to cancel this binding.
+     */
+    public Subscription bind(DoublePropertyStream streamToBindTo) {
+        return streamToBindTo.observe(new DoublePropertyObserver() {
+            @Override
+            public void onChanged(double newValue) {
+                setValue(newValue);
+            }
+
+            @Override
+            public void onDisposed() {
+                // nothing to do, we don't need to dispose the bound property.
+            }
+
+            @Override
+            public boolean isBinding() {
+                return true;
+            }
+        });
+    }
+
+    public boolean hasObservers() {
+        eventLoop.checkInEventLoop();
+        return dispatcher.getSubscriberCount() > 0;
+    }
+
+    @Override
+    public void dispose() {
+        eventLoop.checkInEventLoop();
+        dispatcher.dispose();
+    }
+
+    @Override
+    double value() {
+        return value;
+    }
+
+    @Override
+    int rank() {
+        return 0;
+    }
+
+    @Override
+    Subscription subscribe(DoublePropertyObserver observer) {
+        DoublePropertySubscriber subscriber = new DoublePropertySubscriber(observer, this::value);
+
+        dispatcher.subscribe(subscriber);
+        dispatcher.dispatchChange(subscriber);
+
+        if (dispatcher.isDisposed())
+            subscriber.onDisposed();
+
+        return subscriber;
+    }
+}
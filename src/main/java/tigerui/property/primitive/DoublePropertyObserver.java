@@ -0,0 +1,79 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.DoubleConsumer;
+
+import tigerui.Observer;
+
+/**
+ * An observer of a {@link DoublePropertyStream}, which receives the values of
+ * the property as primitives.
+ */
+public interface DoublePropertyObserver extends Observer<Double> {
+    /**
+     * Called whenever the value of the property that this observer observes
+     * changes.
+     * 
+     * @param newValue
+     *            the new value for the property.
+     */
+    void onChanged(double newValue);
+
+    /**
+     * Called when the property that this observer observes is destroyed.
+     */
+    void onDisposed();
+
+    // Factory methods
+
+    /**
+     * Creates an observer that only observes onChanged events.
+     * 
+     * @param onChanged
+     *            some consumer of onChanged events.
+     * @return a new {@link DoublePropertyObserver}
+     */
+    static DoublePropertyObserver create(DoubleConsumer onChanged) {
+        return create(onChanged, () -> {});
+    }
+
+    /**
+     * Creates an observer that observes both onChanged and onDisposed events.
+     * 
+     * @param onChanged
+     *            some consumer of onChanged events.
+     * @param onDisposed
+     *            some runnable to run when the observed property is destroyed.
+     * @return a new {@link DoublePropertyObserver}
+     */
+    static DoublePropertyObserver create(DoubleConsumer onChanged, Runnable onDisposed) {
+        requireNonNull(onChanged);
+        requireNonNull(onDisposed);
+
+        return new DoublePropertyObserver() {
+            @Override
+            public void onChanged(double newValue) {
+                onChanged.accept(newValue);
+            }
+
+            @Override
+            public void onDisposed() {
+                onDisposed.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+import tigerui.EventLoop;
+import tigerui.property.PropertyStream;
+import tigerui.subscription.Subscription;
+
+/**
+ * A property of an int that can only be observed, the primitive equivalent of
+ * a {@link PropertyStream}. The value is stored, compared and emitted as an
+ * int, so a stream that changes frequently does not box its values.<br>
+ * <br>
+ * NOTES:<br>
+ * 1) An int property stream will emit a new value via
+ * {@link #onChanged(IntConsumer)} when its value changes.<br>
+ * 2) Once the property is disposed it will emit an onDisposed event.<br>
+ * 3) Use {@link #boxed()} or {@link #mapToObj(IntFunction)} to use the
+ * operators of {@link PropertyStream}, at the cost of boxing.
+ * 
+ * @see IntProperty
+ */
+public abstract class IntPropertyStream implements IntSupplier {
+
+    private final EventLoop eventLoop;
+
+    IntPropertyStream() {
+        this.eventLoop = EventLoop.createEventLoop();
+    }
+
+    /**
+     * Gets the current value of this property.
+     * 
+     * @return the current value
+     * @throws IllegalStateException
+     *             if called from a thread other than the one that this property
+     *             was created from.
+     */
+    public final int get() {
+        eventLoop.checkInEventLoop();
+        return value();
+    }
+
+    /**
+     * Same as {@link #get()}.
+     */
+    @Override
+    public final int getAsInt() {
+        return get();
+    }
+
+    /**
+     * @return the rank of this property stream, see
+     *         {@link PropertyStream#getRank()}.
+     */
+    public final int getRank() {
+        return rank();
+    }
+
+    /**
+     * Adds an observer to this property stream.
+     * 
+     * @param observer
+     *            some observer
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription observe(IntPropertyObserver observer) {
+        eventLoop.checkInEventLoop();
+        return subscribe(requireNonNull(observer));
+    }
+
+    /**
+     * Observe onChanged and onDisposed events.
+     * 
+     * @param onChanged
+     *            some consumer of onChanged events
+     * @param onDisposed
+     *            some runnable to run when this property is disposed
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription observe(IntConsumer onChanged, Runnable onDisposed) {
+        return observe(IntPropertyObserver.create(onChanged, onDisposed));
+    }
+
+    /**
+     * Observe onChanged events only.
+     * 
+     * @param onChanged
+     *            some consumer of onChanged events
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onChanged(IntConsumer onChanged) {
+        return observe(IntPropertyObserver.create(onChanged));
+    }
+
+    /**
+     * Observe onDisposed events only.
+     * 
+     * @param onDisposed
+     *            some runnable to run when this property is disposed
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    public final Subscription onDisposed(Runnable onDisposed) {
+        return observe(IntPropertyObserver.create(value -> {}, onDisposed));
+    }
+
+    /**
+     * Transforms this property stream by the provided mapper function.
+     * 
+     * @param mapper
+     *            some function to apply to the values of this property stream.
+     * @return a new {@link IntPropertyStream} with the values transformed by
+     *         the provided mapper.
+     */
+    public final IntPropertyStream map(IntUnaryOperator mapper) {
+        return new MappedIntPropertyStream(this, requireNonNull(mapper));
+    }
+
+    /**
+     * Transforms this property stream into a {@link PropertyStream} by the
+     * provided mapper function.
+     * 
+     * @param mapper
+     *            some function to apply to the values of this property stream.
+     * @return a new {@link PropertyStream} with the values transformed by the
+     *         provided mapper.
+     * @param <R>
+     *            the type of the values of the new property stream
+     */
+    public final <R> PropertyStream<R> mapToObj(IntFunction<? extends R> mapper) {
+        return PropertyStream.create(new IntToObjPublisher<>(this, requireNonNull(mapper)));
+    }
+
+    /**
+     * @return a {@link PropertyStream} of the boxed values of this property
+     *         stream.
+     */
+    public final PropertyStream<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    /**
+     * Combines two int property streams using the provided combiner. The
+     * combined stream emits once per change, even when both streams change as
+     * the result of a single change, see
+     * {@link PropertyStream#combine(PropertyStream, PropertyStream, java.util.function.BiFunction)}.
+     * 
+     * @param stream1
+     *            the first stream to combine
+     * @param stream2
+     *            the second stream to combine
+     * @param combiner
+     *            some function that combines the values of the streams
+     * @return a new {@link IntPropertyStream} of the combined values.
+     */
+    public static IntPropertyStream combine(IntPropertyStream stream1, 
+                                            IntPropertyStream stream2, 
+                                            IntBinaryOperator combiner) {
+        return new CombinedIntPropertyStream(requireNonNull(stream1), requireNonNull(stream2), requireNonNull(combiner));
+    }
+
+    /**
+     * @return the current value, without checking the thread.
+     */
+    abstract int value();
+
+    /**
+     * @return the depth of this stream in the property dependency graph.
+     */
+    abstract int rank();
+
+    /**
+     * Subscribes the provided observer, which is notified of the current
+     * value immediately.
+     * 
+     * @param observer
+     *            some observer
+     * @return a {@link Subscription} that can be used to cancel the
+     *         subscription.
+     */
+    abstract Subscription subscribe(IntPropertyObserver observer);
+}
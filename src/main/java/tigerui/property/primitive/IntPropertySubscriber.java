@@ -0,0 +1,98 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.Callbacks.runSafeCallback;
+import static tigerui.Callbacks.runSafeIntCallback;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * A subscriber of an {@link IntPropertyStream}, the primitive equivalent of a
+ * {@link tigerui.property.PropertySubscriber PropertySubscriber}. It only
+ * notifies its observer when the value differs from the last value it
+ * notified, and stops the observer's exceptions from propagating.
+ */
+final class IntPropertySubscriber extends PrimitiveSubscriber {
+
+    private final IntPropertyObserver observer;
+    private final IntConsumer onChanged;
+    private final IntSupplier source;
+
+    private boolean hasValue = false;
+    private int lastValue;
+
+    /**
+     * Creates a subscriber that is notified of new values directly, see
+     * {@link #onChanged(int)}.
+     * 
+     * @param observer
+     *            the observer to notify
+     */
+    IntPropertySubscriber(IntPropertyObserver observer) {
+        this(observer, null);
+    }
+
+    /**
+     * Creates a subscriber of a {@link PrimitiveDispatcher}.
+     * 
+     * @param observer
+     *            the observer to notify
+     * @param source
+     *            supplies the value of the property when it changes
+     */
+    IntPropertySubscriber(IntPropertyObserver observer, IntSupplier source) {
+        this.observer = requireNonNull(observer);
+        this.onChanged = observer::onChanged;
+        this.source = source;
+    }
+
+    void onChanged(int newValue) {
+        if (isDisposed())
+            return;
+
+        if (hasValue && lastValue == newValue)
+            return;
+
+        hasValue = true;
+        lastValue = newValue;
+
+        runSafeIntCallback(onChanged, newValue);
+    }
+
+    void onDisposed() {
+        if (isDisposed())
+            return;
+
+        runSafeCallback(observer::onDisposed);
+        dispose();
+    }
+
+    @Override
+    void onSourceChanged() {
+        onChanged(source.getAsInt());
+    }
+
+    @Override
+    void onSourceDisposed() {
+        onDisposed();
+    }
+
+    @Override
+    public boolean isBinding() {
+        return observer.isBinding();
+    }
+}
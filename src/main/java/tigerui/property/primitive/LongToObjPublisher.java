@@ -0,0 +1,90 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import java.util.function.LongFunction;
+
+import tigerui.dispatcher.PropagationNode;
+import tigerui.property.PropertyObserver;
+import tigerui.property.PropertySubscriber;
+import tigerui.property.publisher.PropertyPublisher;
+import tigerui.subscription.Subscription;
+
+/**
+ * A {@link PropertyPublisher} of the values of a {@link LongPropertyStream}
+ * transformed to objects, which allows a long property to be used with the
+ * operators of {@link tigerui.property.PropertyStream PropertyStream}.
+ *
+ * @param <R>
+ *            the type of values this publisher provides
+ */
+final class LongToObjPublisher<R> implements PropertyPublisher<R> {
+
+    private final LongPropertyStream source;
+    private final LongFunction<? extends R> mapper;
+
+    LongToObjPublisher(LongPropertyStream source, LongFunction<? extends R> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public R get() {
+        return mapper.apply(source.value());
+    }
+
+    @Override
+    public int getRank() {
+        return source.rank() + 1;
+    }
+
+    @Override
+    public Subscription subscribe(PropertyObserver<R> observer) {
+        PropertySubscriber<R> subscriber = new PropertySubscriber<>(observer);
+        MappedObserver mappedObserver = new MappedObserver(subscriber);
+
+        Subscription sourceSubscription = source.subscribe(mappedObserver);
+
+        mappedObserver.node.activate();
+        subscriber.doOnDispose(sourceSubscription::dispose);
+
+        return subscriber;
+    }
+
+    private final class MappedObserver implements LongPropertyObserver {
+        private final PropertySubscriber<R> subscriber;
+        private final PropagationNode node;
+        private long sourceValue;
+
+        MappedObserver(PropertySubscriber<R> subscriber) {
+            this.subscriber = subscriber;
+            this.node = new PropagationNode(LongToObjPublisher.this::getRank, this::emit);
+        }
+
+        @Override
+        public void onChanged(long newValue) {
+            sourceValue = newValue;
+            node.invalidate();
+        }
+
+        @Override
+        public void onDisposed() {
+            subscriber.onDisposed();
+        }
+
+        private void emit() {
+            subscriber.onChanged(mapper.apply(sourceValue));
+        }
+    }
+}
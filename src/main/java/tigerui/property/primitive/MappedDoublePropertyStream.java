@@ -0,0 +1,89 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import java.util.function.DoubleUnaryOperator;
+
+import tigerui.dispatcher.PropagationNode;
+import tigerui.subscription.Subscription;
+
+/**
+ * An {@link DoublePropertyStream} whose value is computed from the value of a
+ * source stream, the primitive equivalent of a
+ * {@link tigerui.property.publisher.DerivedPropertyPublisher
+ * DerivedPropertyPublisher}.
+ */
+final class MappedDoublePropertyStream extends DoublePropertyStream {
+
+    private final DoublePropertyStream source;
+    private final DoubleUnaryOperator mapper;
+
+    MappedDoublePropertyStream(DoublePropertyStream source, DoubleUnaryOperator mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    double value() {
+        return mapper.applyAsDouble(source.value());
+    }
+
+    @Override
+    int rank() {
+        return source.rank() + 1;
+    }
+
+    @Override
+    Subscription subscribe(DoublePropertyObserver observer) {
+        DoublePropertySubscriber subscriber = new DoublePropertySubscriber(observer);
+        MappedObserver mappedObserver = new MappedObserver(subscriber);
+
+        Subscription sourceSubscription = source.subscribe(mappedObserver);
+
+        mappedObserver.node.activate();
+        subscriber.doOnDispose(sourceSubscription::dispose);
+
+        return subscriber;
+    }
+
+    /**
+     * Observes the source for a single subscription, keeping the last value
+     * emitted by the source.
+     */
+    private final class MappedObserver implements DoublePropertyObserver {
+        private final DoublePropertySubscriber subscriber;
+        private final PropagationNode node;
+        private double sourceValue;
+
+        MappedObserver(DoublePropertySubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.node = new PropagationNode(MappedDoublePropertyStream.this::rank, this::emit);
+        }
+
+        @Override
+        public void onChanged(double newValue) {
+            sourceValue = newValue;
+            node.invalidate();
+        }
+
+        @Override
+        public void onDisposed() {
+            subscriber.onDisposed();
+        }
+
+        private void emit() {
+            subscriber.onChanged(mapper.applyAsDouble(sourceValue));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import java.util.function.LongUnaryOperator;
+
+import tigerui.dispatcher.PropagationNode;
+import tigerui.subscription.Subscription;
+
+/**
+ * An {@link LongPropertyStream} whose value is computed from the value of a
+ * source stream, the primitive equivalent of a
+ * {@link tigerui.property.publisher.DerivedPropertyPublisher
+ * DerivedPropertyPublisher}.
+ */
+final class MappedLongPropertyStream extends LongPropertyStream {
+
+    private final LongPropertyStream source;
+    private final LongUnaryOperator mapper;
+
+    MappedLongPropertyStream(LongPropertyStream source, LongUnaryOperator mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    long value() {
+        return mapper.applyAsLong(source.value());
+    }
+
+    @Override
+    int rank() {
+        return source.rank() + 1;
+    }
+
+    @Override
+    Subscription subscribe(LongPropertyObserver observer) {
+        LongPropertySubscriber subscriber = new LongPropertySubscriber(observer);
+        MappedObserver mappedObserver = new MappedObserver(subscriber);
+
+        Subscription sourceSubscription = source.subscribe(mappedObserver);
+
+        mappedObserver.node.activate();
+        subscriber.doOnDispose(sourceSubscription::dispose);
+
+        return subscriber;
+    }
+
+    /**
+     * Observes the source for a single subscription, keeping the last value
+     * emitted by the source.
+     */
+    private final class MappedObserver implements LongPropertyObserver {
+        private final LongPropertySubscriber subscriber;
+        private final PropagationNode node;
+        private long sourceValue;
+
+        MappedObserver(LongPropertySubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.node = new PropagationNode(MappedLongPropertyStream.this::rank, this::emit);
+        }
+
+        @Override
+        public void onChanged(long newValue) {
+            sourceValue = newValue;
+            node.invalidate();
+        }
+
+        @Override
+        public void onDisposed() {
+            subscriber.onDisposed();
+        }
+
+        private void emit() {
+            subscriber.onChanged(mapper.applyAsLong(sourceValue));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import java.util.Comparator;
+
+import tigerui.dispatcher.AbstractDispatcher;
+import tigerui.dispatcher.Dispatcher.Type;
+import tigerui.property.PropertySubscriber;
+
+/**
+ * A property dispatcher for primitive properties. Rather than dispatching the
+ * new value, which would have to be boxed, it dispatches a constant change
+ * signal and each subscriber reads the value from the property. This is still
+ * a {@link Type#PROPERTY} dispatcher, so it is paused during event dispatches
+ * and transactions like any other property dispatcher. A dispatch that was
+ * paused reads the latest value when it is resumed.
+ */
+final class PrimitiveDispatcher extends AbstractDispatcher<Object, PrimitiveSubscriber, PrimitiveSubscriber> {
+
+    private static final Object CHANGED = new Object();
+
+    private static final Comparator<PrimitiveSubscriber> BINDINGS_FIRST = 
+            (subscriber1, subscriber2) -> Boolean.compare(subscriber2.isBinding(), subscriber1.isBinding());
+
+    PrimitiveDispatcher() {
+        super(BINDINGS_FIRST, Type.PROPERTY);
+    }
+
+    /**
+     * Adds a subscriber to this dispatcher, see
+     * {@link tigerui.dispatcher.PropertyDispatcher#subscribe(tigerui.property.PropertyObserver)}.
+     * 
+     * @return the provided subscriber, as a {@link PropertySubscriber} would
+     *         be returned for a property.
+     */
+    @Override
+    public PrimitiveSubscriber subscribe(PrimitiveSubscriber subscriber) {
+        subscriber.dispatchTarget = createBindingAwareTarget(subscriber, signal -> subscriber.onSourceChanged());
+        subscriber.doOnDispose(() -> removeSubscriber(subscriber));
+        addSubscriber(subscriber);
+        
+        return subscriber;
+    }
+
+    /**
+     * Signals every subscriber that the value of the property changed.
+     */
+    void dispatchChange() {
+        dispatch(CHANGED);
+    }
+
+    /**
+     * Signals a single subscriber that the value of the property changed, this
+     * is used to deliver the current value to a new subscriber.
+     * 
+     * @param subscriber
+     *            some subscriber of this dispatcher
+     */
+    void dispatchChange(PrimitiveSubscriber subscriber) {
+        dispatchOrQueue(subscriber.dispatchTarget, CHANGED);
+    }
+
+    @Override
+    protected void dispatchToSubscriber(PrimitiveSubscriber subscriber, Object signal) {
+        subscriber.dispatchTarget.accept(signal);
+    }
+
+    @Override
+    protected void disposeSubscriber(PrimitiveSubscriber subscriber) {
+        subscriber.onSourceDisposed();
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import java.util.function.Consumer;
+
+import tigerui.Observer;
+import tigerui.Subscriber;
+
+/**
+ * A subscriber of a {@link PrimitiveDispatcher}. The dispatcher only signals
+ * that the value of a property changed, the subscriber reads the new value
+ * from the property as a primitive.
+ */
+abstract class PrimitiveSubscriber extends Subscriber implements Observer<Object> {
+
+    // set by the dispatcher when subscribed, so that a dispatch does not allocate a target
+    Consumer<Object> dispatchTarget;
+
+    /**
+     * Called when the value of the property changed, or to deliver the current
+     * value when subscribing.
+     */
+    abstract void onSourceChanged();
+
+    /**
+     * Called when the property is disposed.
+     */
+    abstract void onSourceDisposed();
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.publisher;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.dispatcher.Dispatcher.createPropertyDispatcher;
+
+import tigerui.dispatcher.PropertyDispatcher;
+import tigerui.property.PropertyObserver;
+import tigerui.property.PropertySubscriber;
+import tigerui.subscription.Subscription;
+
+/**
+ * A {@link PropertyPublisher} that caches the latest value of a source
+ * publisher.
+ * <p>
+ * While this publisher has subscribers it keeps a single subscription to the
+ * source, which stores the latest value of the source and dispatches it to all
+ * the subscribers. Getting the value then does not compute it again. Once the
+ * last subscriber is disposed the source subscription is disposed, and getting
+ * the value gets it from the source.
+ *
+ * @param <T>
+ *            the type of value this publisher provides
+ */
+public final class CachedPropertyPublisher<T> implements PropertyPublisher<T> {
+    
+    private final PropertyPublisher<T> source;
+    private final PropertyDispatcher<T> dispatcher;
+    
+    private Subscription sourceSubscription;
+    private boolean isConnecting = false;
+    private T value;
+    
+    /**
+     * @param source
+     *            the publisher whose values to cache
+     */
+    public CachedPropertyPublisher(PropertyPublisher<T> source) {
+        this.source = requireNonNull(source);
+        this.dispatcher = createPropertyDispatcher();
+    }
+
+    @Override
+    public T get() {
+        return isConnected() ? value : source.get();
+    }
+    
+    @Override
+    public int getRank() {
+        // the cached value is dispatched as soon as the source emits it
+        return source.getRank();
+    }
+
+    @Override
+    public Subscription subscribe(PropertyObserver<T> observer) {
+        if (!isConnected() && !dispatcher.isDisposed())
+            connect();
+        
+        PropertySubscriber<T> subscriber = dispatcher.subscribe(observer);
+        subscriber.onChanged(get());
+        
+        if (dispatcher.isDisposed()) {
+            subscriber.onDisposed();
+            return subscriber;
+        }
+        
+        subscriber.doOnDispose(this::disconnectIfUnobserved);
+        
+        return subscriber;
+    }
+    
+    /**
+     * Checks if this publisher currently holds a subscription to its source,
+     * and therefore the latest value of the source.
+     * 
+     * @return true if the value of the source is cached, false otherwise.
+     */
+    public boolean isConnected() {
+        return sourceSubscription != null;
+    }
+    
+    private void connect() {
+        isConnecting = true;
+        try {
+            // the source emits its current value when subscribed to
+            Subscription subscription = source.subscribe(PropertyObserver.create(this::onSourceChanged, 
+                                                                                 this::onSourceDisposed));
+            
+            if (!dispatcher.isDisposed())
+                sourceSubscription = subscription;
+        } finally {
+            isConnecting = false;
+        }
+    }
+    
+    private void disconnectIfUnobserved() {
+        if (!isConnected() || dispatcher.getSubscriberCount() > 0)
+            return;
+        
+        sourceSubscription.dispose();
+        sourceSubscription = null;
+        value = null;
+    }
+    
+    private void onSourceChanged(T newValue) {
+        value = newValue;
+        
+        if (!isConnecting)
+            dispatcher.dispatch(newValue);
+    }
+    
+    private void onSourceDisposed() {
+        sourceSubscription = null;
+        dispatcher.dispose();
+    }
+}
@@ -14,12 +14,16 @@
 package tigerui.property.publisher;
 
 import static java.util.Objects.requireNonNull;
+import static tigerui.Preconditions.checkArgument;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+import tigerui.dispatcher.PropagationNode;
+import tigerui.property.IncrementalCombiner;
 import tigerui.property.PropertyObserver;
 import tigerui.property.PropertyStream;
 import tigerui.property.PropertySubscriber;
@@ -29,58 +33,171 @@ import tigerui.subscription.Subscription;
 /**
  * A {@link PropertyPublisher} that will combine the values of the provided
  * property streams any time the value of any of them change.
+ * <p>
+ * Each subscription keeps the latest value emitted by every stream, so a
+ * change does not require getting the values of the other streams. The values
+ * are either combined again in full, or, when created with an
+ * {@link IncrementalCombiner}, only the change is applied to the previous
+ * result, so the cost of a change does not depend on the number of streams.
+ * <p>
+ * The result is emitted once all the streams that changed have notified of
+ * their change, see {@link PropagationNode}.
  *
+ * @param <T>
+ *            the type of the values being combined
  * @param <R>
  *            the type of the combined result
  */
-public final class CombinePropertyPublisher<R> implements PropertyPublisher<R> {
+public final class CombinePropertyPublisher<T, R> implements PropertyPublisher<R> {
 
-    private final List<PropertyStream<?>> streams;
-    private Supplier<R> combineSupplier;
-    private int disposeCount = 0;
+    private final List<? extends PropertyStream<? extends T>> streams;
+    private final Function<List<T>, R> combineFunction;
+    private final IncrementalCombiner<T, R> incrementalCombiner;
 
-    public CombinePropertyPublisher(Supplier<R> combineSupplier, List<PropertyStream<?>> streams) {
-        this.combineSupplier = requireNonNull(combineSupplier);
-        this.streams = requireNonNull(streams);
+    /**
+     * Creates a publisher that combines all the values any time one of them
+     * changes.
+     * 
+     * @param streams
+     *            the property streams to combine
+     * @param combineFunction
+     *            some function that combines the values of the streams. The
+     *            list it receives is read only and should not be retained
+     *            after the call.
+     */
+    public CombinePropertyPublisher(List<? extends PropertyStream<? extends T>> streams, 
+                                    Function<List<T>, R> combineFunction) {
+        this(streams, requireNonNull(combineFunction), null);
     }
-
+    
     /**
-     * @return true if the disposeCount equals the number of streams that
-     *         have been subscribed to.
+     * Creates a publisher that applies each change to the previous result.
+     * 
+     * @param streams
+     *            the property streams to combine
+     * @param incrementalCombiner
+     *            some combiner that applies changes to the previous result.
      */
-    private boolean incrementDisposeCount() {
-        disposeCount++;
-        return disposeCount == streams.size();
+    public CombinePropertyPublisher(List<? extends PropertyStream<? extends T>> streams, 
+                                    IncrementalCombiner<T, R> incrementalCombiner) {
+        this(streams, null, requireNonNull(incrementalCombiner));
+    }
+    
+    private CombinePropertyPublisher(List<? extends PropertyStream<? extends T>> streams, 
+                                     Function<List<T>, R> combineFunction,
+                                     IncrementalCombiner<T, R> incrementalCombiner) {
+        checkArgument(!streams.isEmpty(), "At least one property stream is required to combine");
+        
+        this.streams = Collections.unmodifiableList(new ArrayList<>(streams));
+        this.combineFunction = combineFunction;
+        this.incrementalCombiner = incrementalCombiner;
     }
 
     @Override
     public R get() {
-        return combineSupplier.get();
+        Object[] values = new Object[streams.size()];
+        
+        for (int i = 0; i < values.length; i++)
+            values[i] = streams.get(i).get();
+        
+        return combine(asList(values));
     }
 
     @Override
-    public Subscription subscribe(PropertyObserver<R> observer) {
+    public int getRank() {
+        int rank = 0;
+        
+        for (int i = 0; i < streams.size(); i++)
+            rank = Math.max(rank, streams.get(i).getRank());
+        
+        return rank + 1;
+    }
 
+    @Override
+    public Subscription subscribe(PropertyObserver<R> observer) {
         PropertySubscriber<R> combineSubscriber = new PropertySubscriber<>(observer);
-
-        List<Subscription> subscriptions =
-            streams.stream()
-                       .map(subscribe(combineSubscriber))
-                       .collect(Collectors.toList());
-
-        CompositeSubscription subscription = new CompositeSubscription(subscriptions);
-
-        combineSubscriber.doOnDispose(subscription::dispose);
+        
+        new CombineState(combineSubscriber).subscribe();
 
         return combineSubscriber;
     }
-
-    private Function<? super PropertyStream<?>, ? extends Subscription> subscribe(PropertySubscriber<R> combineSubscriber) {
-
-        return stream -> stream.observe(value -> combineSubscriber.onChanged(get()), 
-                                        () -> {
-                                            if (incrementDisposeCount())
-                                                combineSubscriber.onDisposed();
-                                        });
+    
+    private R combine(List<T> values) {
+        return combineFunction != null ? combineFunction.apply(values) : incrementalCombiner.combine(values);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asList(Object[] values) {
+        return Collections.unmodifiableList((List<T>) Arrays.asList(values));
+    }
+    
+    /**
+     * The state of a single subscription to this publisher.
+     */
+    private final class CombineState {
+        private final PropertySubscriber<R> combineSubscriber;
+        private final Object[] values;
+        private final List<T> valuesView;
+        private final PropagationNode node;
+        private boolean isSubscribed = false;
+        private int disposeCount = 0;
+        private R result;
+        
+        CombineState(PropertySubscriber<R> combineSubscriber) {
+            this.combineSubscriber = combineSubscriber;
+            this.values = new Object[streams.size()];
+            this.valuesView = asList(values);
+            this.node = new PropagationNode(CombinePropertyPublisher.this::getRank, this::emitResult);
+        }
+        
+        void subscribe() {
+            List<Subscription> subscriptions = new ArrayList<>(streams.size());
+            
+            // every stream emits its current value when subscribed to
+            for (int i = 0; i < streams.size(); i++)
+                subscriptions.add(subscribe(i, streams.get(i)));
+            
+            combineSubscriber.doOnDispose(new CompositeSubscription(subscriptions)::dispose);
+            
+            isSubscribed = true;
+            node.activate();
+            result = combine(valuesView);
+            combineSubscriber.onChanged(result);
+            
+            if (disposeCount == streams.size())
+                combineSubscriber.onDisposed();
+        }
+        
+        private <V extends T> Subscription subscribe(int index, PropertyStream<V> stream) {
+            return stream.observe(value -> onChanged(index, value), this::onDisposed);
+        }
+        
+        @SuppressWarnings("unchecked")
+        private void onChanged(int index, T newValue) {
+            T oldValue = (T) values[index];
+            values[index] = newValue;
+            
+            if (!isSubscribed)
+                return;
+            
+            if (incrementalCombiner != null)
+                result = incrementalCombiner.update(result, index, oldValue, newValue);
+            
+            node.invalidate();
+        }
+        
+        private void emitResult() {
+            if (combineFunction != null)
+                result = combineFunction.apply(valuesView);
+            
+            combineSubscriber.onChanged(result);
+        }
+        
+        private void onDisposed() {
+            disposeCount++;
+            
+            if (isSubscribed && disposeCount == streams.size())
+                combineSubscriber.onDisposed();
+        }
     }
 }
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.publisher;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+
+import tigerui.dispatcher.PropagationNode;
+import tigerui.property.PropertyObserver;
+import tigerui.property.PropertySubscriber;
+import tigerui.subscription.Subscription;
+
+/**
+ * A {@link PropertyPublisher} whose value is computed from the value of a
+ * source publisher. When the source changes, the value is recomputed from the
+ * new value of the source once all the publishers of a lower rank have been
+ * evaluated, see {@link PropagationNode}.
+ *
+ * @param <S>
+ *            the type of the source values
+ * @param <R>
+ *            the type of the derived values
+ */
+public final class DerivedPropertyPublisher<S, R> implements PropertyPublisher<R> {
+    
+    private final PropertyPublisher<S> source;
+    private final Function<S, R> derivation;
+    
+    /**
+     * @param source
+     *            the publisher to derive values from
+     * @param derivation
+     *            some function that computes the derived value from the value
+     *            of the source
+     */
+    public DerivedPropertyPublisher(PropertyPublisher<S> source, Function<S, R> derivation) {
+        this.source = requireNonNull(source);
+        this.derivation = requireNonNull(derivation);
+    }
+
+    @Override
+    public R get() {
+        return derivation.apply(source.get());
+    }
+    
+    @Override
+    public int getRank() {
+        return source.getRank() + 1;
+    }
+
+    @Override
+    public Subscription subscribe(PropertyObserver<R> observer) {
+        PropertySubscriber<R> subscriber = new PropertySubscriber<>(observer);
+        DerivedObserver derivedObserver = new DerivedObserver(subscriber);
+        
+        Subscription sourceSubscriber = source.subscribe(derivedObserver);
+        
+        derivedObserver.node.activate();
+        subscriber.doOnDispose(sourceSubscriber::dispose);
+        
+        return subscriber;
+    }
+    
+    /**
+     * Observes the source for a single subscription, keeping the last value
+     * emitted by the source so that the derived value can be computed without
+     * getting the value of the source again.
+     */
+    private final class DerivedObserver implements PropertyObserver<S> {
+        private final PropertySubscriber<R> subscriber;
+        private final PropagationNode node;
+        private S sourceValue;
+        
+        DerivedObserver(PropertySubscriber<R> subscriber) {
+            this.subscriber = subscriber;
+            this.node = new PropagationNode(DerivedPropertyPublisher.this::getRank, this::emit);
+        }
+
+        @Override
+        public void onChanged(S newValue) {
+            sourceValue = newValue;
+            node.invalidate();
+        }
+
+        @Override
+        public void onDisposed() {
+            subscriber.onDisposed();
+        }
+        
+        private void emit() {
+            subscriber.onChanged(derivation.apply(sourceValue));
+        }
+    }
+}
@@ -16,6 +16,7 @@ package tigerui.property.publisher;
 import java.util.function.Supplier;
 
 import tigerui.Publisher;
+import tigerui.dispatcher.PropagationNode;
 import tigerui.dispatcher.PropertyDispatcher;
 import tigerui.property.PropertyObserver;
 import tigerui.property.PropertySubscriber;
@@ -38,6 +39,19 @@ public interface PropertyPublisher<T> extends Publisher<T, PropertyObserver<T>>,
      */
     Subscription subscribe(PropertyObserver<T> observer);
     
+    /**
+     * Gets the rank of this publisher, which is its depth in the property
+     * dependency graph. A publisher that derives its values from other
+     * publishers must have a greater rank than all of them, so that it is
+     * evaluated after them when a change is propagated, see
+     * {@link PropagationNode}.
+     * 
+     * @return the rank of this publisher, zero for a source of values.
+     */
+    default int getRank() {
+        return 0;
+    }
+    
 	/**
 	 * Creates a default {@link PropertyPublisher}.
 	 * 
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.swing;
+
+import static tigerui.EventLoop.SWING_EVENT_LOOP;
+
+import javax.swing.BoundedRangeModel;
+import javax.swing.JProgressBar;
+import javax.swing.JSlider;
+import javax.swing.event.ChangeListener;
+
+import tigerui.property.primitive.IntProperty;
+import tigerui.property.primitive.IntPropertyStream;
+import tigerui.subscription.Subscription;
+
+/**
+ * Binds the value of Swing components backed by a {@link BoundedRangeModel},
+ * such as sliders and progress bars, to int properties. Unlike
+ * {@link SliderPropertySource}, the values are never boxed, which matters for
+ * gauges that are updated at a high rate.
+ */
+public enum BoundedRangeProperties {
+    ; // no instances
+
+    /**
+     * Creates an int property that is synchronized with the value of the
+     * provided slider.
+     * 
+     * @param slider
+     *            some slider
+     * @return a new {@link IntProperty} that is synchronized with the slider
+     *         until it is disposed.
+     * @throws IllegalStateException
+     *             if not called on the Swing event dispatch thread.
+     */
+    public static IntProperty createSliderProperty(JSlider slider) {
+        return createProperty(slider.getModel());
+    }
+
+    /**
+     * Creates an int property that is synchronized with the value of the
+     * provided bounded range model.
+     * 
+     * @param model
+     *            some bounded range model
+     * @return a new {@link IntProperty} that is synchronized with the model
+     *         until it is disposed.
+     * @throws IllegalStateException
+     *             if not called on the Swing event dispatch thread.
+     */
+    public static IntProperty createProperty(BoundedRangeModel model) {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        
+        IntProperty property = IntProperty.create(model.getValue());
+        
+        // a change made by the property is ignored, since the property is dispatching it
+        ChangeListener listener = event -> property.setValue(model.getValue());
+        model.addChangeListener(listener);
+        
+        property.onChanged(model::setValue);
+        property.onDisposed(() -> model.removeChangeListener(listener));
+        
+        return property;
+    }
+
+    /**
+     * Binds the value of the provided progress bar to the provided stream.
+     * 
+     * @param progressBar
+     *            some progress bar
+     * @param value
+     *            some stream of the value to display
+     * @return a {@link Subscription} that can be used to cancel the binding.
+     * @throws IllegalStateException
+     *             if not called on the Swing event dispatch thread.
+     */
+    public static Subscription bindProgressBar(JProgressBar progressBar, IntPropertyStream value) {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        return value.onChanged(progressBar::setValue);
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.swing;
+
+import static tigerui.EventLoop.SWING_EVENT_LOOP;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+
+import tigerui.disposables.Disposable;
+import tigerui.event.EventStream;
+import tigerui.event.EventSubject;
+
+/**
+ * The text of a Swing text component, published as a stream of
+ * {@link TextEdit}s rather than as whole values.<br>
+ * <br>
+ * Unlike {@link TextPropertySource}, which copies the entire document into a
+ * new String on every insert or removal, this only reads the inserted
+ * characters of each edit, and only when the edit stream has observers. The
+ * full text is materialized lazily by {@link #get()} and cached until the
+ * next edit, so the per-keystroke cost is proportional to the size of the
+ * edit rather than the size of the document.
+ */
+public final class IncrementalText implements Disposable {
+
+    private final JTextComponent textComponent;
+    private final Document document;
+    private final EventSubject<TextEdit> edits;
+    private final DocumentListener listener;
+    private String text;
+    private boolean isDisposed;
+
+    private IncrementalText(JTextComponent textComponent) {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        this.textComponent = textComponent;
+        this.document = textComponent.getDocument();
+        this.edits = EventSubject.create();
+        this.listener = new EditListener();
+        document.addDocumentListener(listener);
+    }
+
+    /**
+     * Creates a new {@link IncrementalText} for the provided text component.
+     * 
+     * @param textComponent
+     *            some text component to track the text of.
+     * @return a new {@link IncrementalText}.
+     * @throws IllegalStateException
+     *             if not called on the Swing event dispatch thread.
+     */
+    public static IncrementalText create(JTextComponent textComponent) {
+        return new IncrementalText(textComponent);
+    }
+
+    /**
+     * @return a stream of the edits made to the document, in the order they
+     *         were made.
+     */
+    public EventStream<TextEdit> edits() {
+        return edits;
+    }
+
+    /**
+     * Gets the full text of the document. The text is copied out of the
+     * document on the first call after an edit and cached until the next one.
+     * 
+     * @return the current text of the document.
+     * @throws IllegalStateException
+     *             if not called on the Swing event dispatch thread.
+     */
+    public String get() {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        if (text == null)
+            text = textComponent.getText();
+        return text;
+    }
+
+    /**
+     * Replaces the text of the document. This is reported as a removal
+     * followed by an insert.
+     * 
+     * @param newText
+     *            the new text for the document.
+     * @throws IllegalStateException
+     *             if not called on the Swing event dispatch thread.
+     */
+    public void setText(String newText) {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        textComponent.setText(newText);
+    }
+
+    @Override
+    public void dispose() {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        if (isDisposed)
+            return;
+
+        isDisposed = true;
+        document.removeDocumentListener(listener);
+        edits.dispose();
+        text = null;
+    }
+
+    private final class EditListener implements DocumentListener {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            text = null;
+            if (edits.hasObservers())
+                edits.publish(new TextEdit(e.getOffset(), 0, insertedText(e)));
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            text = null;
+            if (edits.hasObservers())
+                edits.publish(new TextEdit(e.getOffset(), e.getLength(), ""));
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            // nothing to do. Change updates relate to text attributes.
+        }
+
+        private String insertedText(DocumentEvent e) {
+            try {
+                return document.getText(e.getOffset(), e.getLength());
+            } catch (BadLocationException exception) {
+                throw new IllegalStateException("Inserted text is not in the document", exception);
+            }
+        }
+    }
+}
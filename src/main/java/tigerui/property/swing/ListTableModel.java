@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.swing;
+
+import static java.util.Objects.requireNonNull;
+import static tigerui.EventLoop.SWING_EVENT_LOOP;
+
+import javax.swing.table.AbstractTableModel;
+
+import tigerui.disposables.Disposable;
+import tigerui.property.collection.ListChange;
+import tigerui.property.collection.ListStream;
+import tigerui.subscription.Subscription;
+
+/**
+ * A Swing table model whose rows are the elements of a {@link ListStream}.
+ * Each change to the list fires a table event for the affected rows only, so
+ * a change to one row of a large table does not repaint or re-sort the whole
+ * table.<br>
+ * <br>
+ * Subclasses define the columns by implementing {@link #getColumnCount()} and
+ * {@link #getValueAt(Object, int)}.
+ * 
+ * @param <E>
+ *            the type of the rows of the table
+ */
+public abstract class ListTableModel<E> extends AbstractTableModel implements Disposable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ListStream<E> rows;
+    private final Subscription subscription;
+
+    /**
+     * @param rows
+     *            the list stream that provides the rows of this model, it must
+     *            have been created on the Swing event dispatch thread.
+     * @throws IllegalStateException
+     *             if not called on the Swing event dispatch thread.
+     */
+    protected ListTableModel(ListStream<E> rows) {
+        SWING_EVENT_LOOP.checkInEventLoop();
+        this.rows = requireNonNull(rows);
+        this.subscription = rows.changes().onEvent(this::onRowsChanged);
+    }
+
+    /**
+     * Gets the value of a cell for the provided row.
+     * 
+     * @param row
+     *            the element of the list stream for the row
+     * @param columnIndex
+     *            the index of the column
+     * @return the value of the cell.
+     */
+    protected abstract Object getValueAt(E row, int columnIndex);
+
+    /**
+     * @param rowIndex
+     *            the index of some row
+     * @return the element of the list stream for the provided row.
+     */
+    public final E getRow(int rowIndex) {
+        return rows.get(rowIndex);
+    }
+
+    @Override
+    public final int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public final Object getValueAt(int rowIndex, int columnIndex) {
+        return getValueAt(rows.get(rowIndex), columnIndex);
+    }
+
+    /**
+     * Stops this model from tracking changes to its list stream.
+     */
+    @Override
+    public void dispose() {
+        subscription.dispose();
+    }
+
+    private void onRowsChanged(ListChange<E> change) {
+        int firstRow = change.getIndex();
+        int lastRow = firstRow + change.getCount() - 1;
+        
+        switch (change.getType()) {
+        case ADD:
+            fireTableRowsInserted(firstRow, lastRow);
+            break;
+        case REMOVE:
+            fireTableRowsDeleted(firstRow, lastRow);
+            break;
+        case SET:
+            fireTableRowsUpdated(firstRow, lastRow);
+            break;
+        case MOVE:
+            fireTableRowsUpdated(Math.min(change.getFromIndex(), firstRow), Math.max(change.getFromIndex(), firstRow));
+            break;
+        }
+    }
+}
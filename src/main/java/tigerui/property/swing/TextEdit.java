@@ -0,0 +1,121 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.swing;
+
+import static java.util.Objects.requireNonNull;
+
+import tigerui.Preconditions;
+
+/**
+ * An edit applied to a text document: the characters in
+ * [offset, offset + removedLength) were removed, and then insertedText was
+ * inserted at offset. Each edit reported by {@link IncrementalText} is
+ * either a pure insert or a pure removal.
+ */
+public final class TextEdit {
+    private final int offset;
+    private final int removedLength;
+    private final String insertedText;
+
+    /**
+     * Creates a new text edit.
+     * 
+     * @param offset
+     *            the offset in the document at which the edit occurred.
+     * @param removedLength
+     *            the number of characters removed at the offset.
+     * @param insertedText
+     *            the text inserted at the offset, empty if nothing was
+     *            inserted.
+     * @throws IllegalArgumentException
+     *             if the offset or removed length is negative
+     */
+    public TextEdit(int offset, int removedLength, String insertedText) {
+        Preconditions.checkArgument(offset >= 0, "Offset cannot be negative");
+        Preconditions.checkArgument(removedLength >= 0, "Removed length cannot be negative");
+        this.offset = offset;
+        this.removedLength = removedLength;
+        this.insertedText = requireNonNull(insertedText);
+    }
+
+    /**
+     * @return the offset in the document at which this edit occurred.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the number of characters removed at the offset.
+     */
+    public int getRemovedLength() {
+        return removedLength;
+    }
+
+    /**
+     * @return the text inserted at the offset, empty if nothing was inserted.
+     */
+    public String getInsertedText() {
+        return insertedText;
+    }
+
+    /**
+     * Applies this edit to the provided text, which must be the text the
+     * edit was made against.
+     * 
+     * @param text
+     *            the text before this edit.
+     * @return the text after this edit.
+     */
+    public String applyTo(String text) {
+        return new StringBuilder(text.length() - removedLength + insertedText.length())
+                .append(text, 0, offset)
+                .append(insertedText)
+                .append(text, offset + removedLength, text.length())
+                .toString();
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + offset;
+        result = prime * result + removedLength;
+        result = prime * result + insertedText.hashCode();
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TextEdit other = (TextEdit) obj;
+        if (offset != other.offset)
+            return false;
+        if (removedLength != other.removedLength)
+            return false;
+        if (!insertedText.equals(other.insertedText))
+            return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "TextEdit [offset=" + offset + ", removedLength=" + removedLength + ", insertedText=" + insertedText + "]";
+    }
+}
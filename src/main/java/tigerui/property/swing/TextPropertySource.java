@@ -23,7 +23,8 @@ import tigerui.disposables.Disposable;
 import tigerui.property.Property;
 
 /**
- * A Swing text property source.
+ * A Swing text property source. Every edit copies the whole document into a
+ * new String, for large documents consider {@link IncrementalText} instead.
  */
 public class TextPropertySource extends SwingPropertySource<String, DocumentListener, Document> {
 
@@ -13,26 +13,44 @@
  */
 package tigerui.subscription;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import tigerui.disposables.Disposable;
-
+/**
+ * A subscription composed of other subscriptions, which are disposed in the
+ * order they were added when this subscription is disposed.
+ * <p>
+ * The subscriptions are held in an array. A removed subscription leaves an
+ * empty slot, rather than shifting the subscriptions after it, and the empty
+ * slots are reclaimed when the array is full. Removing a subscription searches
+ * for it, so it is linear in the number of subscriptions, and as with a list
+ * the first added of equal subscriptions is removed.
+ */
 public class CompositeSubscription implements Subscription {
 
-    private final List<Subscription> subscriptions = new ArrayList<>();
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+    private static final int INITIAL_CAPACITY = 4;
+    
+    private Subscription[] subscriptions;
+    
+    // the number of slots in use, including the empty slots of removed subscriptions
+    private int size;
+    private int removedCount = 0;
     private boolean isDisposed = false;
     
     public CompositeSubscription(List<Subscription> subscriptions) {
-        this.subscriptions.addAll(subscriptions);
+        this.subscriptions = subscriptions.toArray(new Subscription[subscriptions.size()]);
+        this.size = this.subscriptions.length;
     }
     
     public CompositeSubscription(Subscription... subscriptions) {
         this(Arrays.asList(subscriptions));
     }
     
-    public CompositeSubscription() {}
+    public CompositeSubscription() {
+        this.subscriptions = NO_SUBSCRIPTIONS;
+        this.size = 0;
+    }
     
     @Override
     public void dispose() {
@@ -40,8 +58,18 @@ public class CompositeSubscription implements Subscription {
             return;
         
         isDisposed = true;
-        new ArrayList<>(subscriptions).forEach(Disposable::dispose);
-        subscriptions.clear();
+        
+        Subscription[] subscriptionsToDispose = subscriptions;
+        int sizeToDispose = size;
+        
+        subscriptions = NO_SUBSCRIPTIONS;
+        size = 0;
+        removedCount = 0;
+        
+        for (int i = 0; i < sizeToDispose; i++) {
+            if (subscriptionsToDispose[i] != null)
+                subscriptionsToDispose[i].dispose();
+        }
     }
 
     @Override
@@ -50,13 +78,54 @@ public class CompositeSubscription implements Subscription {
     }
     
     public void add(Subscription subscription) {
-        if (isDisposed)
+        if (isDisposed) {
             subscription.dispose();
-        else
-            subscriptions.add(subscription);
+            return;
+        }
+        
+        if (size == subscriptions.length)
+            makeRoom();
+        
+        subscriptions[size++] = subscription;
     }
     
     public void remove(Subscription subscription) {
-        subscriptions.remove(subscription);
+        for (int i = 0; i < size; i++) {
+            if (subscriptions[i] != null && subscription.equals(subscriptions[i])) {
+                subscriptions[i] = null;
+                removedCount++;
+                trimEmptySlots();
+                return;
+            }
+        }
+    }
+    
+    private void trimEmptySlots() {
+        while (size > 0 && subscriptions[size - 1] == null) {
+            size--;
+            removedCount--;
+        }
+    }
+    
+    private void makeRoom() {
+        // reclaim the empty slots if that frees at least half the array, otherwise grow it
+        if (removedCount > 0 && removedCount >= size / 2) {
+            compact();
+        } else {
+            subscriptions = Arrays.copyOf(subscriptions, Math.max(INITIAL_CAPACITY, subscriptions.length * 2));
+        }
+    }
+    
+    private void compact() {
+        int compactedSize = 0;
+        
+        for (int i = 0; i < size; i++) {
+            if (subscriptions[i] != null)
+                subscriptions[compactedSize++] = subscriptions[i];
+        }
+        
+        Arrays.fill(subscriptions, compactedSize, size, null);
+        size = compactedSize;
+        removedCount = 0;
     }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.subscription;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A weak reference to the owner of a subscription, such as a view, that
+ * disposes the subscription once the owner has been garbage collected. This
+ * allows a view that is abandoned without disposing its subscriptions to stop
+ * receiving dispatches, and to be collected itself.
+ * <p>
+ * The subscription is disposed either when the observer that uses this
+ * reference finds that the owner was collected, see {@link #disposeIfCleared()},
+ * or when the reference is purged from the queue of the thread it was created
+ * on, which happens every time a new owner reference is created on that
+ * thread. In both cases the subscription is disposed on the thread it was
+ * created on.
+ * 
+ * @param <O>
+ *            the type of the owner
+ */
+public final class OwnerReference<O> extends WeakReference<O> {
+    
+    private static final ThreadLocal<ReferenceQueue<Object>> CLEARED_REFERENCES = ThreadLocal.withInitial(ReferenceQueue::new);
+    
+    private Subscription subscription = Subscription.DISPOSED_SUBSCRIPTION;
+    private boolean isCleared = false;
+
+    private OwnerReference(O owner, ReferenceQueue<Object> queue) {
+        super(requireNonNull(owner), queue);
+    }
+
+    /**
+     * Creates a weak reference to the provided owner. The references of the
+     * current thread whose owners have been collected are purged first.
+     * 
+     * @param owner
+     *            some owner to reference weakly
+     * @return a new {@link OwnerReference} for the provided owner.
+     * @param <O>
+     *            the type of the owner
+     */
+    public static <O> OwnerReference<O> create(O owner) {
+        purge();
+        return new OwnerReference<>(owner, CLEARED_REFERENCES.get());
+    }
+
+    /**
+     * Disposes the subscriptions of the references created on the current
+     * thread whose owners have been collected.
+     */
+    public static void purge() {
+        ReferenceQueue<Object> queue = CLEARED_REFERENCES.get();
+        
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null)
+            ((OwnerReference<?>) reference).disposeSubscription();
+    }
+
+    /**
+     * Sets the subscription to dispose once the owner is collected. If the
+     * owner was already collected the subscription is disposed immediately.
+     * 
+     * @param subscription
+     *            the subscription of the owner
+     */
+    public void setSubscription(Subscription subscription) {
+        this.subscription = requireNonNull(subscription);
+        
+        if (isCleared || get() == null)
+            disposeSubscription();
+    }
+
+    /**
+     * Disposes the subscription if the owner has been collected.
+     * 
+     * @return true if the owner has been collected, false otherwise.
+     */
+    public boolean disposeIfCleared() {
+        if (get() != null)
+            return false;
+        
+        disposeSubscription();
+        return true;
+    }
+    
+    private void disposeSubscription() {
+        isCleared = true;
+        subscription.dispose();
+    }
+}
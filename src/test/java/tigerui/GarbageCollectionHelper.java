@@ -0,0 +1,50 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Helps tests that depend on objects being garbage collected.
+ */
+public enum GarbageCollectionHelper {
+    ; // no instances, helper class
+
+    /**
+     * Requests garbage collections until the provided condition holds, or
+     * gives up after a few seconds.
+     * 
+     * @param condition
+     *            some condition that holds once the objects of interest have
+     *            been collected
+     * @return true if the condition holds, false if it did not in time.
+     */
+    public static boolean collectUntil(BooleanSupplier condition) {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (condition.getAsBoolean())
+                return true;
+            
+            System.gc();
+            
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        
+        return condition.getAsBoolean();
+    }
+}
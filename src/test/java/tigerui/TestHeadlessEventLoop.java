@@ -0,0 +1,211 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static tigerui.ThreadedTestHelper.awaitLatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tigerui.disposables.Disposable;
+import tigerui.property.Property;
+
+public class TestHeadlessEventLoop {
+    
+    private HeadlessEventLoop eventLoop;
+    private ThreadedTestHelper testHelper;
+    
+    @Before
+    public void setup() {
+        eventLoop = HeadlessEventLoop.create("headless-test");
+        testHelper = new ThreadedTestHelper(eventLoop::invokeLater);
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testRunsOnItsOwnThread() throws Throwable {
+        assertFalse(eventLoop.isInEventLoop());
+        assertEquals("headless-test", eventLoop.getThreadName());
+        
+        testHelper.runTest(() -> {
+            assertTrue(eventLoop.isInEventLoop());
+            assertEquals("headless-test", Thread.currentThread().getName());
+            eventLoop.checkInEventLoop();
+        });
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testCheckInEventLoopFromWrongThread() {
+        eventLoop.checkInEventLoop();
+    }
+    
+    @Test
+    public void testCreateEventLoopResolvesHeadlessEventLoop() throws Throwable {
+        testHelper.runTest(() -> assertSame(eventLoop, EventLoop.createEventLoop()));
+    }
+    
+    @Test
+    public void testRunnablesFromManyThreadsRunInSubmissionOrder() throws Exception {
+        int producerCount = 4;
+        int runnablesPerProducer = 10000;
+        
+        // only accessed from the event loop
+        List<List<Integer>> runOrder = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++)
+            runOrder.add(new ArrayList<>());
+        
+        CountDownLatch allRun = new CountDownLatch(producerCount * runnablesPerProducer);
+        List<Thread> producers = new ArrayList<>();
+        
+        for (int i = 0; i < producerCount; i++) {
+            List<Integer> producerRunOrder = runOrder.get(i);
+            
+            producers.add(new Thread(() -> {
+                for (int j = 0; j < runnablesPerProducer; j++) {
+                    int index = j;
+                    eventLoop.invokeLater(() -> {
+                        producerRunOrder.add(index);
+                        allRun.countDown();
+                    });
+                }
+            }));
+        }
+        
+        producers.forEach(Thread::start);
+        assertTrue(awaitLatch(allRun));
+        
+        List<Integer> expected = new ArrayList<>();
+        for (int j = 0; j < runnablesPerProducer; j++)
+            expected.add(j);
+        
+        for (List<Integer> producerRunOrder : runOrder)
+            assertEquals(expected, producerRunOrder);
+    }
+    
+    @Test
+    public void testDisposedRunnableDoesNotRun() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean(false);
+        
+        eventLoop.invokeLater(() -> awaitLatch(blocked));
+        Disposable disposable = eventLoop.invokeLater(() -> ran.set(true));
+        eventLoop.invokeLater(done::countDown);
+        
+        disposable.dispose();
+        blocked.countDown();
+        
+        assertTrue(awaitLatch(done));
+        assertFalse(ran.get());
+    }
+    
+    @Test
+    public void testExceptionDoesNotStopEventLoop() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        
+        eventLoop.invokeLater(() -> { throw new RuntimeException(); });
+        eventLoop.invokeLater(done::countDown);
+        
+        assertTrue(awaitLatch(done));
+    }
+    
+    @Test
+    public void testSchedule() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicLong elapsed = new AtomicLong();
+        
+        eventLoop.invokeLater(() -> {
+            long start = System.nanoTime();
+            eventLoop.schedule(() -> {
+                elapsed.set(System.nanoTime() - start);
+                done.countDown();
+            }, 20, MILLISECONDS);
+        });
+        
+        assertTrue(awaitLatch(done));
+        assertTrue(elapsed.get() >= MILLISECONDS.toNanos(20));
+    }
+    
+    @Test
+    public void testScheduleFromOtherThread() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean ranInEventLoop = new AtomicBoolean(false);
+        
+        eventLoop.schedule(() -> {
+            ranInEventLoop.set(eventLoop.isInEventLoop());
+            done.countDown();
+        }, 5, MILLISECONDS);
+        
+        assertTrue(awaitLatch(done));
+        assertTrue(ranInEventLoop.get());
+    }
+    
+    @Test
+    public void testDisposedScheduledRunnableDoesNotRun() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean(false);
+        
+        eventLoop.schedule(() -> ran.set(true), 5, MILLISECONDS).dispose();
+        eventLoop.schedule(done::countDown, 20, MILLISECONDS);
+        
+        assertTrue(awaitLatch(done));
+        assertFalse(ran.get());
+    }
+    
+    @Test
+    public void testPropertiesOnHeadlessEventLoop() throws Throwable {
+        testHelper.runTest(() -> {
+            Property<String> property = Property.create("tacos");
+            List<String> values = new ArrayList<>();
+            
+            property.onChanged(values::add);
+            property.setValue("burritos");
+            
+            assertEquals(Arrays.asList("tacos", "burritos"), values);
+        });
+    }
+    
+    @Test
+    public void testDispose() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean(false);
+        
+        eventLoop.invokeLater(() -> awaitLatch(blocked));
+        eventLoop.invokeLater(() -> ran.set(true));
+        
+        eventLoop.dispose();
+        assertTrue(eventLoop.isDisposed());
+        blocked.countDown();
+        
+        Thread.sleep(50);
+        assertFalse(ran.get());
+    }
+}
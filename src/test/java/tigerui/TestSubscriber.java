@@ -0,0 +1,82 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+public class TestSubscriber {
+    @Test
+    public void testDisposeRunsActionsInOrder() {
+        Runnable[] actions = new Runnable[7];
+        for (int i = 0; i < actions.length; i++)
+            actions[i] = Mockito.mock(Runnable.class);
+        
+        InOrder inOrder = Mockito.inOrder((Object[]) actions);
+        
+        Subscriber subscriber = new Subscriber();
+        for (Runnable action : actions)
+            subscriber.doOnDispose(action);
+        
+        assertFalse(subscriber.isDisposed());
+        
+        subscriber.dispose();
+        
+        assertTrue(subscriber.isDisposed());
+        for (Runnable action : actions)
+            inOrder.verify(action).run();
+        inOrder.verifyNoMoreInteractions();
+    }
+    
+    @Test
+    public void testDisposeTwiceRunsActionsOnce() {
+        Runnable action = Mockito.mock(Runnable.class);
+        
+        Subscriber subscriber = new Subscriber();
+        subscriber.doOnDispose(action);
+        
+        subscriber.dispose();
+        subscriber.dispose();
+        
+        Mockito.verify(action).run();
+    }
+    
+    @Test
+    public void testActionAddedAfterDisposeIsIgnored() {
+        Runnable action = Mockito.mock(Runnable.class);
+        
+        Subscriber subscriber = new Subscriber();
+        subscriber.dispose();
+        subscriber.doOnDispose(action);
+        
+        Mockito.verifyZeroInteractions(action);
+    }
+    
+    @Test
+    public void testFailingActionDoesNotStopOtherActions() {
+        Runnable action = Mockito.mock(Runnable.class);
+        
+        Subscriber subscriber = new Subscriber();
+        subscriber.doOnDispose(() -> { throw new IllegalStateException(); });
+        subscriber.doOnDispose(action);
+        
+        subscriber.dispose();
+        
+        Mockito.verify(action).run();
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import tigerui.TimerWheel.Timeout;
+
+public class TestTimerWheel {
+    
+    private static final long TICK = MILLISECONDS.toNanos(1);
+    
+    @Test
+    public void testTimeoutsRunOnceTheirDeadlineIsReached() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        timerWheel.schedule(() -> ran.add("tacos"), 3 * TICK);
+        timerWheel.schedule(() -> ran.add("burritos"), 5 * TICK);
+        assertFalse(timerWheel.isEmpty());
+        
+        timerWheel.advanceTo(3 * TICK - 1);
+        assertEquals(Arrays.asList(), ran);
+        
+        timerWheel.advanceTo(3 * TICK);
+        assertEquals(Arrays.asList("tacos"), ran);
+        
+        timerWheel.advanceTo(10 * TICK);
+        assertEquals(Arrays.asList("tacos", "burritos"), ran);
+        assertTrue(timerWheel.isEmpty());
+    }
+    
+    @Test
+    public void testTimeoutsBetweenTicksAreNeverRunEarly() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        timerWheel.schedule(() -> ran.add("tacos"), 2 * TICK + 1);
+        
+        timerWheel.advanceTo(2 * TICK);
+        assertEquals(Arrays.asList(), ran);
+        
+        timerWheel.advanceTo(3 * TICK);
+        assertEquals(Arrays.asList("tacos"), ran);
+    }
+    
+    @Test
+    public void testTimeoutsBeyondOneRevolution() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 4);
+        List<Integer> ran = new ArrayList<>();
+        
+        timerWheel.schedule(() -> ran.add(9), 9 * TICK);
+        timerWheel.schedule(() -> ran.add(1), 1 * TICK);
+        
+        timerWheel.advanceTo(5 * TICK);
+        assertEquals(Arrays.asList(1), ran);
+        assertEquals(9 * TICK, timerWheel.nextTickTime());
+        
+        timerWheel.advanceTo(9 * TICK);
+        assertEquals(Arrays.asList(1, 9), ran);
+        assertEquals(Long.MAX_VALUE, timerWheel.nextTickTime());
+    }
+    
+    @Test
+    public void testCancelledTimeoutsDoNotRun() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        timerWheel.schedule(() -> ran.add("tacos"), 2 * TICK).dispose();
+        
+        Timeout notAdded = new Timeout(() -> ran.add("burritos"), 2 * TICK);
+        notAdded.dispose();
+        timerWheel.add(notAdded);
+        
+        timerWheel.advanceTo(5 * TICK);
+        assertEquals(Arrays.asList(), ran);
+        assertTrue(timerWheel.isEmpty());
+    }
+    
+    @Test
+    public void testCancelledTimeoutsAreRemovedImmediately() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        timerWheel.schedule(() -> ran.add("tacos"), 2 * TICK);
+        Timeout burritos = timerWheel.schedule(() -> ran.add("burritos"), 2 * TICK);
+        timerWheel.schedule(() -> ran.add("fajitas"), 2 * TICK);
+        Timeout nachos = timerWheel.schedule(() -> ran.add("nachos"), 4 * TICK);
+        
+        burritos.dispose();
+        nachos.dispose();
+        assertEquals(2 * TICK, timerWheel.nextTickTime());
+        
+        timerWheel.advanceTo(2 * TICK);
+        assertEquals(Arrays.asList("tacos", "fajitas"), ran);
+        assertTrue(timerWheel.isEmpty());
+        assertEquals(Long.MAX_VALUE, timerWheel.nextTickTime());
+    }
+    
+    @Test
+    public void testTimeoutCancelledByTimeoutInSameTickDoesNotRun() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        List<Timeout> toCancel = new ArrayList<>();
+        
+        timerWheel.schedule(() -> toCancel.forEach(Timeout::dispose), 1 * TICK);
+        toCancel.add(timerWheel.schedule(() -> ran.add("tacos"), 1 * TICK));
+        toCancel.add(timerWheel.schedule(() -> ran.add("burritos"), 9 * TICK));
+        
+        timerWheel.advanceTo(10 * TICK);
+        assertEquals(Arrays.asList(), ran);
+        assertTrue(timerWheel.isEmpty());
+    }
+    
+    @Test
+    public void testTimeoutCancelledFromAnotherThreadIsRemovedOnExpiry() throws Exception {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        Timeout timeout = timerWheel.schedule(() -> ran.add("tacos"), 2 * TICK);
+        
+        Thread thread = new Thread(timeout::dispose);
+        thread.start();
+        thread.join();
+        assertFalse(timerWheel.isEmpty());
+        
+        timerWheel.advanceTo(2 * TICK);
+        assertEquals(Arrays.asList(), ran);
+        assertTrue(timerWheel.isEmpty());
+    }
+    
+    @Test
+    public void testTimeoutsScheduledInThePastRunOnTheNextTick() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        timerWheel.advanceTo(5 * TICK);
+        timerWheel.schedule(() -> ran.add("tacos"), 0);
+        
+        timerWheel.advanceTo(5 * TICK);
+        assertEquals(Arrays.asList(), ran);
+        
+        timerWheel.advanceTo(6 * TICK);
+        assertEquals(Arrays.asList("tacos"), ran);
+    }
+    
+    @Test
+    public void testTimeoutScheduledByTimeoutRunsInSameAdvance() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        timerWheel.schedule(() -> {
+            ran.add("tacos");
+            timerWheel.schedule(() -> ran.add("burritos"), 2 * TICK);
+        }, 1 * TICK);
+        
+        timerWheel.advanceTo(4 * TICK);
+        assertEquals(Arrays.asList("tacos", "burritos"), ran);
+    }
+    
+    @Test
+    public void testExceptionInTimeoutDoesNotStopOtherTimeouts() {
+        TimerWheel timerWheel = new TimerWheel(0, 1, MILLISECONDS, 8);
+        List<String> ran = new ArrayList<>();
+        
+        timerWheel.schedule(() -> { throw new RuntimeException(); }, 1 * TICK);
+        timerWheel.schedule(() -> ran.add("tacos"), 1 * TICK);
+        
+        timerWheel.advanceTo(1 * TICK);
+        assertEquals(Arrays.asList("tacos"), ran);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testWheelSizeMustBePowerOfTwo() {
+        new TimerWheel(0, 1, MILLISECONDS, 6);
+    }
+}
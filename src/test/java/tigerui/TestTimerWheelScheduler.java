@@ -0,0 +1,136 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tigerui.disposables.Disposable;
+
+public class TestTimerWheelScheduler {
+    
+    private List<Long> armedDelays;
+    private List<Runnable> invokedLater;
+    private TimerWheelScheduler scheduler;
+    private boolean isInEventLoop;
+    private long nowNanos;
+    
+    @Before
+    public void setup() {
+        armedDelays = new ArrayList<>();
+        invokedLater = new ArrayList<>();
+        isInEventLoop = true;
+        nowNanos = 0;
+        
+        EventLoop eventLoop = new EventLoop() {
+            @Override
+            public boolean isInEventLoop() {
+                return isInEventLoop;
+            }
+
+            @Override
+            public Disposable invokeLater(Runnable runnable) {
+                invokedLater.add(runnable);
+                return () -> {};
+            }
+
+            @Override
+            public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public long now(TimeUnit timeUnit) {
+                return timeUnit.convert(nowNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public String getThreadName() {
+                return "test";
+            }
+        };
+        
+        scheduler = new TimerWheelScheduler(eventLoop, armedDelays::add);
+    }
+    
+    @Test
+    public void testTimerIsArmedOncePerTick() {
+        List<String> ran = new ArrayList<>();
+        
+        scheduler.schedule(() -> ran.add("tacos"), 10, MILLISECONDS);
+        scheduler.schedule(() -> ran.add("burritos"), 10, MILLISECONDS);
+        scheduler.schedule(() -> ran.add("fajitas"), 1, MILLISECONDS);
+        scheduler.schedule(() -> ran.add("nachos"), 20, MILLISECONDS);
+        
+        // armed for the first runnable, then re-armed for the earlier one
+        assertEquals(2, armedDelays.size());
+        assertTrue(armedDelays.get(1) < armedDelays.get(0));
+        
+        advance(12);
+        scheduler.onTimer();
+        
+        assertEquals(Arrays.asList("fajitas", "tacos", "burritos"), ran);
+        
+        // re-armed for the remaining runnable
+        assertEquals(3, armedDelays.size());
+        
+        advance(10);
+        scheduler.onTimer();
+        
+        assertEquals(Arrays.asList("fajitas", "tacos", "burritos", "nachos"), ran);
+    }
+    
+    @Test
+    public void testCancelledRunnableDoesNotRun() {
+        List<String> ran = new ArrayList<>();
+        
+        scheduler.schedule(() -> ran.add("tacos"), 1, MILLISECONDS).dispose();
+        
+        advance(2);
+        scheduler.onTimer();
+        
+        assertEquals(Arrays.asList(), ran);
+        assertEquals(1, armedDelays.size());
+    }
+    
+    @Test
+    public void testScheduleFromAnotherThread() {
+        List<String> ran = new ArrayList<>();
+        
+        isInEventLoop = false;
+        scheduler.schedule(() -> ran.add("tacos"), 1, MILLISECONDS);
+        assertEquals(0, armedDelays.size());
+        
+        isInEventLoop = true;
+        invokedLater.forEach(Runnable::run);
+        assertEquals(1, armedDelays.size());
+        
+        advance(2);
+        scheduler.onTimer();
+        assertEquals(Arrays.asList("tacos"), ran);
+    }
+    
+    private void advance(long millis) {
+        nowNanos += MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestVirtualTimeEventLoop {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testCreateEventLoopResolvesVirtualTimeEventLoop() {
+        assertTrue(eventLoop.isInEventLoop());
+        assertSame(eventLoop, EventLoop.createEventLoop());
+    }
+    
+    @Test
+    public void testClockOnlyMovesWhenAdvanced() {
+        List<String> ran = new ArrayList<>();
+        
+        eventLoop.schedule(() -> ran.add("tacos"), 10, SECONDS);
+        assertEquals(0, eventLoop.now(MILLISECONDS));
+        
+        eventLoop.advanceBy(9999, MILLISECONDS);
+        assertEquals(Arrays.asList(), ran);
+        assertEquals(9999, eventLoop.now(MILLISECONDS));
+        
+        eventLoop.advanceBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList("tacos"), ran);
+        assertEquals(10, eventLoop.now(SECONDS));
+    }
+    
+    @Test
+    public void testRunnablesRunInDueOrder() {
+        List<String> ran = new ArrayList<>();
+        List<Long> times = new ArrayList<>();
+        
+        eventLoop.schedule(() -> ran.add("burritos"), 20, MILLISECONDS);
+        eventLoop.schedule(() -> ran.add("tacos"), 10, MILLISECONDS);
+        eventLoop.schedule(() -> ran.add("fajitas"), 20, MILLISECONDS);
+        eventLoop.invokeLater(() -> ran.add("nachos"));
+        eventLoop.schedule(() -> times.add(eventLoop.now(MILLISECONDS)), 15, MILLISECONDS);
+        
+        eventLoop.advanceTo(1, SECONDS);
+        
+        assertEquals(Arrays.asList("nachos", "tacos", "burritos", "fajitas"), ran);
+        assertEquals(Arrays.asList(15L), times);
+    }
+    
+    @Test
+    public void testRunnablesScheduledWhileAdvancingRunIfDue() {
+        List<Long> times = new ArrayList<>();
+        
+        eventLoop.schedule(() -> {
+            times.add(eventLoop.now(MILLISECONDS));
+            eventLoop.schedule(() -> times.add(eventLoop.now(MILLISECONDS)), 10, MILLISECONDS);
+            eventLoop.schedule(() -> times.add(eventLoop.now(MILLISECONDS)), 100, MILLISECONDS);
+        }, 10, MILLISECONDS);
+        
+        eventLoop.advanceBy(50, MILLISECONDS);
+        assertEquals(Arrays.asList(10L, 20L), times);
+        
+        eventLoop.advanceBy(60, MILLISECONDS);
+        assertEquals(Arrays.asList(10L, 20L, 110L), times);
+    }
+    
+    @Test
+    public void testAdvanceByZeroRunsDueRunnables() {
+        List<String> ran = new ArrayList<>();
+        
+        eventLoop.invokeLater(() -> ran.add("tacos"));
+        assertEquals(Arrays.asList(), ran);
+        
+        eventLoop.advanceBy(0, MILLISECONDS);
+        assertEquals(Arrays.asList("tacos"), ran);
+    }
+    
+    @Test
+    public void testDisposedRunnableDoesNotRun() {
+        List<String> ran = new ArrayList<>();
+        
+        eventLoop.schedule(() -> ran.add("tacos"), 10, MILLISECONDS).dispose();
+        eventLoop.invokeLater(() -> ran.add("burritos")).dispose();
+        
+        eventLoop.advanceBy(1, SECONDS);
+        assertEquals(Arrays.asList(), ran);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testCannotMoveClockBack() {
+        eventLoop.advanceTo(10, MILLISECONDS);
+        eventLoop.advanceTo(5, MILLISECONDS);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testCannotRegisterTwoEventLoopsForSameThread() {
+        VirtualTimeEventLoop.create();
+    }
+    
+    @Test
+    public void testDisposeRemovesRegistration() {
+        eventLoop.dispose();
+        
+        VirtualTimeEventLoop otherEventLoop = VirtualTimeEventLoop.create();
+        assertSame(otherEventLoop, EventLoop.createEventLoop());
+        otherEventLoop.dispose();
+        
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+}
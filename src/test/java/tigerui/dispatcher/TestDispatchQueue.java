@@ -0,0 +1,70 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.dispatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+public class TestDispatchQueue {
+    
+    @Test
+    public void testQueueIsFirstInFirstOut() {
+        DispatchQueue<String> queue = new DispatchQueue<>();
+        Consumer<String> target = value -> {};
+        
+        assertTrue(queue.isEmpty());
+        
+        queue.add(target, "tacos");
+        queue.add(null, "burritos");
+        assertFalse(queue.isEmpty());
+        
+        assertSame(target, queue.peekTarget());
+        assertEquals("tacos", queue.peekValue());
+        queue.removeFirst();
+        
+        assertNull(queue.peekTarget());
+        assertEquals("burritos", queue.peekValue());
+        queue.removeFirst();
+        
+        assertTrue(queue.isEmpty());
+    }
+    
+    @Test
+    public void testQueueGrowsAndWrapsAround() {
+        DispatchQueue<Integer> queue = new DispatchQueue<>();
+        
+        // move the head so that growing has to unwrap the entries
+        queue.add(null, -1);
+        queue.add(null, -2);
+        queue.removeFirst();
+        queue.removeFirst();
+        
+        for (int i = 0; i < 100; i++)
+            queue.add(null, i);
+        
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), queue.peekValue());
+            queue.removeFirst();
+        }
+        
+        assertTrue(queue.isEmpty());
+    }
+}
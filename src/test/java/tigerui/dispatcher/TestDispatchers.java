@@ -15,6 +15,8 @@ package tigerui.dispatcher;
 
 import static org.junit.Assert.*;
 
+import java.util.function.Consumer;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,7 +30,9 @@ import tigerui.dispatcher.EventDispatcher;
 import tigerui.dispatcher.PropertyDispatcher;
 import tigerui.dispatcher.Dispatchers.EventDispatcherFactory;
 import tigerui.dispatcher.Dispatchers.PropertyDispatcherFactory;
+import tigerui.event.EventSubject;
 import tigerui.property.Property;
+import tigerui.property.PropertyObserver;
 
 @RunWith(SwingTestRunner.class)
 public class TestDispatchers {
@@ -133,4 +137,90 @@ public class TestDispatchers {
         assertFalse(dispatchers.isDispatching());
         assertFalse(dispatchers.isDispatchingBinding());
     }
+    
+    @Test
+    public void testDispatchStateTrackedWhenToggled() {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        
+        PropertyDispatcher<String> propertyDispatcher1 = Dispatcher.createPropertyDispatcher();
+        PropertyDispatcher<String> propertyDispatcher2 = Dispatcher.createPropertyDispatcher();
+        
+        assertFalse(dispatchers.isDispatching());
+        
+        propertyDispatcher1.setDispatching(true);
+        propertyDispatcher2.setDispatching(true);
+        assertTrue(dispatchers.isDispatching());
+        
+        // toggling the same state twice must not be counted twice
+        propertyDispatcher1.setDispatching(true);
+        propertyDispatcher1.setDispatching(false);
+        assertTrue(dispatchers.isDispatching());
+        
+        propertyDispatcher2.setDispatching(false);
+        assertFalse(dispatchers.isDispatching());
+        
+        propertyDispatcher1.setDispatchingToBinding(true);
+        propertyDispatcher2.setDispatchingToBinding(true);
+        propertyDispatcher2.setDispatchingToBinding(true);
+        assertTrue(dispatchers.isDispatchingBinding());
+        
+        propertyDispatcher1.setDispatchingToBinding(false);
+        assertTrue(dispatchers.isDispatchingBinding());
+        
+        propertyDispatcher2.setDispatchingToBinding(false);
+        assertFalse(dispatchers.isDispatchingBinding());
+    }
+    
+    @Test
+    public void testOnlyDispatchedPropertyDispatchersPausedDuringEvent() {
+        EventSubject<String> subject = EventSubject.create();
+        PropertyDispatcher<String> dispatched = Dispatcher.createPropertyDispatcher();
+        PropertyDispatcher<String> notDispatched = Dispatcher.createPropertyDispatcher();
+        
+        Consumer<String> onChanged = Mockito.mock(Consumer.class);
+        dispatched.subscribe(PropertyObserver.create(onChanged));
+        
+        subject.onEvent(event -> {
+            assertFalse(dispatched.isPaused());
+            
+            dispatched.dispatch(event);
+            
+            assertTrue(dispatched.isPaused());
+            assertFalse(notDispatched.isPaused());
+            Mockito.verifyNoMoreInteractions(onChanged);
+        });
+        
+        subject.publish("tacos");
+        
+        assertFalse(dispatched.isPaused());
+        assertFalse(notDispatched.isPaused());
+        Mockito.verify(onChanged).accept("tacos");
+    }
+    
+    @Test
+    public void testPropertyDispatcherCreatedDuringEventCanBePaused() {
+        EventSubject<String> subject = EventSubject.create();
+        PropertyDispatcher<String>[] created = new PropertyDispatcher[1];
+        
+        Consumer<String> onChanged = Mockito.mock(Consumer.class);
+        
+        subject.onEvent(event -> {
+            if (created[0] == null) {
+                created[0] = Dispatcher.createPropertyDispatcher();
+                created[0].subscribe(PropertyObserver.create(onChanged));
+                return;
+            }
+            
+            created[0].dispatch(event);
+            assertTrue(created[0].isPaused());
+            Mockito.verifyNoMoreInteractions(onChanged);
+        });
+        
+        subject.publish("tacos");
+        assertFalse(created[0].isPaused());
+        
+        subject.publish("burritos");
+        assertFalse(created[0].isPaused());
+        Mockito.verify(onChanged).accept("burritos");
+    }
 }
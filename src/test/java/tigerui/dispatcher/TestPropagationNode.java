@@ -0,0 +1,102 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.dispatcher;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import tigerui.SwingTestRunner;
+
+@RunWith(SwingTestRunner.class)
+public class TestPropagationNode {
+    
+    @Test
+    public void testRankIsComputedOnceWhenActivated() {
+        AtomicInteger rankCalls = new AtomicInteger();
+        PropagationNode node = new PropagationNode(() -> { rankCalls.incrementAndGet(); return 1; }, () -> {});
+        
+        node.activate();
+        assertEquals(1, rankCalls.get());
+        
+        for (int i = 0; i < 10; i++)
+            propagate(node::invalidate);
+        
+        assertEquals(1, rankCalls.get());
+    }
+    
+    @Test
+    public void testRankIsRecomputedAfterRanksAreInvalidated() {
+        AtomicInteger rankCalls = new AtomicInteger();
+        PropagationNode node = new PropagationNode(() -> { rankCalls.incrementAndGet(); return 1; }, () -> {});
+        node.activate();
+        
+        PropagationNode.invalidateRanks();
+        propagate(node::invalidate);
+        propagate(node::invalidate);
+        
+        assertEquals(2, rankCalls.get());
+    }
+    
+    @Test
+    public void testNodesAreEvaluatedInRankOrder() {
+        List<String> evaluations = new ArrayList<>();
+        AtomicInteger deepRank = new AtomicInteger(1);
+        
+        PropagationNode deep = new PropagationNode(deepRank::get, () -> evaluations.add("deep"));
+        PropagationNode shallow = new PropagationNode(() -> 2, () -> evaluations.add("shallow"));
+        deep.activate();
+        shallow.activate();
+        
+        propagate(() -> {
+            shallow.invalidate();
+            deep.invalidate();
+        });
+        assertEquals(Arrays.asList("deep", "shallow"), evaluations);
+        
+        // the cached rank is used until the ranks are invalidated
+        deepRank.set(3);
+        evaluations.clear();
+        propagate(() -> {
+            deep.invalidate();
+            shallow.invalidate();
+        });
+        assertEquals(Arrays.asList("deep", "shallow"), evaluations);
+        
+        PropagationNode.invalidateRanks();
+        evaluations.clear();
+        propagate(() -> {
+            deep.invalidate();
+            shallow.invalidate();
+        });
+        assertEquals(Arrays.asList("shallow", "deep"), evaluations);
+    }
+    
+    private static void propagate(Runnable invalidations) {
+        Dispatchers dispatchers = Dispatchers.getInstance();
+        dispatchers.startPropagation();
+        try {
+            invalidations.run();
+            dispatchers.propagate();
+        } finally {
+            dispatchers.endPropagation();
+        }
+    }
+}
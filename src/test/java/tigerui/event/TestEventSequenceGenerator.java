@@ -68,4 +68,33 @@ public class TestEventSequenceGenerator {
         assertTrue(time02.isPresent());
         assertTrue(time02.get() - time0.get() > 0);
     }
+    
+    @Test
+    public void testTimesAreOnlyRetainedForCapacity() throws Exception {
+        EventSequenceGenerator generator = new EventSequenceGenerator(4);
+        assertEquals(4, generator.getCapacity());
+        
+        for (int i = 0; i < 6; i++)
+            assertEquals(i, generator.nextSequenceNumber());
+        
+        assertFalse(generator.getTimeForSequence(0).isPresent());
+        assertFalse(generator.getTimeForSequence(1).isPresent());
+        
+        for (int i = 2; i < 6; i++)
+            assertTrue(generator.getTimeForSequence(i).isPresent());
+        
+        assertFalse(generator.getTimeForSequence(6).isPresent());
+        assertFalse(generator.getTimeForSequence(-1).isPresent());
+    }
+    
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() throws Exception {
+        assertEquals(8, new EventSequenceGenerator(5).getCapacity());
+        assertEquals(1, new EventSequenceGenerator(1).getCapacity());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMustBePositive() throws Exception {
+        new EventSequenceGenerator(0);
+    }
 }
@@ -17,11 +17,13 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static tigerui.GarbageCollectionHelper.collectUntil;
 import static tigerui.ThreadedTestHelper.callOnIoThread;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.junit.Assert;
@@ -357,4 +359,95 @@ public class TestEventStream {
         inOrder.verify(onCompleted).run();
         inOrder.verifyNoMoreInteractions();
     }
+    
+    @Test
+    public void testShare() {
+        EventSubject<Integer> subject = EventSubject.create();
+        AtomicInteger mapCount = new AtomicInteger();
+        
+        EventStream<Integer> shared = subject.map(value -> {
+            mapCount.incrementAndGet();
+            return value * 2;
+        }).share();
+        
+        List<Integer> events = new ArrayList<>();
+        List<Integer> events2 = new ArrayList<>();
+        assertFalse(subject.hasObservers());
+        
+        Subscription subscription = shared.onEvent(events::add);
+        Subscription subscription2 = shared.onEvent(events2::add);
+        assertTrue(subject.hasObservers());
+        
+        subject.publish(1);
+        subject.publish(2);
+        
+        assertEquals(Arrays.asList(2, 4), events);
+        assertEquals(Arrays.asList(2, 4), events2);
+        assertEquals(2, mapCount.get());
+        
+        subscription.dispose();
+        assertTrue(subject.hasObservers());
+        
+        subscription2.dispose();
+        assertFalse(subject.hasObservers());
+    }
+    
+    @Test
+    public void testShareCompletes() {
+        EventSubject<Integer> subject = EventSubject.create();
+        EventStream<Integer> shared = subject.share();
+        
+        Runnable onCompleted = mock(Runnable.class);
+        Subscription subscription = shared.onCompleted(onCompleted);
+        
+        subject.dispose();
+        verify(onCompleted).run();
+        assertTrue(subscription.isDisposed());
+        
+        Runnable onCompleted2 = mock(Runnable.class);
+        shared.onCompleted(onCompleted2);
+        verify(onCompleted2).run();
+    }
+    
+    @Test
+    public void testShareSynchronousSource() {
+        List<String> events = new ArrayList<>();
+        Runnable onCompleted = mock(Runnable.class);
+        
+        EventStream.fromArray("tacos", "burritos").share().observe(events::add, onCompleted);
+        
+        assertEquals(Arrays.asList("tacos", "burritos"), events);
+        verify(onCompleted).run();
+    }
+    
+    @Test
+    public void testObserveWeakly() {
+        EventSubject<String> subject = EventSubject.create();
+        List<String> events = new ArrayList<>();
+        Object owner = new Object();
+        
+        Subscription subscription = subject.observeWeakly(owner, (view, event) -> events.add(event));
+        subject.publish("tacos");
+        
+        assertEquals(Arrays.asList("tacos"), events);
+        assertFalse(subscription.isDisposed());
+        assertNotNull(owner);
+    }
+    
+    @Test
+    public void testObserveWeaklyStopsOnceOwnerIsCollected() {
+        EventSubject<String> subject = EventSubject.create();
+        List<String> events = new ArrayList<>();
+        
+        Subscription subscription = subject.observeWeakly(new Object(), (view, event) -> events.add(event));
+        assertTrue(collectUntil(() -> {
+            subject.publish("tacos");
+            return subscription.isDisposed();
+        }));
+        
+        int eventCount = events.size();
+        subject.publish("burritos");
+        
+        assertEquals(eventCount, events.size());
+    }
 }
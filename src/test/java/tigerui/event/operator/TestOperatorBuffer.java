@@ -0,0 +1,105 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tigerui.VirtualTimeEventLoop;
+import tigerui.event.EventSubject;
+import tigerui.subscription.Subscription;
+
+public class TestOperatorBuffer {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testBufferEmitsAfterTimespan() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<List<Integer>> received = new ArrayList<>();
+        
+        events.buffer(100, MILLISECONDS, 10).onEvent(received::add);
+        
+        events.publish(1);
+        eventLoop.advanceBy(50, MILLISECONDS);
+        events.publish(2);
+        eventLoop.advanceBy(49, MILLISECONDS);
+        assertEquals(Arrays.asList(), received);
+        
+        eventLoop.advanceBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2)), received);
+        
+        // no empty lists are emitted while the source is silent
+        eventLoop.advanceBy(1000, MILLISECONDS);
+        assertEquals(1, received.size());
+    }
+    
+    @Test
+    public void testBufferEmitsWhenFull() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<List<Integer>> received = new ArrayList<>();
+        
+        events.buffer(100, MILLISECONDS, 3).onEvent(received::add);
+        
+        for (int i = 1; i <= 7; i++)
+            events.publish(i);
+        
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6)), received);
+        
+        eventLoop.advanceBy(100, MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7)), received);
+    }
+    
+    @Test
+    public void testCompletionEmitsBufferedEvents() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<List<Integer>> received = new ArrayList<>();
+        
+        Subscription subscription = events.buffer(100, MILLISECONDS, 10).onEvent(received::add);
+        
+        events.publish(1);
+        events.publish(2);
+        events.dispose();
+        
+        assertEquals(Arrays.asList(Arrays.asList(1, 2)), received);
+        assertTrue(subscription.isDisposed());
+        
+        eventLoop.advanceBy(100, MILLISECONDS);
+        assertEquals(1, received.size());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxCountMustBePositive() {
+        EventSubject.<Integer>create().buffer(100, MILLISECONDS, 0);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tigerui.EventLoop;
+import tigerui.VirtualTimeEventLoop;
+import tigerui.disposables.Disposable;
+import tigerui.event.EventStream;
+import tigerui.event.EventSubject;
+import tigerui.subscription.Subscription;
+
+public class TestOperatorDebounce {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testDebounceEmitsAfterSilence() {
+        EventSubject<String> events = EventSubject.create();
+        EventStream<String> debounced = events.debounce(100, MILLISECONDS);
+        List<String> received = new ArrayList<>();
+        
+        debounced.onEvent(received::add);
+        
+        events.publish("tacos");
+        eventLoop.advanceBy(99, MILLISECONDS);
+        assertEquals(Arrays.asList(), received);
+        
+        eventLoop.advanceBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList("tacos"), received);
+    }
+    
+    @Test
+    public void testDebounceDropsEventsDuringBurst() {
+        EventSubject<String> events = EventSubject.create();
+        EventStream<String> debounced = events.debounce(100, MILLISECONDS);
+        List<String> received = new ArrayList<>();
+        
+        debounced.onEvent(received::add);
+        
+        events.publish("tacos");
+        eventLoop.advanceBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceBy(50, MILLISECONDS);
+        events.publish("fajitas");
+        eventLoop.advanceBy(99, MILLISECONDS);
+        assertEquals(Arrays.asList(), received);
+        
+        eventLoop.advanceBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList("fajitas"), received);
+        
+        events.publish("nachos");
+        eventLoop.advanceBy(1000, MILLISECONDS);
+        assertEquals(Arrays.asList("fajitas", "nachos"), received);
+    }
+    
+    @Test
+    public void testCompletionCancelsPendingEvent() {
+        EventSubject<String> events = EventSubject.create();
+        EventStream<String> debounced = events.debounce(100, MILLISECONDS);
+        List<String> received = new ArrayList<>();
+        
+        Subscription subscription = debounced.onEvent(received::add);
+        
+        events.publish("tacos");
+        events.dispose();
+        eventLoop.advanceBy(100, MILLISECONDS);
+        
+        assertEquals(Arrays.asList(), received);
+        assertTrue(subscription.isDisposed());
+    }
+    
+    @Test
+    public void testBurstSchedulesOneRunnablePerDelay() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<Integer> received = new ArrayList<>();
+        List<Long> scheduledDelays = new ArrayList<>();
+        
+        EventLoop countingEventLoop = new EventLoop() {
+            @Override
+            public boolean isInEventLoop() {
+                return eventLoop.isInEventLoop();
+            }
+            
+            @Override
+            public Disposable invokeLater(Runnable runnable) {
+                return eventLoop.invokeLater(runnable);
+            }
+            
+            @Override
+            public Disposable schedule(Runnable runnable, long time, TimeUnit timeUnit) {
+                scheduledDelays.add(timeUnit.toMillis(time));
+                return eventLoop.schedule(runnable, time, timeUnit);
+            }
+            
+            @Override
+            public long now(TimeUnit timeUnit) {
+                return eventLoop.now(timeUnit);
+            }
+            
+            @Override
+            public String getThreadName() {
+                return eventLoop.getThreadName();
+            }
+        };
+        
+        events.lift(new OperatorDebounce<>(countingEventLoop, 100, MILLISECONDS)).onEvent(received::add);
+        
+        for (int i = 0; i < 100; i++) {
+            events.publish(i);
+            eventLoop.advanceBy(1, MILLISECONDS);
+        }
+        
+        // the first deadline is moved by the burst, so it is rescheduled once for the remaining time
+        assertEquals(Arrays.asList(100L, 99L), scheduledDelays);
+        
+        eventLoop.advanceBy(99, MILLISECONDS);
+        assertEquals(Arrays.asList(99), received);
+        assertEquals(2, scheduledDelays.size());
+    }
+}
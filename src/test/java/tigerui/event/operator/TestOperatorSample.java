@@ -0,0 +1,86 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tigerui.VirtualTimeEventLoop;
+import tigerui.event.EventSubject;
+import tigerui.subscription.Subscription;
+
+public class TestOperatorSample {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testSampleEmitsLatestEventPerPeriod() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<Integer> received = new ArrayList<>();
+        
+        events.sample(100, MILLISECONDS).onEvent(received::add);
+        
+        for (int i = 0; i < 10; i++) {
+            events.publish(i);
+            eventLoop.advanceBy(10, MILLISECONDS);
+        }
+        
+        assertEquals(Arrays.asList(9), received);
+        
+        events.publish(10);
+        eventLoop.advanceBy(99, MILLISECONDS);
+        assertEquals(Arrays.asList(9), received);
+        
+        eventLoop.advanceBy(1, MILLISECONDS);
+        assertEquals(Arrays.asList(9, 10), received);
+        
+        // nothing is emitted while the source is silent
+        eventLoop.advanceBy(1000, MILLISECONDS);
+        assertEquals(Arrays.asList(9, 10), received);
+    }
+    
+    @Test
+    public void testCompletionDropsPendingSample() {
+        EventSubject<Integer> events = EventSubject.create();
+        List<Integer> received = new ArrayList<>();
+        
+        Subscription subscription = events.sample(100, MILLISECONDS).onEvent(received::add);
+        
+        events.publish(1);
+        events.dispose();
+        eventLoop.advanceBy(100, MILLISECONDS);
+        
+        assertEquals(Arrays.asList(), received);
+        assertTrue(subscription.isDisposed());
+    }
+}
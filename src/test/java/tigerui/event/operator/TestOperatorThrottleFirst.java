@@ -0,0 +1,87 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.event.operator;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tigerui.VirtualTimeEventLoop;
+import tigerui.event.EventSubject;
+import tigerui.subscription.Subscription;
+
+public class TestOperatorThrottleFirst {
+    
+    private VirtualTimeEventLoop eventLoop;
+    
+    @Before
+    public void setup() {
+        eventLoop = VirtualTimeEventLoop.create();
+    }
+    
+    @After
+    public void tearDown() {
+        eventLoop.dispose();
+    }
+    
+    @Test
+    public void testThrottleFirstDropsEventsDuringWindow() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> received = new ArrayList<>();
+        
+        events.throttleFirst(100, MILLISECONDS).onEvent(received::add);
+        
+        events.publish("tacos");
+        assertEquals(Arrays.asList("tacos"), received);
+        
+        eventLoop.advanceBy(50, MILLISECONDS);
+        events.publish("burritos");
+        eventLoop.advanceBy(49, MILLISECONDS);
+        events.publish("fajitas");
+        assertEquals(Arrays.asList("tacos"), received);
+        
+        eventLoop.advanceBy(1, MILLISECONDS);
+        events.publish("nachos");
+        events.publish("quesadillas");
+        assertEquals(Arrays.asList("tacos", "nachos"), received);
+    }
+    
+    @Test
+    public void testCompletion() {
+        EventSubject<String> events = EventSubject.create();
+        List<String> received = new ArrayList<>();
+        
+        Subscription subscription = events.throttleFirst(100, MILLISECONDS).onEvent(received::add);
+        
+        events.publish("tacos");
+        events.dispose();
+        eventLoop.advanceBy(100, MILLISECONDS);
+        
+        assertEquals(Arrays.asList("tacos"), received);
+        assertTrue(subscription.isDisposed());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowMustBePositive() {
+        EventSubject.<String>create().throttleFirst(0, MILLISECONDS);
+    }
+}
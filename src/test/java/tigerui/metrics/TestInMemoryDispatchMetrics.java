@@ -0,0 +1,194 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import tigerui.Callbacks;
+import tigerui.SwingTestRunner;
+import tigerui.dispatcher.Dispatcher.Type;
+import tigerui.event.EventSubject;
+import tigerui.metrics.InMemoryDispatchMetrics.SlowObserver;
+import tigerui.property.Property;
+
+@RunWith(SwingTestRunner.class)
+public class TestInMemoryDispatchMetrics {
+    
+    private InMemoryDispatchMetrics metrics;
+    
+    @Before
+    public void setUp() {
+        metrics = new InMemoryDispatchMetrics(2);
+        DispatchMetrics.install(metrics);
+    }
+    
+    @After
+    public void tearDown() {
+        DispatchMetrics.install(DispatchMetrics.NO_OP);
+    }
+    
+    @Test
+    public void testInstall() {
+        assertSame(metrics, DispatchMetrics.current());
+    }
+    
+    @Test
+    public void testPropertyDispatchIsRecorded() {
+        Property<Integer> property = Property.create(0);
+        property.onChanged(value -> {});
+        property.onChanged(value -> {});
+        metrics.reset();
+        
+        property.setValue(1);
+        
+        assertEquals(1, metrics.getPropertyDispatchCount());
+        assertEquals(0, metrics.getEventDispatchCount());
+        assertEquals(2, metrics.getFanOut().getMaxValue());
+        assertEquals(2, metrics.getObserverLatency().getTotalCount());
+    }
+    
+    @Test
+    public void testEventDispatchIsRecorded() {
+        EventSubject<String> subject = EventSubject.create();
+        subject.onEvent(event -> {});
+        metrics.reset();
+        
+        subject.publish("event");
+        
+        assertEquals(0, metrics.getPropertyDispatchCount());
+        assertEquals(1, metrics.getEventDispatchCount());
+        assertEquals(1, metrics.getFanOut().getMaxValue());
+    }
+    
+    @Test
+    public void testSlowestObserversAreKept() {
+        EventSubject<Integer> subject = EventSubject.create();
+        subject.onEvent(new SleepingHandler("fast", 0));
+        subject.onEvent(new SleepingHandler("slow", 20));
+        subject.onEvent(new SleepingHandler("slower", 40));
+        metrics.reset();
+        
+        subject.publish(1);
+        subject.publish(2);
+        
+        List<SlowObserver> slowest = metrics.getSlowestObservers();
+        
+        assertEquals(2, slowest.size());
+        assertTrue(slowest.get(0).getDescription().contains("slower"));
+        assertTrue(slowest.get(1).getDescription().contains("slow"));
+        assertEquals(Type.EVENT, slowest.get(0).getDispatcherType());
+        assertTrue(slowest.get(0).getDurationNanos() >= slowest.get(1).getDurationNanos());
+    }
+    
+    @Test
+    public void testSlowObserverIsKeptOncePerInstance() {
+        EventSubject<Integer> subject = EventSubject.create();
+        subject.onEvent(new SleepingHandler("same", 20));
+        subject.onEvent(new SleepingHandler("same", 20));
+        metrics.reset();
+        
+        subject.publish(1);
+        subject.publish(2);
+        
+        List<SlowObserver> slowest = metrics.getSlowestObservers();
+        
+        assertEquals(2, slowest.size());
+        assertTrue(slowest.get(0).getDescription().contains("same"));
+        assertTrue(slowest.get(1).getDescription().contains("same"));
+    }
+    
+    @Test
+    public void testCallbackIsRecorded() {
+        Callbacks.runSafeCallback(() -> {});
+        
+        assertEquals(1, metrics.getCallbackLatency().getTotalCount());
+    }
+    
+    @Test
+    public void testOnlyOutermostCallbackIsRecorded() {
+        Callbacks.runSafeCallback(() -> {
+            Callbacks.runSafeCallback(() -> {});
+            Callbacks.runSafeCallback(() -> Callbacks.runSafeCallback(() -> {}));
+        });
+        
+        assertEquals(1, metrics.getCallbackLatency().getTotalCount());
+        
+        Callbacks.runSafeCallback(() -> {});
+        
+        assertEquals(2, metrics.getCallbackLatency().getTotalCount());
+    }
+    
+    @Test
+    public void testThrowingCallbackDoesNotHideLaterCallbacks() {
+        Callbacks.runSafeCallback(() -> { throw new RuntimeException(); });
+        Callbacks.runSafeCallback(() -> {});
+        
+        assertEquals(2, metrics.getCallbackLatency().getTotalCount());
+    }
+    
+    @Test
+    public void testNoOpMeasureReturnsRunnable() {
+        DispatchMetrics.install(DispatchMetrics.NO_OP);
+        Runnable runnable = () -> {};
+        
+        assertSame(runnable, DispatchMetrics.measure(runnable));
+    }
+    
+    @Test
+    public void testReset() {
+        Property<Integer> property = Property.create(0);
+        property.onChanged(value -> {});
+        property.setValue(1);
+        
+        metrics.reset();
+        
+        assertEquals(0, metrics.getPropertyDispatchCount());
+        assertEquals(0, metrics.getFanOut().getTotalCount());
+        assertTrue(metrics.getSlowestObservers().isEmpty());
+    }
+    
+    private static class SleepingHandler implements Consumer<Integer> {
+        private final String name;
+        private final long sleepMillis;
+        
+        SleepingHandler(String name, long sleepMillis) {
+            this.name = name;
+            this.sleepMillis = sleepMillis;
+        }
+        
+        @Override
+        public void accept(Integer value) {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
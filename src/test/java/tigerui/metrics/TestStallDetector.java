@@ -0,0 +1,185 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import tigerui.EventLoop;
+import tigerui.SwingTestRunner;
+import tigerui.event.EventSubject;
+import tigerui.property.Property;
+
+@RunWith(SwingTestRunner.class)
+public class TestStallDetector {
+    
+    private BlockingQueue<StallReport> reports;
+    private StallDetector detector;
+    
+    @Before
+    public void setUp() {
+        reports = new LinkedBlockingQueue<>();
+        detector = StallDetector.start(50, TimeUnit.MILLISECONDS, reports::add);
+    }
+    
+    @After
+    public void tearDown() {
+        detector.dispose();
+    }
+    
+    @Test
+    public void testStalledPropertyObserverIsReported() throws Exception {
+        Property<Integer> property = Property.create(0);
+        SleepingHandler<Integer> handler = new SleepingHandler<>("stalling binding");
+        property.onChanged(handler);
+        
+        handler.sleepMillis = 200;
+        property.setValue(1);
+        
+        StallReport report = reports.poll(1, TimeUnit.SECONDS);
+        assertNotNull(report);
+        assertTrue(report.getDuration(TimeUnit.MILLISECONDS) >= 50);
+        assertEquals(Thread.currentThread().getName(), report.getThreadName());
+        assertEquals("stalling binding", report.getOffendingCallback().getDescription());
+        assertEquals("testStalledPropertyObserverIsReported", report.getOffendingCallback().getCreationSite().get(0).getMethodName());
+        assertFalse(report.getThreadStack().isEmpty());
+        
+        // a stall is only reported once
+        assertNull(reports.poll(100, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    public void testStalledEventObserverIsReported() throws Exception {
+        EventSubject<String> subject = EventSubject.create();
+        subject.onEvent(new SleepingHandler<>("stalling handler", 200));
+        
+        subject.publish("event");
+        
+        StallReport report = reports.poll(1, TimeUnit.SECONDS);
+        assertNotNull(report);
+        assertEquals("stalling handler", report.getOffendingCallback().getDescription());
+        assertEquals("testStalledEventObserverIsReported", report.getOffendingCallback().getCreationSite().get(0).getMethodName());
+    }
+    
+    @Test
+    public void testStalledRunnableIsReported() throws Exception {
+        Runnable runnable = new SleepingRunnable("stalling runnable", 200);
+        
+        EventLoop.createEventLoop().invokeNow(runnable);
+        
+        StallReport report = reports.poll(1, TimeUnit.SECONDS);
+        assertNotNull(report);
+        assertEquals("stalling runnable", report.getOffendingCallback().getDescription());
+        assertTrue(report.getOffendingCallback().getCreationSite().isEmpty());
+    }
+    
+    @Test
+    public void testFastObserversAreNotReported() throws Exception {
+        Property<Integer> property = Property.create(0);
+        property.onChanged(new SleepingHandler<>("fast binding"));
+        
+        property.setValue(1);
+        
+        assertNull(reports.poll(100, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    public void testDispose() throws Exception {
+        assertTrue(StallDetector.isEnabled());
+        
+        detector.dispose();
+        
+        assertTrue(detector.isDisposed());
+        assertFalse(StallDetector.isEnabled());
+        
+        Property<Integer> property = Property.create(0);
+        SleepingHandler<Integer> handler = new SleepingHandler<>("stalling binding");
+        property.onChanged(handler);
+        
+        handler.sleepMillis = 200;
+        property.setValue(1);
+        
+        assertNull(reports.poll(100, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testOnlyOneDetectorCanRun() {
+        StallDetector.start(50, TimeUnit.MILLISECONDS, StallSink.STANDARD_ERROR);
+    }
+    
+    private static class SleepingHandler<T> implements Consumer<T> {
+        private final String name;
+        private long sleepMillis;
+        
+        SleepingHandler(String name) {
+            this(name, 0);
+        }
+        
+        SleepingHandler(String name, long sleepMillis) {
+            this.name = name;
+            this.sleepMillis = sleepMillis;
+        }
+        
+        @Override
+        public void accept(T value) {
+            sleep(sleepMillis);
+        }
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+    
+    private static class SleepingRunnable implements Runnable {
+        private final String name;
+        private final long sleepMillis;
+        
+        SleepingRunnable(String name, long sleepMillis) {
+            this.name = name;
+            this.sleepMillis = sleepMillis;
+        }
+        
+        @Override
+        public void run() {
+            sleep(sleepMillis);
+        }
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
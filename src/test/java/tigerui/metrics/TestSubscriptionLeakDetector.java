@@ -0,0 +1,191 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import tigerui.SwingTestRunner;
+import tigerui.dispatcher.Dispatcher.Type;
+import tigerui.event.EventSubject;
+import tigerui.property.Property;
+import tigerui.subscription.Subscription;
+
+@RunWith(SwingTestRunner.class)
+public class TestSubscriptionLeakDetector {
+    
+    private List<SubscriptionSnapshot> suspectedLeaks;
+    private SubscriptionLeakDetector detector;
+    
+    @Before
+    public void setUp() {
+        suspectedLeaks = new ArrayList<>();
+        detector = SubscriptionLeakDetector.start(3, suspectedLeaks::add);
+    }
+    
+    @After
+    public void tearDown() {
+        detector.dispose();
+    }
+    
+    @Test
+    public void testGrowingDispatcherIsSuspected() {
+        Property<Integer> property = Property.create(0);
+        
+        for (int i = 0; i < 5; i++)
+            openScreen(property);
+        
+        assertEquals(1, suspectedLeaks.size());
+        
+        // the first subscriber is the baseline
+        SubscriptionSnapshot snapshot = suspectedLeaks.get(0);
+        assertEquals(Type.PROPERTY, snapshot.getDispatcherType());
+        assertEquals(4, snapshot.getSubscriberCount());
+        assertEquals(3, snapshot.getGrowth());
+        
+        Entry<List<StackTraceElement>, Integer> creationSite = snapshot.getCreationSites().entrySet().iterator().next();
+        assertEquals(Integer.valueOf(4), creationSite.getValue());
+        assertTrue(creationSite.getKey().stream().anyMatch(element -> element.getMethodName().equals("openScreen")));
+        
+        assertEquals(1, detector.getSuspectedLeaks().size());
+        assertEquals(5, detector.getSuspectedLeaks().get(0).getSubscriberCount());
+    }
+    
+    @Test
+    public void testDisposedSubscriptionsAreNotSuspected() {
+        EventSubject<String> subject = EventSubject.create();
+        
+        for (int i = 0; i < 10; i++)
+            subject.onEvent(event -> {}).dispose();
+        
+        assertTrue(suspectedLeaks.isEmpty());
+        assertTrue(detector.snapshot().isEmpty());
+    }
+    
+    @Test
+    public void testSuspicionIsClearedWhenSubscribersAreRemoved() {
+        Property<Integer> property = Property.create(0);
+        List<Subscription> subscriptions = new ArrayList<>();
+        
+        for (int i = 0; i < 4; i++)
+            subscriptions.add(property.onChanged(value -> {}));
+        
+        assertEquals(1, detector.getSuspectedLeaks().size());
+        
+        subscriptions.forEach(Subscription::dispose);
+        
+        assertTrue(detector.getSuspectedLeaks().isEmpty());
+        
+        for (int i = 0; i < 3; i++)
+            property.onChanged(value -> {});
+        
+        assertEquals(2, suspectedLeaks.size());
+    }
+    
+    @Test
+    public void testStableDispatcherIsNotSuspected() throws Exception {
+        detector.dispose();
+        detector = SubscriptionLeakDetector.start(3, 50, TimeUnit.MILLISECONDS, suspectedLeaks::add);
+        Property<Integer> property = Property.create(0);
+        
+        // subscribed while the dispatcher is set up, and never disposed
+        for (int i = 0; i < 10; i++)
+            property.onChanged(value -> {});
+        
+        Thread.sleep(100);
+        
+        for (int i = 0; i < 10; i++)
+            property.onChanged(value -> {}).dispose();
+        
+        assertTrue(suspectedLeaks.isEmpty());
+        assertTrue(detector.getSuspectedLeaks().isEmpty());
+        assertEquals(10, detector.snapshot().get(0).getSubscriberCount());
+        assertEquals(0, detector.snapshot().get(0).getGrowth());
+        
+        for (int i = 0; i < 3; i++)
+            openScreen(property);
+        
+        assertEquals(1, suspectedLeaks.size());
+        assertEquals(13, suspectedLeaks.get(0).getSubscriberCount());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSettlePeriodMustNotBeNegative() {
+        detector.dispose();
+        detector = SubscriptionLeakDetector.start(3, -1, TimeUnit.MILLISECONDS, snapshot -> {});
+    }
+    
+    @Test
+    public void testSnapshot() {
+        Property<Integer> property1 = Property.create(0);
+        Property<Integer> property2 = Property.create(0);
+        
+        property1.onChanged(value -> {});
+        property2.onChanged(value -> {});
+        property2.onChanged(value -> {});
+        
+        List<SubscriptionSnapshot> snapshots = detector.snapshot();
+        
+        assertEquals(2, snapshots.size());
+        assertEquals(2, snapshots.get(0).getSubscriberCount());
+        assertEquals(2, snapshots.get(0).getCreationSites().size());
+        assertEquals(1, snapshots.get(1).getSubscriberCount());
+    }
+    
+    @Test
+    public void testDisposedDispatchersAreForgotten() {
+        Property<Integer> property = Property.create(0);
+        property.onChanged(value -> {});
+        
+        property.dispose();
+        
+        assertTrue(detector.snapshot().isEmpty());
+    }
+    
+    @Test
+    public void testDispose() {
+        detector.dispose();
+        
+        assertTrue(detector.isDisposed());
+        assertFalse(SubscriptionLeakDetector.isEnabled());
+        
+        Property<Integer> property = Property.create(0);
+        for (int i = 0; i < 4; i++)
+            openScreen(property);
+        
+        assertTrue(suspectedLeaks.isEmpty());
+        assertTrue(detector.snapshot().isEmpty());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testOnlyOneDetectorCanRun() {
+        SubscriptionLeakDetector.start(3, snapshot -> {});
+    }
+    
+    private static void openScreen(Property<Integer> model) {
+        // the screen is closed without disposing its subscription
+        model.onChanged(value -> {});
+    }
+}
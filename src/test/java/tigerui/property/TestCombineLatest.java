@@ -13,12 +13,17 @@
  */
 package tigerui.property;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -99,4 +104,90 @@ public class TestCombineLatest {
         assertFalse(property.hasObservers());
         assertFalse(property2.hasObservers());
     }
+    
+    @Test
+    public void testCombine3And4() throws Exception {
+        Property<Integer> property = Property.create(1);
+        Property<Integer> property2 = Property.create(2);
+        Property<Integer> property3 = Property.create(3);
+        Property<Integer> property4 = Property.create(4);
+        
+        List<Integer> sums3 = new ArrayList<>();
+        List<Integer> sums4 = new ArrayList<>();
+        
+        PropertyStream.combine(property, property2, property3, (a, b, c) -> a + b + c).onChanged(sums3::add);
+        PropertyStream.combine(property, property2, property3, property4, (a, b, c, d) -> a + b + c + d)
+                      .onChanged(sums4::add);
+        
+        property3.setValue(10);
+        property4.setValue(20);
+        
+        assertEquals(Arrays.asList(6, 13), sums3);
+        assertEquals(Arrays.asList(10, 17, 33), sums4);
+    }
+    
+    @Test
+    public void testCombineList() throws Exception {
+        List<Property<Integer>> properties = Arrays.asList(Property.create(1), Property.create(2), Property.create(3));
+        
+        List<List<Integer>> values = new ArrayList<>();
+        PropertyStream<List<Integer>> stream = PropertyStream.combineList(properties, list -> list);
+        Subscription subscription = stream.onChanged(values::add);
+        
+        properties.get(1).setValue(5);
+        
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(1, 5, 3)), values);
+        assertEquals(Arrays.asList(1, 5, 3), stream.get());
+        
+        properties.forEach(Property::dispose);
+        assertTrue(subscription.isDisposed());
+    }
+    
+    @Test
+    public void testIncrementalCombine() throws Exception {
+        List<Property<Integer>> properties = Arrays.asList(Property.create(1), Property.create(2), Property.create(3));
+        
+        List<Integer> updatedIndices = new ArrayList<>();
+        IncrementalCombiner<Integer, Integer> sum = 
+            IncrementalCombiner.create(values -> values.stream().mapToInt(Integer::intValue).sum(),
+                                       (total, index, oldValue, newValue) -> {
+                                           updatedIndices.add(index);
+                                           return total - oldValue + newValue;
+                                       });
+        
+        List<Integer> totals = new ArrayList<>();
+        PropertyStream<Integer> stream = PropertyStream.combineList(properties, sum);
+        Subscription subscription = stream.onChanged(totals::add);
+        
+        properties.get(2).setValue(10);
+        properties.get(0).setValue(4);
+        
+        assertEquals(Arrays.asList(6, 13, 16), totals);
+        assertEquals(Arrays.asList(2, 0), updatedIndices);
+        assertEquals(Integer.valueOf(16), stream.get());
+        
+        subscription.dispose();
+        properties.forEach(property -> assertFalse(property.hasObservers()));
+    }
+    
+    @Test
+    public void testIncrementalCombineEmitsOncePerTransaction() throws Exception {
+        List<Property<Integer>> properties = Arrays.asList(Property.create(1), Property.create(2), Property.create(3));
+        
+        IncrementalCombiner<Integer, Integer> sum = 
+            IncrementalCombiner.create(values -> values.stream().mapToInt(Integer::intValue).sum(),
+                                       (total, index, oldValue, newValue) -> total - oldValue + newValue);
+        
+        List<Integer> totals = new ArrayList<>();
+        PropertyStream.combineList(properties, sum).onChanged(totals::add);
+        
+        Property.transaction(() -> properties.forEach(property -> property.setValue(property.get() * 10)));
+        
+        assertEquals(Arrays.asList(6, 60), totals);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testCombineListRequiresStreams() throws Exception {
+        PropertyStream.combineList(new ArrayList<PropertyStream<Integer>>(), list -> list.size());
+    }
 }
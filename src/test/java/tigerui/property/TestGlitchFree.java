@@ -18,6 +18,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static tigerui.property.PropertyStream.combine;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.junit.Test;
@@ -113,4 +117,75 @@ public class TestGlitchFree {
         
         inOrder2.verify(consumer2).accept(10);
     }
+    
+    @Test
+    public void testDiamondEvaluatesEachNodeOnce() {
+        Property<Integer> property = Property.create(1);
+        AtomicInteger sumCount = new AtomicInteger();
+        AtomicInteger doubledCount = new AtomicInteger();
+        
+        PropertyStream<Integer> plus1 = property.map(value -> value + 1);
+        PropertyStream<Integer> plus2 = plus1.map(value -> value + 1);
+        PropertyStream<Integer> times2 = property.map(value -> value * 2);
+        
+        PropertyStream<Integer> sum = combine(plus2, times2, (a, b) -> {
+            sumCount.incrementAndGet();
+            return a + b;
+        });
+        
+        PropertyStream<Integer> doubled = sum.map(value -> {
+            doubledCount.incrementAndGet();
+            return value * 2;
+        });
+        
+        List<Integer> values = new ArrayList<>();
+        doubled.onChanged(values::add);
+        sumCount.set(0);
+        doubledCount.set(0);
+        
+        property.setValue(2);
+        
+        assertEquals(Arrays.asList(10, 16), values);
+        assertEquals(1, sumCount.get());
+        assertEquals(1, doubledCount.get());
+    }
+    
+    @Test
+    public void testRank() {
+        Property<Integer> property = Property.create(1);
+        PropertyStream<Integer> plus1 = property.map(value -> value + 1);
+        PropertyStream<Integer> plus2 = plus1.map(value -> value + 1);
+        
+        assertEquals(0, property.getRank());
+        assertEquals(1, plus1.getRank());
+        assertEquals(2, plus2.getRank());
+        assertEquals(3, combine(property, plus2, (a, b) -> a + b).getRank());
+        assertEquals(1, plus1.take(1).getRank());
+    }
+    
+    @Test
+    public void testCombinesOnceAfterTransactionWithDerivedInputs() {
+        Property<Integer> property1 = Property.create(1);
+        Property<Integer> property2 = Property.create(2);
+        AtomicInteger combineCount = new AtomicInteger();
+        
+        PropertyStream<Integer> sum = combine(property1.map(value -> value * 10), 
+                                              property2.map(value -> value * 100), 
+                                              (a, b) -> {
+                                                  combineCount.incrementAndGet();
+                                                  return a + b;
+                                              });
+        
+        List<Integer> values = new ArrayList<>();
+        sum.onChanged(values::add);
+        combineCount.set(0);
+        
+        Property.transaction(() -> {
+            property1.setValue(3);
+            property2.setValue(4);
+        });
+        
+        assertEquals(Arrays.asList(210, 430), values);
+        assertEquals(1, combineCount.get());
+    }
 }
@@ -14,13 +14,18 @@
 package tigerui.property;
 
 import static org.junit.Assert.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static tigerui.GarbageCollectionHelper.collectUntil;
 import static tigerui.ThreadedTestHelper.callOnIoThread;
 import static tigerui.ThreadedTestHelper.doOnIoThread;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -36,6 +41,7 @@ import rx.functions.Action0;
 import rx.functions.Action1;
 import rx.subjects.BehaviorSubject;
 import tigerui.SwingTestRunner;
+import tigerui.VirtualTimeEventLoop;
 import tigerui.event.EventSubject;
 import tigerui.property.Property;
 import tigerui.property.PropertyObserver;
@@ -657,4 +663,192 @@ public class TestProperty {
         subscription.unsubscribe();
         assertFalse(property.hasObservers());
     }
+
+    @Test
+    public void testSetValueAsyncAppliesLatestValueOnEventLoop() throws Exception {
+        VirtualTimeEventLoop eventLoop = VirtualTimeEventLoop.create();
+        
+        try {
+            Property<Integer> property = Property.create(0);
+            List<Integer> values = new ArrayList<>();
+            property.onChanged(values::add);
+            
+            doOnIoThread(() -> {
+                for (int i = 1; i <= 10000; i++)
+                    property.setValueAsync(i);
+            });
+            assertEquals(Arrays.asList(0), values);
+            
+            eventLoop.advanceBy(0, MILLISECONDS);
+            assertEquals(Arrays.asList(0, 10000), values);
+            
+            doOnIoThread(() -> property.setValueAsync(42));
+            eventLoop.advanceBy(0, MILLISECONDS);
+            assertEquals(Arrays.asList(0, 10000, 42), values);
+        } finally {
+            eventLoop.dispose();
+        }
+    }
+    
+    @Test
+    public void testSetValueAsyncOnDisposedPropertyIsIgnored() throws Exception {
+        VirtualTimeEventLoop eventLoop = VirtualTimeEventLoop.create();
+        
+        try {
+            Property<String> property = Property.create("tacos");
+            
+            doOnIoThread(() -> property.setValueAsync("burritos"));
+            property.dispose();
+            eventLoop.advanceBy(0, MILLISECONDS);
+            
+            assertEquals("tacos", property.get());
+        } finally {
+            eventLoop.dispose();
+        }
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void testSetValueAsyncWithNull() throws Exception {
+        Property<String> property = Property.create("tacos");
+        property.setValueAsync(null);
+    }
+    
+    @Test
+    public void testTransactionNotifiesFinalValuesOnCommit() throws Exception {
+        Property<String> food = Property.create("tacos");
+        Property<Integer> amount = Property.create(1);
+        List<Object> values = new ArrayList<>();
+        
+        food.onChanged(values::add);
+        amount.onChanged(values::add);
+        values.clear();
+        
+        Property.transaction(() -> {
+            food.setValue("burritos");
+            amount.setValue(2);
+            food.setValue("fajitas");
+            amount.setValue(3);
+            
+            assertEquals("fajitas", food.get());
+            assertEquals(Arrays.asList(), values);
+        });
+        
+        assertEquals(Arrays.asList("fajitas", 3), values);
+    }
+    
+    @Test
+    public void testTransactionCombinesOnce() throws Exception {
+        Property<String> food = Property.create("tacos");
+        Property<Integer> amount = Property.create(1);
+        List<String> values = new ArrayList<>();
+        
+        PropertyStream.combine(food, amount, (f, a) -> a + " " + f).onChanged(values::add);
+        
+        Property.transaction(() -> {
+            food.setValue("burritos");
+            amount.setValue(2);
+        });
+        
+        assertEquals(Arrays.asList("1 tacos", "2 burritos"), values);
+    }
+    
+    @Test
+    public void testTransactionPropagatesFinalValueThroughBindings() throws Exception {
+        Property<String> source = Property.create("tacos");
+        Property<String> bound = Property.create("");
+        List<String> values = new ArrayList<>();
+        
+        bound.bind(source);
+        bound.onChanged(values::add);
+        
+        Property.transaction(() -> {
+            source.setValue("burritos");
+            source.setValue("fajitas");
+        });
+        
+        assertEquals(Arrays.asList("tacos", "fajitas"), values);
+    }
+    
+    @Test
+    public void testTransactionRevertedValueIsNotNotified() throws Exception {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        property.onChanged(values::add);
+        
+        Property.transaction(() -> {
+            property.setValue("burritos");
+            property.setValue("tacos");
+        });
+        
+        assertEquals(Arrays.asList("tacos"), values);
+    }
+    
+    @Test
+    public void testNestedTransactionsCommitWithOutermost() throws Exception {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        property.onChanged(values::add);
+        
+        Property.transaction(() -> {
+            Property.transaction(() -> property.setValue("burritos"));
+            assertEquals(Arrays.asList("tacos"), values);
+            property.setValue("fajitas");
+        });
+        
+        assertEquals(Arrays.asList("tacos", "fajitas"), values);
+    }
+    
+    @Test
+    public void testTransactionCommitsWhenChangesThrow() throws Exception {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        property.onChanged(values::add);
+        
+        try {
+            Property.transaction(() -> {
+                property.setValue("burritos");
+                throw new IllegalArgumentException();
+            });
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        
+        assertEquals(Arrays.asList("tacos", "burritos"), values);
+        
+        property.setValue("fajitas");
+        assertEquals(Arrays.asList("tacos", "burritos", "fajitas"), values);
+    }
+    
+    @Test
+    public void testObserveWeakly() {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        Object owner = new Object();
+        
+        Subscription subscription = property.observeWeakly(owner, (view, value) -> values.add(value));
+        property.setValue("burritos");
+        
+        assertEquals(Arrays.asList("tacos", "burritos"), values);
+        assertFalse(subscription.isDisposed());
+        assertNotNull(owner);
+    }
+    
+    @Test
+    public void testObserveWeaklyStopsOnceOwnerIsCollected() {
+        Property<String> property = Property.create("tacos");
+        List<String> values = new ArrayList<>();
+        
+        Subscription subscription = property.observeWeakly(new Object(), (view, value) -> values.add(value));
+        assertTrue(collectUntil(() -> {
+            property.setValue(property.get().equals("tacos") ? "burritos" : "tacos");
+            return subscription.isDisposed();
+        }));
+        
+        int valueCount = values.size();
+        property.setValue("fajitas");
+        
+        assertEquals(valueCount, values.size());
+        assertFalse(property.hasObservers());
+    }
 }
@@ -18,6 +18,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.junit.Assert;
@@ -218,4 +222,85 @@ public class TestPropertyStream {
         assertEquals("tacos", stream.get());
         verifyNoMoreInteractions(onChanged, onDispose);
     }
+    
+    @Test
+    public void testCached() throws Exception {
+        Property<Integer> property = Property.create(1);
+        AtomicInteger mapCount = new AtomicInteger();
+        
+        PropertyStream<Integer> cached = property.map(value -> {
+            mapCount.incrementAndGet();
+            return value * 2;
+        }).cached();
+        
+        mapCount.set(0);
+        assertEquals(Integer.valueOf(2), cached.get());
+        assertEquals(1, mapCount.get());
+        
+        List<Integer> values = new ArrayList<>();
+        List<Integer> values2 = new ArrayList<>();
+        Subscription subscription = cached.onChanged(values::add);
+        Subscription subscription2 = cached.onChanged(values2::add);
+        
+        mapCount.set(0);
+        property.setValue(2);
+        
+        // a single subscription to the map, and reading the value does not compute it again
+        assertEquals(Integer.valueOf(4), cached.get());
+        assertEquals(Integer.valueOf(4), cached.get());
+        assertEquals(1, mapCount.get());
+        assertEquals(Arrays.asList(2, 4), values);
+        assertEquals(Arrays.asList(2, 4), values2);
+        
+        subscription.dispose();
+        assertTrue(property.hasObservers());
+        
+        subscription2.dispose();
+        assertFalse(property.hasObservers());
+        
+        mapCount.set(0);
+        assertEquals(Integer.valueOf(4), cached.get());
+        assertEquals(1, mapCount.get());
+    }
+    
+    @Test
+    public void testCachedDisposed() throws Exception {
+        Property<Integer> property = Property.create(1);
+        PropertyStream<Integer> cached = property.cached();
+        
+        Runnable onDisposed = mock(Runnable.class);
+        Subscription subscription = cached.onDisposed(onDisposed);
+        
+        property.dispose();
+        verify(onDisposed).run();
+        assertTrue(subscription.isDisposed());
+        
+        Consumer<Integer> onChanged = mock(Consumer.class);
+        Runnable onDisposed2 = mock(Runnable.class);
+        cached.observe(onChanged, onDisposed2);
+        
+        verify(onChanged).accept(1);
+        verify(onDisposed2).run();
+    }
+    
+    @Test
+    public void testShare() throws Exception {
+        Property<Integer> property = Property.create(1);
+        AtomicInteger mapCount = new AtomicInteger();
+        
+        PropertyStream<Integer> shared = property.map(value -> {
+            mapCount.incrementAndGet();
+            return value * 2;
+        }).share();
+        
+        List<Integer> values = new ArrayList<>();
+        shared.onChanged(values::add);
+        shared.onChanged(values::add);
+        
+        mapCount.set(0);
+        property.setValue(2);
+        
+        assertEquals(Arrays.asList(2, 2, 4, 4), values);
+        assertEquals(1, mapCount.get());
+    }
 }
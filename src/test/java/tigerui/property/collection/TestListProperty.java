@@ -0,0 +1,133 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static tigerui.ThreadedTestHelper.callOnIoThread;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.collection.ListChange.Type;
+
+@RunWith(SwingTestRunner.class)
+public class TestListProperty {
+
+    @Test
+    public void testChangesCarryIndexRanges() {
+        ListProperty<String> list = ListProperty.create(asList("a", "b", "c"));
+        List<ListChange<String>> changes = new ArrayList<>();
+        list.changes().onEvent(changes::add);
+
+        list.addAll(1, asList("x", "y"));
+        assertChange(changes.get(0), Type.ADD, 1, asList(), asList("x", "y"));
+
+        list.set(0, "z");
+        assertChange(changes.get(1), Type.SET, 0, asList("a"), asList("z"));
+
+        list.removeRange(1, 3);
+        assertChange(changes.get(2), Type.REMOVE, 1, asList("x", "y"), asList());
+
+        list.move(0, 2);
+        assertEquals(Type.MOVE, changes.get(3).getType());
+        assertEquals(0, changes.get(3).getFromIndex());
+        assertEquals(2, changes.get(3).getIndex());
+
+        assertEquals(asList("b", "c", "z"), list.asList());
+        assertEquals(4, changes.size());
+    }
+
+    @Test
+    public void testChangesCanBeReplayed() {
+        ListProperty<Integer> list = ListProperty.create(asList(1, 2, 3, 4));
+        List<Integer> copy = new ArrayList<>(list.asList());
+        list.changes().onEvent(change -> change.applyTo(copy));
+
+        list.add(5);
+        list.add(0, 0);
+        list.remove(2);
+        list.set(1, 10);
+        list.move(4, 0);
+        list.setAll(asList(7, 8));
+        list.addAll(asList(9, 9));
+
+        assertEquals(list.asList(), copy);
+    }
+
+    @Test
+    public void testSetToEqualElementDoesNotEmit() {
+        ListProperty<String> list = ListProperty.create(asList("a"));
+        List<ListChange<String>> changes = new ArrayList<>();
+        list.changes().onEvent(changes::add);
+
+        assertEquals("a", list.set(0, "a"));
+        list.addAll(asList());
+        list.move(0, 0);
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testNullElementsAreRejected() {
+        ListProperty.create().add(null);
+    }
+
+    @Test
+    public void testModifyingWhileDispatchingIsRejected() {
+        ListProperty<String> list = ListProperty.create();
+        List<ListChange<String>> changes = new ArrayList<>();
+        list.changes().onEvent(changes::add);
+
+        // the callback throws, which is caught and logged
+        list.changes().onEvent(change -> list.add("again"));
+        list.add("once");
+
+        assertEquals(asList("once"), list.asList());
+        assertEquals(1, changes.size());
+        assertChange(changes.get(0), Type.ADD, 0, asList(), asList("once"));
+    }
+
+    @Test
+    public void testDisposeFreezesAndCompletes() {
+        ListProperty<String> list = ListProperty.create(asList("a"));
+        Runnable onCompleted = Mockito.mock(Runnable.class);
+        list.changes().onCompleted(onCompleted);
+
+        list.dispose();
+        list.add("b");
+
+        Mockito.verify(onCompleted).run();
+        assertTrue(list.isDisposed());
+        assertEquals(asList("a"), list.asList());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testAccessFromWrongThreadThrows() throws Throwable {
+        ListProperty<String> list = callOnIoThread(() -> ListProperty.<String>create());
+        list.add("tacos");
+    }
+
+    static <E> void assertChange(ListChange<E> change, Type type, int index, List<E> removed, List<E> added) {
+        assertEquals(type, change.getType());
+        assertEquals(index, change.getIndex());
+        assertEquals(removed, change.getRemoved());
+        assertEquals(added, change.getAdded());
+    }
+}
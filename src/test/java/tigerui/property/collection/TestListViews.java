@@ -0,0 +1,142 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static tigerui.property.collection.TestListProperty.assertChange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.collection.ListChange.Type;
+
+@RunWith(SwingTestRunner.class)
+public class TestListViews {
+
+    @Test
+    public void testMappedViewEmitsSameRanges() {
+        ListProperty<Integer> list = ListProperty.create(asList(1, 2, 3));
+        ListStream<String> mapped = list.map(String::valueOf);
+        List<ListChange<String>> changes = new ArrayList<>();
+        mapped.changes().onEvent(changes::add);
+
+        list.addAll(1, asList(7, 8));
+        list.set(0, 5);
+        list.remove(4);
+
+        assertChange(changes.get(0), Type.ADD, 1, asList(), asList("7", "8"));
+        assertChange(changes.get(1), Type.SET, 0, asList("1"), asList("5"));
+        assertChange(changes.get(2), Type.REMOVE, 4, asList("3"), asList());
+        assertEquals(asList("5", "7", "8", "2"), mapped.asList());
+    }
+
+    @Test
+    public void testFilteredViewTracksSource() {
+        ListProperty<Integer> list = ListProperty.create(asList(1, 2, 3, 4));
+        ListStream<Integer> evens = list.filter(value -> value % 2 == 0);
+        List<ListChange<Integer>> changes = new ArrayList<>();
+        evens.changes().onEvent(changes::add);
+        assertEquals(asList(2, 4), evens.asList());
+
+        list.add(1, 6);
+        assertChange(changes.get(0), Type.ADD, 0, asList(), asList(6));
+
+        list.add(7);
+        assertEquals(1, changes.size());
+
+        list.set(0, 8);
+        assertChange(changes.get(1), Type.ADD, 0, asList(), asList(8));
+
+        list.set(2, 9);
+        assertChange(changes.get(2), Type.REMOVE, 2, asList(2), asList());
+
+        list.move(4, 0);
+        list.removeRange(0, 2);
+
+        assertEquals(evens(list.asList()), evens.asList());
+    }
+
+    @Test
+    public void testFilteredViewTracksRandomChanges() {
+        Random random = new Random(42);
+        ListProperty<Integer> list = ListProperty.create();
+        ListStream<Integer> evens = list.filter(value -> value % 2 == 0);
+
+        for (int i = 0; i < 2000; i++) {
+            int size = list.size();
+            switch (size == 0 ? 0 : random.nextInt(5)) {
+            case 0:
+                list.addAll(random.nextInt(size + 1), asList(random.nextInt(10), random.nextInt(10)));
+                break;
+            case 1:
+                list.add(random.nextInt(size + 1), random.nextInt(10));
+                break;
+            case 2:
+                int fromIndex = random.nextInt(size);
+                list.removeRange(fromIndex, fromIndex + 1 + random.nextInt(Math.min(3, size - fromIndex)));
+                break;
+            case 3:
+                list.set(random.nextInt(size), random.nextInt(10));
+                break;
+            case 4:
+                list.move(random.nextInt(size), random.nextInt(size));
+                break;
+            }
+
+            assertEquals(evens(list.asList()), evens.asList());
+        }
+    }
+
+    @Test
+    public void testSortedViewStaysSorted() {
+        ListProperty<Integer> list = ListProperty.create(asList(5, 1, 4));
+        ListStream<Integer> sorted = list.sorted(Comparator.naturalOrder());
+        List<ListChange<Integer>> changes = new ArrayList<>();
+        sorted.changes().onEvent(changes::add);
+        assertEquals(asList(1, 4, 5), sorted.asList());
+
+        list.add(3);
+        assertChange(changes.get(0), Type.ADD, 1, asList(), asList(3));
+
+        list.set(0, 2);
+        list.move(0, 3);
+        assertEquals(asList(1, 2, 3, 4), sorted.asList());
+
+        list.remove(1);
+        assertEquals(asList(1, 2, 3), sorted.asList());
+    }
+
+    @Test
+    public void testViewIsDisposedWithSource() {
+        ListProperty<Integer> list = ListProperty.create(asList(1, 2));
+        ListStream<Integer> view = list.filter(value -> value > 1).map(value -> value * 10);
+
+        list.dispose();
+
+        assertTrue(view.isDisposed());
+        assertEquals(asList(20), view.asList());
+    }
+
+    private static List<Integer> evens(List<Integer> values) {
+        return values.stream().filter(value -> value % 2 == 0).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.collection;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.PropertyStream;
+import tigerui.property.collection.MapChange.Type;
+import tigerui.subscription.Subscription;
+
+@RunWith(SwingTestRunner.class)
+public class TestMapProperty {
+
+    @Test
+    public void testChangesCarryKeyAndValues() {
+        MapProperty<String, Integer> map = MapProperty.create(Collections.singletonMap("a", 1));
+        List<MapChange<String, Integer>> changes = new ArrayList<>();
+        map.changes().onEvent(changes::add);
+
+        assertEquals(Optional.of(1), map.put("a", 2));
+        assertEquals(Optional.empty(), map.put("b", 3));
+        assertEquals(Optional.of(2), map.remove("a"));
+
+        assertChange(changes.get(0), Type.PUT, "a", Optional.of(1), Optional.of(2));
+        assertChange(changes.get(1), Type.PUT, "b", Optional.empty(), Optional.of(3));
+        assertChange(changes.get(2), Type.REMOVE, "a", Optional.of(2), Optional.empty());
+        assertEquals(Collections.singletonMap("b", 3), map.asMap());
+    }
+
+    @Test
+    public void testUnchangedValuesDoNotEmit() {
+        MapProperty<String, Integer> map = MapProperty.create(Collections.singletonMap("a", 1));
+        List<MapChange<String, Integer>> changes = new ArrayList<>();
+        map.changes().onEvent(changes::add);
+
+        map.put("a", 1);
+        map.remove("b");
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testValueAtOnlyEmitsForItsKey() {
+        MapProperty<String, Integer> map = MapProperty.create();
+        Consumer<Optional<Integer>> onAChanged = Mockito.mock(Consumer.class);
+        Consumer<Optional<Integer>> onBChanged = Mockito.mock(Consumer.class);
+        map.valueAt("a").onChanged(onAChanged);
+        map.valueAt("b").onChanged(onBChanged);
+
+        map.put("a", 1);
+        map.put("a", 2);
+        map.remove("a");
+
+        Mockito.verify(onAChanged, Mockito.times(2)).accept(Optional.empty());
+        Mockito.verify(onAChanged).accept(Optional.of(1));
+        Mockito.verify(onAChanged).accept(Optional.of(2));
+        Mockito.verify(onBChanged).accept(Optional.empty());
+        Mockito.verifyNoMoreInteractions(onAChanged, onBChanged);
+    }
+
+    @Test
+    public void testValueAtCanBeReadAndResubscribed() {
+        MapProperty<String, Integer> map = MapProperty.create();
+        PropertyStream<Optional<Integer>> valueOfA = map.valueAt("a");
+
+        Subscription subscription = valueOfA.onChanged(value -> {});
+        subscription.dispose();
+
+        map.put("a", 1);
+        assertEquals(Optional.of(1), valueOfA.get());
+
+        List<Optional<Integer>> values = new ArrayList<>();
+        valueOfA.onChanged(values::add);
+        map.put("a", 2);
+
+        assertEquals(2, values.size());
+        assertEquals(Optional.of(2), values.get(1));
+    }
+
+    @Test
+    public void testModifyingFromKeyObserverIsRejected() {
+        MapProperty<String, Integer> map = MapProperty.create();
+        List<MapChange<String, Integer>> changes = new ArrayList<>();
+        map.changes().onEvent(changes::add);
+
+        // the callback throws, which is caught and logged
+        map.valueAt("a").onChanged(value -> value.ifPresent(v -> map.put("b", v)));
+        map.put("a", 1);
+
+        assertEquals(Optional.empty(), map.get("b"));
+        assertEquals(1, changes.size());
+        assertChange(changes.get(0), Type.PUT, "a", Optional.empty(), Optional.of(1));
+    }
+
+    @Test
+    public void testDisposeCompletesKeyObservers() {
+        MapProperty<String, Integer> map = MapProperty.create(Collections.singletonMap("a", 1));
+        Runnable onDisposed = Mockito.mock(Runnable.class);
+        map.valueAt("a").onDisposed(onDisposed);
+
+        map.dispose();
+        map.put("a", 2);
+
+        Mockito.verify(onDisposed).run();
+        assertTrue(map.isDisposed());
+        assertEquals(Optional.of(1), map.get("a"));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testNullValuesAreRejected() {
+        MapProperty.<String, Integer>create().put("a", null);
+    }
+
+    private static <K, V> void assertChange(MapChange<K, V> change, Type type, K key, Optional<V> oldValue, Optional<V> newValue) {
+        assertEquals(type, change.getType());
+        assertEquals(key, change.getKey());
+        assertEquals(oldValue, change.getOldValue());
+        assertEquals(newValue, change.getNewValue());
+    }
+}
@@ -18,6 +18,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.junit.Before;
@@ -163,4 +166,18 @@ public class TestPropertyDispatcher {
         inOrder.verify(onChanged).accept("tacos");
         inOrder.verify(observer).onChanged("tacos");
     }
+    
+    @Test
+    public void testIsDispatchingForAllSubscribers() throws Exception {
+        List<Boolean> dispatchingStates = new ArrayList<>();
+        
+        dispatcher.subscribe(PropertyObserver.create(value -> dispatchingStates.add(dispatcher.isDispatching())));
+        dispatcher.subscribe(PropertyObserver.create(value -> dispatchingStates.add(dispatcher.isDispatching())));
+        dispatchingStates.clear();
+        
+        dispatcher.dispatch("tacos");
+        
+        assertEquals(Arrays.asList(true, true), dispatchingStates);
+        assertFalse(dispatcher.isDispatching());
+    }
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.Property;
+
+@RunWith(SwingTestRunner.class)
+public class TestDoubleProperty {
+
+    @Test
+    public void testOnlyDistinctValuesAreEmitted() {
+        DoubleProperty property = DoubleProperty.create(1.5);
+        DoubleConsumer onChanged = Mockito.mock(DoubleConsumer.class);
+        property.onChanged(onChanged);
+
+        property.setValue(2.5);
+        property.setValue(2.5);
+        property.reset();
+
+        Mockito.verify(onChanged, Mockito.times(2)).accept(1.5);
+        Mockito.verify(onChanged).accept(2.5);
+        Mockito.verifyNoMoreInteractions(onChanged);
+        assertEquals(1.5, property.get(), 0);
+    }
+
+    @Test
+    public void testNaNIsNotEmittedTwice() {
+        DoubleProperty property = DoubleProperty.create(0);
+        DoubleConsumer onChanged = Mockito.mock(DoubleConsumer.class);
+        property.onChanged(onChanged);
+
+        property.setValue(Double.NaN);
+        property.setValue(Double.NaN);
+
+        Mockito.verify(onChanged).accept(0);
+        Mockito.verify(onChanged).accept(Double.NaN);
+        Mockito.verifyNoMoreInteractions(onChanged);
+        assertTrue(Double.isNaN(property.get()));
+    }
+
+    @Test
+    public void testMappedNaNIsNotEmittedTwice() {
+        DoubleProperty property = DoubleProperty.create(4);
+        DoublePropertyStream root = property.map(Math::sqrt);
+        DoubleConsumer onChanged = Mockito.mock(DoubleConsumer.class);
+        root.onChanged(onChanged);
+
+        property.setValue(-1);
+        property.setValue(-4);
+
+        Mockito.verify(onChanged).accept(2);
+        Mockito.verify(onChanged).accept(Double.NaN);
+        Mockito.verifyNoMoreInteractions(onChanged);
+    }
+
+    @Test
+    public void testSignedZerosAreDistinct() {
+        DoubleProperty property = DoubleProperty.create(0.0);
+        List<Double> values = new ArrayList<>();
+        property.onChanged(values::add);
+
+        property.setValue(-0.0);
+        property.setValue(-0.0);
+        property.setValue(0.0);
+
+        // Double.equals tells the signed zeros apart
+        assertEquals(asList(0.0, -0.0, 0.0), values);
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(property.get()));
+    }
+
+    @Test
+    public void testMapAndCombineAreGlitchFree() {
+        DoubleProperty property = DoubleProperty.create(1);
+        DoublePropertyStream half = property.map(value -> value / 2);
+        DoublePropertyStream sum = DoublePropertyStream.combine(property, half, (a, b) -> a + b);
+        DoubleConsumer onChanged = Mockito.mock(DoubleConsumer.class);
+        sum.onChanged(onChanged);
+
+        property.setValue(3);
+
+        Mockito.verify(onChanged).accept(1.5);
+        Mockito.verify(onChanged).accept(4.5);
+        Mockito.verifyNoMoreInteractions(onChanged);
+        assertEquals(4.5, sum.get(), 0);
+    }
+
+    @Test
+    public void testTransactionEmitsFinalValueOnce() {
+        DoubleProperty property = DoubleProperty.create(0);
+        DoublePropertyStream negated = property.map(value -> -value);
+        DoubleConsumer onChanged = Mockito.mock(DoubleConsumer.class);
+        negated.onChanged(onChanged);
+
+        Property.transaction(() -> {
+            property.setValue(1);
+            property.setValue(2);
+        });
+
+        Mockito.verify(onChanged).accept(-0.0);
+        Mockito.verify(onChanged).accept(-2);
+        Mockito.verifyNoMoreInteractions(onChanged);
+    }
+
+    @Test
+    public void testBind() {
+        DoubleProperty source = DoubleProperty.create(1);
+        DoubleProperty target = DoubleProperty.create(0);
+
+        target.bind(source);
+        assertEquals(1, target.get(), 0);
+
+        source.setValue(Double.POSITIVE_INFINITY);
+        assertEquals(Double.POSITIVE_INFINITY, target.get(), 0);
+    }
+
+    @Test
+    public void testDispose() {
+        DoubleProperty property = DoubleProperty.create(1);
+        DoublePropertyStream mapped = property.map(value -> -value);
+        Runnable onDisposed = Mockito.mock(Runnable.class);
+        mapped.onDisposed(onDisposed);
+        assertTrue(property.hasObservers());
+
+        property.dispose();
+        property.setValue(2);
+
+        Mockito.verify(onDisposed).run();
+        assertFalse(property.hasObservers());
+        assertEquals(-1, mapped.get(), 0);
+    }
+}
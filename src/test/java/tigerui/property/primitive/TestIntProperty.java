@@ -0,0 +1,143 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.Property;
+
+@RunWith(SwingTestRunner.class)
+public class TestIntProperty {
+
+    @Test
+    public void testOnlyDistinctValuesAreEmitted() {
+        IntProperty property = IntProperty.create(1);
+        IntConsumer onChanged = Mockito.mock(IntConsumer.class);
+        property.onChanged(onChanged);
+
+        property.setValue(2);
+        property.setValue(2);
+        property.reset();
+
+        Mockito.verify(onChanged, Mockito.times(2)).accept(1);
+        Mockito.verify(onChanged).accept(2);
+        Mockito.verifyNoMoreInteractions(onChanged);
+        assertEquals(1, property.get());
+    }
+
+    @Test
+    public void testMapAndCombineAreGlitchFree() {
+        IntProperty property = IntProperty.create(1);
+        IntPropertyStream doubled = property.map(value -> value * 2);
+        IntPropertyStream sum = IntPropertyStream.combine(property, doubled, (a, b) -> a + b);
+        IntConsumer onChanged = Mockito.mock(IntConsumer.class);
+        sum.onChanged(onChanged);
+
+        property.setValue(2);
+
+        Mockito.verify(onChanged).accept(3);
+        Mockito.verify(onChanged).accept(6);
+        Mockito.verifyNoMoreInteractions(onChanged);
+        assertEquals(6, sum.get());
+    }
+
+    @Test
+    public void testBind() {
+        IntProperty source = IntProperty.create(1);
+        IntProperty target = IntProperty.create(0);
+
+        target.bind(source);
+        assertEquals(1, target.get());
+
+        source.setValue(5);
+        assertEquals(5, target.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBoxed() {
+        DoubleProperty property = DoubleProperty.create(0.5);
+        Consumer<Double> onChanged = Mockito.mock(Consumer.class);
+        property.boxed().onChanged(onChanged);
+
+        property.setValue(Double.NaN);
+        property.setValue(Double.NaN);
+
+        Mockito.verify(onChanged).accept(0.5);
+        Mockito.verify(onChanged).accept(Double.NaN);
+        Mockito.verifyNoMoreInteractions(onChanged);
+    }
+
+    @Test
+    public void testTransactionEmitsFinalValueOnce() {
+        LongProperty property = LongProperty.create(0);
+        LongConsumerCounter counter = new LongConsumerCounter();
+        property.onChanged(counter);
+
+        Property.transaction(() -> {
+            property.setValue(1);
+            property.setValue(2);
+        });
+
+        assertEquals(2, counter.count);
+        assertEquals(2, counter.lastValue);
+    }
+
+    @Test
+    public void testSetValueFromCallbackIsRejected() {
+        IntProperty property1 = IntProperty.create(0);
+        IntProperty property2 = IntProperty.create(0);
+
+        // the callback throws, which is caught and logged
+        property1.onChanged(value -> property2.setValue(value));
+        property1.setValue(1);
+
+        assertEquals(0, property2.get());
+    }
+
+    @Test
+    public void testDispose() {
+        IntProperty property = IntProperty.create(1);
+        IntPropertyStream mapped = property.map(value -> -value);
+        Runnable onDisposed = Mockito.mock(Runnable.class);
+        mapped.onDisposed(onDisposed);
+        assertTrue(property.hasObservers());
+
+        property.dispose();
+        property.setValue(2);
+
+        Mockito.verify(onDisposed).run();
+        assertFalse(property.hasObservers());
+        assertEquals(-1, mapped.get());
+    }
+
+    private static final class LongConsumerCounter implements java.util.function.LongConsumer {
+        int count = 0;
+        long lastValue;
+
+        @Override
+        public void accept(long value) {
+            count++;
+            lastValue = value;
+        }
+    }
+}
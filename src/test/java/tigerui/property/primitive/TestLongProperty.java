@@ -0,0 +1,122 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.primitive;
+
+import static org.junit.Assert.*;
+
+import java.util.function.LongConsumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.Property;
+
+@RunWith(SwingTestRunner.class)
+public class TestLongProperty {
+
+    @Test
+    public void testOnlyDistinctValuesAreEmitted() {
+        LongProperty property = LongProperty.create(1);
+        LongConsumer onChanged = Mockito.mock(LongConsumer.class);
+        property.onChanged(onChanged);
+
+        property.setValue(Long.MAX_VALUE);
+        property.setValue(Long.MAX_VALUE);
+        property.reset();
+
+        Mockito.verify(onChanged, Mockito.times(2)).accept(1);
+        Mockito.verify(onChanged).accept(Long.MAX_VALUE);
+        Mockito.verifyNoMoreInteractions(onChanged);
+        assertEquals(1, property.get());
+    }
+
+    @Test
+    public void testMapAndCombineAreGlitchFree() {
+        LongProperty property = LongProperty.create(1);
+        LongPropertyStream doubled = property.map(value -> value * 2);
+        LongPropertyStream sum = LongPropertyStream.combine(property, doubled, (a, b) -> a + b);
+        LongConsumer onChanged = Mockito.mock(LongConsumer.class);
+        sum.onChanged(onChanged);
+
+        // outside of the int range, so that any truncation would show
+        property.setValue(1L << 40);
+
+        Mockito.verify(onChanged).accept(3);
+        Mockito.verify(onChanged).accept(3L << 40);
+        Mockito.verifyNoMoreInteractions(onChanged);
+        assertEquals(3L << 40, sum.get());
+    }
+
+    @Test
+    public void testTransactionEmitsFinalValueOnce() {
+        LongProperty property = LongProperty.create(0);
+        LongPropertyStream negated = property.map(value -> -value);
+        LongConsumer onChanged = Mockito.mock(LongConsumer.class);
+        negated.onChanged(onChanged);
+
+        Property.transaction(() -> {
+            property.setValue(1);
+            property.setValue(2);
+        });
+
+        Mockito.verify(onChanged).accept(0);
+        Mockito.verify(onChanged).accept(-2);
+        Mockito.verifyNoMoreInteractions(onChanged);
+    }
+
+    @Test
+    public void testTransactionRestoringValueEmitsNothing() {
+        LongProperty property = LongProperty.create(0);
+        LongConsumer onChanged = Mockito.mock(LongConsumer.class);
+        property.onChanged(onChanged);
+
+        Property.transaction(() -> {
+            property.setValue(1);
+            property.setValue(0);
+        });
+
+        Mockito.verify(onChanged).accept(0);
+        Mockito.verifyNoMoreInteractions(onChanged);
+    }
+
+    @Test
+    public void testBind() {
+        LongProperty source = LongProperty.create(1);
+        LongProperty target = LongProperty.create(0);
+
+        target.bind(source);
+        assertEquals(1, target.get());
+
+        source.setValue(Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, target.get());
+    }
+
+    @Test
+    public void testDispose() {
+        LongProperty property = LongProperty.create(1);
+        LongPropertyStream mapped = property.map(value -> -value);
+        Runnable onDisposed = Mockito.mock(Runnable.class);
+        mapped.onDisposed(onDisposed);
+        assertTrue(property.hasObservers());
+
+        property.dispose();
+        property.setValue(2);
+
+        Mockito.verify(onDisposed).run();
+        assertFalse(property.hasObservers());
+        assertEquals(-1, mapped.get());
+    }
+}
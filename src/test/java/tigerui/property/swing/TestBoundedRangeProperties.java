@@ -0,0 +1,77 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.swing;
+
+import static org.junit.Assert.assertEquals;
+import static tigerui.property.swing.BoundedRangeProperties.bindProgressBar;
+import static tigerui.property.swing.BoundedRangeProperties.createSliderProperty;
+
+import java.util.function.IntConsumer;
+
+import javax.swing.DefaultBoundedRangeModel;
+import javax.swing.JProgressBar;
+import javax.swing.JSlider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.primitive.IntProperty;
+
+@RunWith(SwingTestRunner.class)
+public class TestBoundedRangeProperties {
+
+    @Test
+    public void testSliderProperty() throws Exception {
+        JSlider slider = new JSlider();
+        IntProperty valueProperty = createSliderProperty(slider);
+
+        IntConsumer onChanged = Mockito.mock(IntConsumer.class);
+        valueProperty.onChanged(onChanged);
+        Mockito.verify(onChanged).accept(50);
+
+        slider.setValue(75);
+        Mockito.verify(onChanged).accept(75);
+        assertEquals(75, valueProperty.get());
+
+        valueProperty.setValue(25);
+        assertEquals(25, slider.getValue());
+        Mockito.verify(onChanged).accept(25);
+        Mockito.verifyNoMoreInteractions(onChanged);
+    }
+
+    @Test
+    public void testDisposeProperty() throws Exception {
+        DefaultBoundedRangeModel model = new DefaultBoundedRangeModel();
+
+        IntProperty valueProperty = BoundedRangeProperties.createProperty(model);
+        assertEquals(1, model.getChangeListeners().length);
+
+        valueProperty.dispose();
+        assertEquals(0, model.getChangeListeners().length);
+    }
+
+    @Test
+    public void testBindProgressBar() throws Exception {
+        JProgressBar progressBar = new JProgressBar();
+        IntProperty progress = IntProperty.create(10);
+
+        bindProgressBar(progressBar, progress);
+        assertEquals(10, progressBar.getValue());
+
+        progress.setValue(60);
+        assertEquals(60, progressBar.getValue());
+    }
+}
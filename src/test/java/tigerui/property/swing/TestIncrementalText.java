@@ -0,0 +1,162 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.swing;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import tigerui.ThreadedTestHelper;
+
+public class TestIncrementalText {
+
+    ThreadedTestHelper testHelper = new ThreadedTestHelper(SwingUtilities::invokeLater);
+
+    @Test(expected=IllegalStateException.class)
+    public void testThrowsIfUsedOutsideEDT() throws Exception {
+        IncrementalText.create(new JTextField());
+    }
+
+    @Test
+    public void testEditsArePublished() throws Throwable {
+        testHelper.runTest(() -> {
+            JTextField textField = new JTextField("tacos");
+            Document document = textField.getDocument();
+            IncrementalText text = IncrementalText.create(textField);
+
+            List<TextEdit> edits = new ArrayList<>();
+            text.edits().onEvent(edits::add);
+
+            insert(document, 5, " rock");
+            remove(document, 0, 1);
+
+            assertEquals(2, edits.size());
+            assertEquals(new TextEdit(5, 0, " rock"), edits.get(0));
+            assertEquals(new TextEdit(0, 1, ""), edits.get(1));
+            assertEquals("acos rock", text.get());
+        });
+    }
+
+    @Test
+    public void testEditsReplayedOnCopyMatchDocument() throws Throwable {
+        testHelper.runTest(() -> {
+            JTextArea textArea = new JTextArea("hello world");
+            Document document = textArea.getDocument();
+            IncrementalText text = IncrementalText.create(textArea);
+
+            String[] mirror = { text.get() };
+            text.edits().onEvent(edit -> mirror[0] = edit.applyTo(mirror[0]));
+
+            insert(document, 5, ",");
+            remove(document, 7, 5);
+            insert(document, 7, "there");
+            text.setText("replaced");
+
+            assertEquals(textArea.getText(), mirror[0]);
+            assertEquals("replaced", text.get());
+        });
+    }
+
+    @Test
+    public void testTextIsMaterializedLazily() throws Throwable {
+        testHelper.runTest(() -> {
+            CountingDocument document = new CountingDocument();
+            JTextField textField = new JTextField(document, "tacos", 0);
+            IncrementalText text = IncrementalText.create(textField);
+            text.edits().onEvent(edit -> {});
+
+            insert(document, 0, "a");
+            insert(document, 0, "b");
+            assertEquals(0, document.fullCopies);
+
+            assertEquals("batacos", text.get());
+            assertEquals("batacos", text.get());
+            assertEquals(1, document.fullCopies);
+
+            insert(document, 0, "c");
+            assertEquals("cbatacos", text.get());
+            assertEquals(2, document.fullCopies);
+        });
+    }
+
+    @Test
+    public void testDispose() throws Throwable {
+        testHelper.runTest(() -> {
+            JTextField textField = new JTextField();
+            AbstractDocument document = (AbstractDocument) textField.getDocument();
+            int listenerCount = document.getDocumentListeners().length;
+
+            IncrementalText text = IncrementalText.create(textField);
+            assertEquals(listenerCount + 1, document.getDocumentListeners().length);
+
+            Runnable onCompleted = Mockito.mock(Runnable.class);
+            text.edits().onCompleted(onCompleted);
+
+            text.dispose();
+            assertEquals(listenerCount, document.getDocumentListeners().length);
+            Mockito.verify(onCompleted).run();
+        });
+    }
+
+    @Test
+    public void testTextEditApplyTo() {
+        assertEquals("tacos", new TextEdit(2, 0, "co").applyTo("tas"));
+        assertEquals("tas", new TextEdit(2, 2, "").applyTo("tacos"));
+        assertEquals("tapas", new TextEdit(2, 1, "p").applyTo("tacas"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testTextEditRejectsNegativeOffset() {
+        new TextEdit(-1, 0, "");
+    }
+
+    private static class CountingDocument extends PlainDocument {
+        int fullCopies;
+
+        @Override
+        public String getText(int offset, int length) throws BadLocationException {
+            if (offset == 0 && length == getLength())
+                fullCopies++;
+            return super.getText(offset, length);
+        }
+    }
+
+    private static void insert(Document document, int offset, String text) {
+        try {
+            document.insertString(offset, text, null);
+        } catch (BadLocationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void remove(Document document, int offset, int length) {
+        try {
+            document.remove(offset, length);
+        } catch (BadLocationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.property.swing;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import tigerui.SwingTestRunner;
+import tigerui.property.collection.ListProperty;
+
+@RunWith(SwingTestRunner.class)
+public class TestListTableModel {
+
+    private ListProperty<String> rows;
+    private ListTableModel<String> model;
+    private List<TableModelEvent> events;
+
+    // called from each test, since only the test methods run on the event dispatch thread
+    private void createModel() {
+        rows = ListProperty.create(asList("a", "b", "c", "d"));
+        model = new ListTableModel<String>(rows) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int getColumnCount() {
+                return 1;
+            }
+
+            @Override
+            protected Object getValueAt(String row, int columnIndex) {
+                return row;
+            }
+        };
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    @Test
+    public void testAddFiresInsertedRows() {
+        createModel();
+        rows.addAll(1, asList("x", "y"));
+
+        assertEquals(1, events.size());
+        assertEvent(events.get(0), TableModelEvent.INSERT, 1, 2);
+        assertEquals(6, model.getRowCount());
+        assertEquals("y", model.getValueAt(2, 0));
+    }
+
+    @Test
+    public void testRemoveFiresDeletedRows() {
+        createModel();
+        rows.removeRange(1, 3);
+
+        assertEquals(1, events.size());
+        assertEvent(events.get(0), TableModelEvent.DELETE, 1, 2);
+        assertEquals(2, model.getRowCount());
+    }
+
+    @Test
+    public void testSetFiresUpdatedRows() {
+        createModel();
+        rows.set(3, "z");
+
+        assertEquals(1, events.size());
+        assertEvent(events.get(0), TableModelEvent.UPDATE, 3, 3);
+        assertEquals("z", model.getRow(3));
+    }
+
+    @Test
+    public void testMoveFiresUpdatedRowsBetweenIndices() {
+        createModel();
+        rows.move(3, 1);
+        rows.move(0, 2);
+
+        assertEquals(2, events.size());
+        assertEvent(events.get(0), TableModelEvent.UPDATE, 1, 3);
+        assertEvent(events.get(1), TableModelEvent.UPDATE, 0, 2);
+        assertEquals(asList("d", "b", "a", "c"), asList(model.getRow(0), model.getRow(1), model.getRow(2), model.getRow(3)));
+    }
+
+    @Test
+    public void testDisposeStopsFiringEvents() {
+        createModel();
+        model.dispose();
+        rows.add("e");
+
+        assertEquals(0, events.size());
+    }
+
+    private static void assertEvent(TableModelEvent event, int type, int firstRow, int lastRow) {
+        assertEquals(type, event.getType());
+        assertEquals(firstRow, event.getFirstRow());
+        assertEquals(lastRow, event.getLastRow());
+        assertEquals(TableModelEvent.ALL_COLUMNS, event.getColumn());
+    }
+}
@@ -15,7 +15,9 @@ package tigerui.subscription;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -115,4 +117,78 @@ public class TestCompositeSubscription {
         inOrder.verify(subscription3).dispose();
         inOrder.verifyNoMoreInteractions();
     }
+    
+    @Test
+    public void testRemove() throws Exception {
+        Subscription subscription1 = Mockito.mock(Subscription.class);
+        Subscription subscription2 = Mockito.mock(Subscription.class);
+        Subscription subscription3 = Mockito.mock(Subscription.class);
+        
+        InOrder inOrder = Mockito.inOrder(subscription1, subscription2, subscription3);
+        
+        CompositeSubscription subscriptions = new CompositeSubscription(subscription1, subscription2, subscription3);
+        subscriptions.remove(subscription2);
+        subscriptions.remove(subscription3);
+        subscriptions.add(subscription3);
+        
+        subscriptions.dispose();
+        inOrder.verify(subscription1).dispose();
+        inOrder.verify(subscription3).dispose();
+        inOrder.verifyNoMoreInteractions();
+    }
+    
+    @Test
+    public void testRemoveDuplicateRemovesFirstAdded() throws Exception {
+        Subscription subscription1 = Mockito.mock(Subscription.class);
+        Subscription subscription2 = Mockito.mock(Subscription.class);
+        
+        InOrder inOrder = Mockito.inOrder(subscription1, subscription2);
+        
+        CompositeSubscription subscriptions = new CompositeSubscription(subscription1, subscription2, subscription1);
+        subscriptions.remove(subscription1);
+        
+        subscriptions.dispose();
+        inOrder.verify(subscription2).dispose();
+        inOrder.verify(subscription1).dispose();
+        inOrder.verifyNoMoreInteractions();
+    }
+    
+    @Test
+    public void testRemoveReclaimsEmptySlotsInOrder() throws Exception {
+        List<Subscription> added = new ArrayList<>();
+        CompositeSubscription subscriptions = new CompositeSubscription();
+        
+        for (int i = 0; i < 20; i++) {
+            Subscription subscription = Mockito.mock(Subscription.class);
+            added.add(subscription);
+            subscriptions.add(subscription);
+            
+            // remove every other subscription, leaving empty slots to reclaim
+            if (i % 2 == 1)
+                subscriptions.remove(added.get(i - 1));
+        }
+        
+        InOrder inOrder = Mockito.inOrder(added.toArray());
+        subscriptions.dispose();
+        
+        for (int i = 0; i < 20; i++) {
+            if (i % 2 == 1) {
+                inOrder.verify(added.get(i)).dispose();
+            } else {
+                Mockito.verify(added.get(i), Mockito.never()).dispose();
+            }
+        }
+        inOrder.verifyNoMoreInteractions();
+    }
+    
+    @Test
+    public void testRemoveUnknownSubscription() throws Exception {
+        Subscription subscription = Mockito.mock(Subscription.class);
+        
+        CompositeSubscription subscriptions = new CompositeSubscription(subscription);
+        subscriptions.remove(Mockito.mock(Subscription.class));
+        
+        subscriptions.dispose();
+        Mockito.verify(subscription).dispose();
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2015 Mike Baum
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package tigerui.subscription;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static tigerui.GarbageCollectionHelper.collectUntil;
+
+import org.junit.Test;
+
+public class TestOwnerReference {
+    @Test
+    public void testSubscriptionIsKeptWhileOwnerIsReachable() {
+        Object owner = new Object();
+        OwnerReference<Object> reference = OwnerReference.create(owner);
+        Subscription subscription = Subscription.create();
+        reference.setSubscription(subscription);
+        
+        assertSame(owner, reference.get());
+        assertFalse(reference.disposeIfCleared());
+        OwnerReference.purge();
+        assertFalse(subscription.isDisposed());
+    }
+    
+    @Test
+    public void testPurgeDisposesSubscriptionOfCollectedOwner() {
+        OwnerReference<Object> reference = OwnerReference.create(new Object());
+        Subscription subscription = Subscription.create();
+        reference.setSubscription(subscription);
+        
+        assertTrue(collectUntil(() -> {
+            OwnerReference.purge();
+            return subscription.isDisposed();
+        }));
+    }
+    
+    @Test
+    public void testDisposeIfCleared() {
+        OwnerReference<Object> reference = OwnerReference.create(new Object());
+        Subscription subscription = Subscription.create();
+        reference.setSubscription(subscription);
+        
+        assertTrue(collectUntil(() -> reference.get() == null));
+        
+        assertTrue(reference.disposeIfCleared());
+        assertTrue(subscription.isDisposed());
+    }
+    
+    @Test
+    public void testSubscriptionIsDisposedIfOwnerWasAlreadyCollected() {
+        OwnerReference<Object> reference = OwnerReference.create(new Object());
+        
+        assertTrue(collectUntil(() -> reference.get() == null));
+        
+        Subscription subscription = Subscription.create();
+        reference.setSubscription(subscription);
+        assertTrue(subscription.isDisposed());
+    }
+}